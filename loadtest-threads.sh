@@ -0,0 +1,91 @@
+#!/bin/bash
+# Thread-Mode Load Test - Compare platform threads and virtual threads under high concurrency
+#
+# Usage: ./loadtest-threads.sh [concurrency] [requests] [base_url]
+#   concurrency: Concurrent connections (default: 5000)
+#   requests:    Total requests (default: 50000)
+#   base_url:    Optional, defaults to http://localhost:8082
+#
+# Run it once against an app started with platform threads and once with virtual threads:
+#   mvn spring-boot:run -Dspring-boot.run.arguments="--spring.threads.virtual.enabled=false --server.tomcat.threads.max=200"
+#   mvn spring-boot:run -Dspring-boot.run.arguments="--spring.threads.virtual.enabled=true"
+#
+# Requires 'hey' (brew install hey) and the JDK's jcmd. The load hits GET /state, which
+# blocks on a Temporal query RPC per request, and GET /active, which fans out one query per flight.
+# Raise the open-file limit first (ulimit -n 20000) so 5k client connections can be opened.
+
+set -e
+
+CONCURRENCY="${1:-5000}"
+REQUESTS="${2:-50000}"
+BASE_URL="${3:-http://localhost:8082}"
+TODAY=$(date +%Y-%m-%d)
+NOW=$(date -u +%Y-%m-%dT%H:%M:%SZ)
+FLIGHT_NUM="LT$(date +%H%M%S)"
+
+if ! command -v hey > /dev/null; then
+    echo "'hey' is required: brew install hey (or go install github.com/rakyll/hey@latest)"
+    exit 1
+fi
+
+APP_PID=${JETSTREAM_PID:-$(pgrep -f 'spring-boot:run|jetstream' | head -n1)}
+
+# Platform thread count of the JVM (virtual threads are not OS threads, so they do not appear here)
+os_threads() {
+    if [ "$(uname)" = "Darwin" ]; then
+        ps -M -p "$APP_PID" | tail -n +2 | wc -l | tr -d ' '
+    else
+        ps -o nlwp= -p "$APP_PID" | tr -d ' '
+    fi
+}
+
+memory_report() {
+    echo "  RSS:        $(( $(ps -o rss= -p "$APP_PID" | tr -d ' ') / 1024 )) MB"
+    echo "  OS threads: $(os_threads)"
+    jcmd "$APP_PID" GC.heap_info 2>/dev/null | grep -iE "garbage-first heap|total" | head -n1 | sed 's/^/  Heap:       /'
+}
+
+echo "=============================================="
+echo "  Thread-Mode Load Test"
+echo "=============================================="
+echo "Target:      $BASE_URL"
+echo "JVM PID:     ${APP_PID:-not found}"
+echo "Concurrency: $CONCURRENCY"
+echo "Requests:    $REQUESTS"
+echo ""
+
+# Start a flight to query
+curl -s -o /dev/null -X POST "$BASE_URL/api/flights/start" \
+    -H "Content-Type: application/json" \
+    -d "{
+        \"flightNumber\": \"$FLIGHT_NUM\",
+        \"flightDate\": \"$TODAY\",
+        \"departureStation\": \"ORD\",
+        \"arrivalStation\": \"DFW\",
+        \"scheduledDeparture\": \"$NOW\",
+        \"scheduledArrival\": \"$NOW\",
+        \"gate\": \"A1\",
+        \"aircraft\": \"N$FLIGHT_NUM\"
+    }"
+echo "Started flight $FLIGHT_NUM"
+
+if [ -n "$APP_PID" ]; then
+    echo ""
+    echo "Before load:"
+    memory_report
+fi
+
+for ENDPOINT in "/api/flights/$FLIGHT_NUM/state?flightDate=$TODAY" "/api/flights/active"; do
+    echo ""
+    echo "---- GET $ENDPOINT ----"
+    # Sample memory and threads half-way through the run, while the load is at its peak
+    if [ -n "$APP_PID" ]; then
+        ( sleep 5; echo ""; echo "Under load:"; memory_report ) &
+    fi
+    hey -n "$REQUESTS" -c "$CONCURRENCY" -t 60 "$BASE_URL$ENDPOINT" \
+        | grep -E "Requests/sec|Average|Slowest|Fastest|  (50|90|99)%|\[[0-9]{3}\]|Error distribution" 
+    wait
+done
+
+echo ""
+echo "Done. Record Requests/sec, p50/p99 latency, RSS and OS threads for each mode in the README table."
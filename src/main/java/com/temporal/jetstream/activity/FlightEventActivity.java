@@ -1,6 +1,6 @@
 package com.temporal.jetstream.activity;
 
-import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStatusEvent;
 import io.temporal.activity.ActivityInterface;
 import io.temporal.activity.ActivityMethod;
 
@@ -23,4 +23,14 @@ public interface FlightEventActivity {
     @ActivityMethod
     void publishStateChange(String flightNumber, String previousState, String newState,
                           String gate, int delayMinutes);
+
+    /**
+     * Publishes a flight status event to Kafka and waits for the broker to acknowledge it,
+     * so a failed send is retried by Temporal under the same eventId.
+     * Replaces publishStateChange for workflow runs started after the change.
+     *
+     * @param event The state change or applied signal
+     */
+    @ActivityMethod
+    void publishFlightEvent(FlightStatusEvent event);
 }
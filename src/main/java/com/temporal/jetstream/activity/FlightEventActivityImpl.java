@@ -1,12 +1,17 @@
 package com.temporal.jetstream.activity;
 
 import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStatusEvent;
 import com.temporal.jetstream.service.FlightEventProducer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * Implementation of FlightEventActivity that uses FlightEventProducer to publish to Kafka.
  */
@@ -29,4 +34,23 @@ public class FlightEventActivityImpl implements FlightEventActivity {
 
         flightEventProducer.publishStateChange(flightNumber, prevState, nextState, gate, delayMinutes);
     }
+
+    @Override
+    public void publishFlightEvent(FlightStatusEvent event) {
+        logger.info("Activity publishing {} event {} for flight {}",
+            event.getEventType(), event.getEventId(), event.getFlightNumber());
+
+        try {
+            // Below the activity's StartToClose timeout, so a slow broker surfaces as a retry
+            flightEventProducer.publishFlightEvent(event).get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to publish event " + event.getEventId()
+                + ": " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out publishing event " + event.getEventId(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing event " + event.getEventId(), e);
+        }
+    }
 }
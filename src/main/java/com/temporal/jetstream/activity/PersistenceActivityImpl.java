@@ -1,14 +1,38 @@
 package com.temporal.jetstream.activity;
 
 import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.repository.FlightStateTransitionBatchWriter;
 import com.temporal.jetstream.repository.FlightStateTransitionRepository;
+import com.temporal.jetstream.repository.FlightTransitionBucketRepository;
+import com.temporal.jetstream.repository.TransitionRetentionPolicy;
+import com.temporal.jetstream.repository.TransitionStorageMode;
+import io.temporal.activity.Activity;
+import io.temporal.activity.ManualActivityCompletionClient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Implementation of PersistenceActivity that saves flight state transitions to MongoDB.
+ * When batching is enabled, transitions are handed to the FlightStateTransitionBatchWriter and the
+ * activity waits until the bulk insert containing its document has been acknowledged.
+ * With persistence.async-completion.enabled the activity uses manual completion instead: the
+ * activity-executor thread returns right after queueing the write, and the activity is completed
+ * (or failed) from a callback once the batch is acknowledged.
+ * Writes are insert-if-absent on the workflow-derived transition ID, so retries never duplicate rows.
  * Temporal will automatically retry this activity if MongoDB operations fail.
  */
 @Component
@@ -19,6 +43,55 @@ public class PersistenceActivityImpl implements PersistenceActivity {
     @Autowired
     private FlightStateTransitionRepository repository;
 
+    @Autowired
+    private FlightTransitionBucketRepository bucketRepository;
+
+    @Autowired
+    private FlightStateTransitionBatchWriter batchWriter;
+
+    @Autowired
+    private TransitionRetentionPolicy retentionPolicy;
+
+    @Value("${persistence.storage-mode:DOCUMENT}")
+    private TransitionStorageMode storageMode;
+
+    // Must stay below the activity's StartToClose timeout so failures surface as retries
+    @Value("${persistence.batch.write-timeout-ms:5000}")
+    private long writeTimeoutMs;
+
+    @Value("${persistence.async-completion.enabled:false}")
+    private boolean asyncCompletion;
+
+    @Value("${persistence.async-completion.threads:4}")
+    private int completionThreads;
+
+    // Reports results back to Temporal so the batch writer's flusher thread never blocks on RPCs
+    private ExecutorService completionExecutor;
+
+    @PostConstruct
+    public void init() {
+        if (asyncCompletion && !batchWriter.isEnabled()) {
+            logger.warn("persistence.async-completion requires persistence.batch.enabled; saving synchronously");
+        }
+        if (isAsyncCompletionActive()) {
+            AtomicInteger threadCount = new AtomicInteger();
+            completionExecutor = Executors.newFixedThreadPool(completionThreads, runnable -> {
+                Thread thread = new Thread(runnable, "persistence-completion-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            logger.info("Persistence activities complete asynchronously ({} completion threads)", completionThreads);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (completionExecutor != null) {
+            completionExecutor.shutdown();
+            completionExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
     @Override
     public void saveStateTransition(FlightStateTransition transition) {
         try {
@@ -27,13 +100,80 @@ public class PersistenceActivityImpl implements PersistenceActivity {
                     transition.getToState(),
                     transition.getFlightNumber());
 
-            FlightStateTransition saved = repository.save(transition);
+            transition.setExpireAt(retentionPolicy.expireAt(transition.getFlightDate()));
 
-            logger.info("Successfully saved state transition with ID: {}", saved.getId());
+            if (isAsyncCompletionActive()) {
+                completeWhenWritten(transition);
+            } else if (batchWriter.isEnabled()) {
+                awaitBatchedWrite(transition);
+                logger.info("Successfully saved state transition with ID: {}", transition.getId());
+            } else if (insertIfAbsent(transition)) {
+                logger.info("Successfully saved state transition with ID: {}", transition.getId());
+            } else {
+                logger.info("State transition {} already persisted by an earlier attempt", transition.getId());
+            }
         } catch (Exception e) {
             logger.error("Failed to save state transition to MongoDB for flight {}: {}",
                     transition.getFlightNumber(), e.getMessage(), e);
             throw e; // Let Temporal handle retry
         }
     }
+
+    private boolean isAsyncCompletionActive() {
+        return asyncCompletion && batchWriter.isEnabled();
+    }
+
+    /**
+     * Queues the write and returns without completing the activity. The activity slot stays
+     * reserved until the callback reports the outcome, so worker concurrency limits still apply.
+     */
+    private void completeWhenWritten(FlightStateTransition transition) {
+        ManualActivityCompletionClient completionClient = Activity.getExecutionContext().useLocalManualCompletion();
+        CompletableFuture<FlightStateTransition> write = batchWriter.submit(transition)
+                .orTimeout(writeTimeoutMs, TimeUnit.MILLISECONDS);
+
+        write.whenCompleteAsync((written, error) -> {
+            // Nothing observes this callback's own outcome, so a failed completion RPC is logged
+            // here; the activity then times out and Temporal retries it
+            try {
+                if (error == null) {
+                    logger.info("Successfully saved state transition with ID: {}", transition.getId());
+                    completionClient.complete(null);
+                } else {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    logger.error("Failed to save state transition to MongoDB for flight {}: {}",
+                            transition.getFlightNumber(), cause.getMessage(), cause);
+                    completionClient.fail(cause); // Let Temporal handle retry
+                }
+            } catch (Exception e) {
+                logger.error("Failed to report persistence of state transition {} for flight {} to Temporal: {}",
+                        transition.getId(), transition.getFlightNumber(), e.getMessage(), e);
+            }
+        }, completionExecutor);
+    }
+
+    private boolean insertIfAbsent(FlightStateTransition transition) {
+        return storageMode == TransitionStorageMode.BUCKET
+                ? bucketRepository.appendIfAbsent(transition)
+                : repository.insertIfAbsent(transition);
+    }
+
+    private FlightStateTransition awaitBatchedWrite(FlightStateTransition transition) {
+        try {
+            return batchWriter.submit(transition).get(writeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException(cause.getMessage(), cause);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for batched write of transition for flight "
+                    + transition.getFlightNumber(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for batched write", e);
+        }
+    }
 }
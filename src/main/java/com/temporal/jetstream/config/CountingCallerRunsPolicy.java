@@ -0,0 +1,29 @@
+package com.temporal.jetstream.config;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a rejected task on the submitting thread, counting each time it does.
+ * Used on the WebSocket outbound channel so a full queue slows the publisher down instead of
+ * losing messages: snapshot replies, CONNECTED and RECEIPT frames and terminal deltas all
+ * travel on that channel, and none of them can be dropped safely.
+ */
+public class CountingCallerRunsPolicy implements RejectedExecutionHandler {
+
+    private final ThreadPoolExecutor.CallerRunsPolicy delegate = new ThreadPoolExecutor.CallerRunsPolicy();
+    private final AtomicLong callerRuns = new AtomicLong();
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        if (!executor.isShutdown()) {
+            callerRuns.incrementAndGet();
+        }
+        delegate.rejectedExecution(task, executor);
+    }
+
+    public long getCallerRuns() {
+        return callerRuns.get();
+    }
+}
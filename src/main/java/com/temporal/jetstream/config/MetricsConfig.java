@@ -0,0 +1,94 @@
+package com.temporal.jetstream.config;
+
+import com.temporal.jetstream.service.FlightUpdateBroadcaster;
+import com.temporal.jetstream.service.FlightUpdateStream;
+import com.uber.m3.tally.RootScopeBuilder;
+import com.uber.m3.tally.Scope;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.temporal.common.reporter.MicrometerClientStatsReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics exported through Micrometer at /actuator/prometheus.
+ *
+ * The Temporal SDK reports its client and worker metrics (schedule-to-start latencies, sticky
+ * cache hits and misses, poll results, available task slots, RPC failures) to a Tally scope.
+ * The scope defined here forwards them to the Micrometer registry. It is set on
+ * WorkflowServiceStubs, and every worker created from the client reports through it as well.
+ * Temporal timers are published with histogram buckets, so alert rules can compute
+ * percentiles across instances (see monitoring/temporal-alerts.yml).
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public Scope temporalMetricsScope(MeterRegistry meterRegistry,
+                                      @Value("${temporal.metrics.report-interval-ms:10000}") long reportIntervalMs) {
+        logger.info("Reporting Temporal SDK metrics to Micrometer every {} ms", reportIntervalMs);
+        return new RootScopeBuilder()
+                .reporter(new MicrometerClientStatsReporter(meterRegistry))
+                .reportEvery(com.uber.m3.util.Duration.ofMillis(reportIntervalMs));
+    }
+
+    /**
+     * Histogram buckets for the SDK's latency timers (temporal_*_latency).
+     */
+    @Bean
+    public MeterFilter temporalLatencyHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() == Meter.Type.TIMER && id.getName().startsWith("temporal_")) {
+                    return DistributionStatisticConfig.builder()
+                            .percentilesHistogram(true)
+                            .build()
+                            .merge(config);
+                }
+                return config;
+            }
+        };
+    }
+
+    /**
+     * The WebSocket broadcaster's queue depths and counters (also at /api/admin/websocket/stats),
+     * and the number of open Server-Sent Events streams.
+     */
+    @Bean
+    public MeterBinder flightUpdateMetrics(FlightUpdateBroadcaster broadcaster, FlightUpdateStream stream) {
+        return registry -> {
+            Gauge.builder("jetstream.websocket.pending.flights", broadcaster, b -> b.getStats().getPendingFlights())
+                    .description("Flights with a delta waiting for the next broadcast frame")
+                    .register(registry);
+            Gauge.builder("jetstream.websocket.outbound.queue.depth", broadcaster, b -> b.getStats().getOutboundQueueDepth())
+                    .description("Messages queued on the client outbound channel")
+                    .register(registry);
+            FunctionCounter.builder("jetstream.websocket.outbound.caller.runs", broadcaster, b -> b.getStats().getOutboundCallerRuns())
+                    .description("Outbound messages sent on the publishing thread because the queue was full")
+                    .register(registry);
+            FunctionCounter.builder("jetstream.websocket.deltas.coalesced", broadcaster, b -> b.getStats().getCoalescedDeltas())
+                    .description("Deltas merged into a pending delta for the same flight")
+                    .register(registry);
+            FunctionCounter.builder("jetstream.websocket.deltas.sent", broadcaster, b -> b.getStats().getSentDeltas())
+                    .description("Deltas sent to WebSocket subscribers")
+                    .register(registry);
+            Gauge.builder("jetstream.stream.connections", stream, FlightUpdateStream::getConnectionCount)
+                    .description("Open Server-Sent Events streams")
+                    .register(registry);
+            FunctionCounter.builder("jetstream.stream.lagging.closed", stream, FlightUpdateStream::getLaggingClosed)
+                    .description("Server-Sent Events streams closed for falling too far behind")
+                    .register(registry);
+        };
+    }
+}
@@ -1,77 +1,162 @@
 package com.temporal.jetstream.config;
 
-import com.temporal.jetstream.activity.FlightEventActivityImpl;
-import com.temporal.jetstream.activity.PersistenceActivityImpl;
-import com.temporal.jetstream.workflow.FlightWorkflow;
-import com.temporal.jetstream.workflow.FlightWorkflowImpl;
-import com.temporal.jetstream.workflow.MultiLegFlightWorkflowImpl;
+import com.uber.m3.tally.Scope;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.handler.ssl.SslContext;
 import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowClientOptions;
+import io.temporal.serviceclient.SimpleSslContextBuilder;
 import io.temporal.serviceclient.WorkflowServiceStubs;
-import io.temporal.worker.Worker;
-import io.temporal.worker.WorkerFactory;
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
+import io.temporal.serviceclient.WorkflowServiceStubsOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temporal client configuration. Workers are created and managed by WorkerManagementService.
+ *
+ * The connection to the Temporal frontend is built from temporal.service-address and the
+ * temporal.connection.* settings: keepalive, message-size limits, RPC deadlines, optional
+ * TLS, and the number of gRPC channels (HTTP/2 connections) calls are spread across.
+ */
 @Configuration
 public class TemporalConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(TemporalConfig.class);
 
-    @Value("${temporal.task-queue}")
-    private String taskQueue;
+    @Value("${temporal.service-address:localhost:7233}")
+    private String serviceAddress;
 
-    @Autowired
-    private FlightEventActivityImpl flightEventActivity;
+    @Value("${temporal.namespace:default}")
+    private String namespace;
 
-    @Autowired
-    private PersistenceActivityImpl persistenceActivity;
+    @Value("${temporal.connection.channel-count:1}")
+    private int channelCount;
 
-    private WorkerFactory workerFactory;
+    @Value("${temporal.connection.keepalive-time-ms:30000}")
+    private long keepAliveTimeMs;
 
-    @Bean
-    public WorkflowServiceStubs workflowServiceStubs() {
-        return WorkflowServiceStubs.newLocalServiceStubs();
-    }
+    @Value("${temporal.connection.keepalive-timeout-ms:15000}")
+    private long keepAliveTimeoutMs;
 
-    @Bean
-    public WorkflowClient workflowClient(WorkflowServiceStubs serviceStubs) {
-        return WorkflowClient.newInstance(serviceStubs);
-    }
+    @Value("${temporal.connection.keepalive-without-calls:true}")
+    private boolean keepAliveWithoutCalls;
 
-    @Bean
-    public WorkerFactory workerFactory(WorkflowClient workflowClient) {
-        this.workerFactory = WorkerFactory.newInstance(workflowClient);
-        return this.workerFactory;
+    @Value("${temporal.connection.max-inbound-message-size-bytes:134217728}")
+    private int maxInboundMessageSize;
+
+    @Value("${temporal.connection.max-outbound-message-size-bytes:4194304}")
+    private int maxOutboundMessageSize;
+
+    @Value("${temporal.connection.rpc-timeout-ms:10000}")
+    private long rpcTimeoutMs;
+
+    @Value("${temporal.connection.rpc-long-poll-timeout-ms:70000}")
+    private long rpcLongPollTimeoutMs;
+
+    @Value("${temporal.connection.rpc-query-timeout-ms:10000}")
+    private long rpcQueryTimeoutMs;
+
+    @Value("${temporal.connection.tls.enabled:false}")
+    private boolean tlsEnabled;
+
+    @Value("${temporal.connection.tls.client-cert-path:}")
+    private String tlsClientCertPath;
+
+    @Value("${temporal.connection.tls.client-key-path:}")
+    private String tlsClientKeyPath;
+
+    /**
+     * The gRPC channel to the Temporal frontend: one connection, or a round-robin pool of
+     * temporal.connection.channel-count connections. Shut down after the stubs that use it.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ManagedChannel temporalChannel() throws IOException {
+        SslContext sslContext = tlsEnabled ? buildSslContext() : null;
+        List<ManagedChannel> channels = new ArrayList<>();
+        for (int i = 0; i < Math.max(channelCount, 1); i++) {
+            NettyChannelBuilder builder = NettyChannelBuilder.forTarget(serviceAddress)
+                    .keepAliveTime(keepAliveTimeMs, TimeUnit.MILLISECONDS)
+                    .keepAliveTimeout(keepAliveTimeoutMs, TimeUnit.MILLISECONDS)
+                    .keepAliveWithoutCalls(keepAliveWithoutCalls)
+                    .maxInboundMessageSize(maxInboundMessageSize);
+            if (sslContext != null) {
+                builder.sslContext(sslContext);
+            } else {
+                builder.usePlaintext();
+            }
+            channels.add(builder.build());
+        }
+        return channels.size() == 1 ? channels.get(0) : new RoundRobinManagedChannel(channels);
     }
 
     @Bean
-    public Worker worker(WorkerFactory workerFactory) {
-        Worker worker = workerFactory.newWorker(taskQueue);
-        worker.registerWorkflowImplementationTypes(FlightWorkflowImpl.class, MultiLegFlightWorkflowImpl.class);
-        logger.info("Registered FlightWorkflowImpl and MultiLegFlightWorkflowImpl for task queue: {}", taskQueue);
-
-        // Register activities
-        worker.registerActivitiesImplementations(flightEventActivity, persistenceActivity);
-        logger.info("Registered FlightEventActivity and PersistenceActivity for task queue: {}", taskQueue);
+    public WorkflowServiceStubs workflowServiceStubs(ManagedChannel temporalChannel, Scope temporalMetricsScope) {
+        WorkflowServiceStubsOptions options = WorkflowServiceStubsOptions.newBuilder()
+                .setChannel(temporalChannel)
+                // Client and worker metrics (see MetricsConfig)
+                .setMetricsScope(temporalMetricsScope)
+                .setRpcTimeout(Duration.ofMillis(rpcTimeoutMs))
+                .setRpcLongPollTimeout(Duration.ofMillis(rpcLongPollTimeoutMs))
+                .setRpcQueryTimeout(Duration.ofMillis(rpcQueryTimeoutMs))
+                .setGrpcClientInterceptors(List.of(maxOutboundMessageSizeInterceptor(maxOutboundMessageSize)))
+                .build();
 
-        // Start the worker factory immediately after registration
-        workerFactory.start();
-        logger.info("Worker started for task queue: {}", taskQueue);
+        logger.info("Connecting to Temporal at {} (namespace={}, channels={}, tls={}, keepalive={}ms/{}ms, "
+                        + "keepaliveWithoutCalls={}, maxInbound={} bytes, maxOutbound={} bytes, "
+                        + "rpcTimeout={}ms, longPollTimeout={}ms, queryTimeout={}ms)",
+                serviceAddress, namespace, Math.max(channelCount, 1), tlsEnabled, keepAliveTimeMs,
+                keepAliveTimeoutMs, keepAliveWithoutCalls, maxInboundMessageSize, maxOutboundMessageSize,
+                rpcTimeoutMs, rpcLongPollTimeoutMs, rpcQueryTimeoutMs);
+        return WorkflowServiceStubs.newServiceStubs(options);
+    }
 
-        return worker;
+    @Bean
+    public WorkflowClient workflowClient(WorkflowServiceStubs serviceStubs) {
+        return WorkflowClient.newInstance(serviceStubs, WorkflowClientOptions.newBuilder()
+                .setNamespace(namespace)
+                .build());
     }
 
-    @PreDestroy
-    public void stopWorker() {
-        if (workerFactory != null) {
-            workerFactory.shutdown();
-            logger.info("Worker stopped");
+    /**
+     * Mutual TLS when a client certificate and key are configured, otherwise server-only TLS.
+     */
+    private SslContext buildSslContext() throws IOException {
+        if (tlsClientCertPath.isBlank() || tlsClientKeyPath.isBlank()) {
+            return SimpleSslContextBuilder.noKeyOrCertChain().build();
+        }
+        try (InputStream cert = new FileInputStream(tlsClientCertPath);
+             InputStream key = new FileInputStream(tlsClientKeyPath)) {
+            return SimpleSslContextBuilder.forPKCS8(cert, key).build();
         }
     }
+
+    /**
+     * Rejects oversized requests on the client instead of sending them for the server to refuse.
+     */
+    private static ClientInterceptor maxOutboundMessageSizeInterceptor(int maxBytes) {
+        return new ClientInterceptor() {
+            @Override
+            public <RequestT, ResponseT> ClientCall<RequestT, ResponseT> interceptCall(
+                    MethodDescriptor<RequestT, ResponseT> method, CallOptions callOptions, Channel next) {
+                return next.newCall(method, callOptions.withMaxOutboundMessageSize(maxBytes));
+            }
+        };
+    }
 }
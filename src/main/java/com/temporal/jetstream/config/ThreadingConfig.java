@@ -0,0 +1,43 @@
+package com.temporal.jetstream.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for blocking calls (Temporal gRPC, MongoDB, Kafka) made outside the request thread.
+ * With spring.threads.virtual.enabled=true each task gets its own virtual thread, matching the
+ * virtual-thread Tomcat and Kafka listener executors; otherwise a bounded platform-thread pool is used.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${threading.platform-pool-size:32}")
+    private int platformPoolSize;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService blockingCallExecutor() {
+        if (virtualThreads) {
+            logger.info("Blocking service calls run on virtual threads");
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("blocking-call-", 0).factory());
+        }
+        logger.info("Blocking service calls run on a pool of {} platform threads", platformPoolSize);
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformPoolSize, runnable -> {
+            Thread thread = new Thread(runnable, "blocking-call-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.temporal.jetstream.config;
+
+/**
+ * STOMP broker used for /topic destinations, selected with websocket.broker.mode.
+ */
+public enum WebSocketBrokerMode {
+
+    /** In-JVM simple broker; each node only delivers to the clients connected to it. */
+    SIMPLE,
+
+    /** External STOMP broker shared by all nodes, reached through Spring's broker relay. */
+    RELAY
+}
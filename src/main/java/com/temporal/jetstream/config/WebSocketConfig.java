@@ -1,23 +1,96 @@
 package com.temporal.jetstream.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket configuration for real-time flight state updates.
  * Enables STOMP messaging protocol over WebSocket for bi-directional communication.
+ *
+ * Slow clients are bounded in two places. Each session may buffer at most
+ * websocket.transport.send-buffer-size-limit-bytes, and a single send may block for at most
+ * websocket.transport.send-time-limit-ms; a session over either limit is closed, and the
+ * browser reconnects and starts again from a snapshot. Those per-session limits are what
+ * isolate a slow client; the shared outbound channel queue is bounded as well, and once it is
+ * full the publishing thread sends the message itself, which slows publishing down rather
+ * than dropping a message another session is waiting for.
+ *
+ * With websocket.broker.mode=RELAY, /topic destinations live on an external STOMP broker
+ * (RabbitMQ with the STOMP plugin, ActiveMQ Artemis, ...) shared by every node, so a delta
+ * published on one node reaches clients connected to any node. /app destinations, including
+ * board snapshots, are still handled by the node the client is connected to.
  */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketConfig.class);
+
+    @Value("${websocket.broker.mode:SIMPLE}")
+    private WebSocketBrokerMode brokerMode;
+
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.transport.send-buffer-size-limit-bytes:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.transport.message-size-limit-bytes:65536}")
+    private int messageSizeLimit;
+
+    @Value("${websocket.outbound.pool-size:8}")
+    private int outboundPoolSize;
+
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable a simple in-memory message broker for broadcasting to subscribed clients
-        config.enableSimpleBroker("/topic");
+        if (brokerMode == WebSocketBrokerMode.RELAY) {
+            // Forward /topic subscriptions and messages to the shared external broker.
+            // The system session carries messages published by this node; client sessions
+            // each get their own broker connection with the client credentials.
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+            logger.info("Relaying WebSocket /topic destinations to STOMP broker {}:{}", relayHost, relayPort);
+        } else {
+            // Enable a simple in-memory message broker for broadcasting to subscribed clients
+            config.enableSimpleBroker("/topic");
+        }
         // Prefix for messages from clients to server
         config.setApplicationDestinationPrefixes("/app");
     }
@@ -30,4 +103,33 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS(); // Fallback for browsers that don't support WebSocket
     }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(websocketOutboundExecutor());
+    }
+
+    /**
+     * Executor for the client outbound channel: a fixed pool with a bounded queue. When the
+     * queue is full the caller runs the send, so the queue cannot grow without limit and no
+     * message is lost.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor websocketOutboundExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(outboundPoolSize);
+        executor.setMaxPoolSize(outboundPoolSize);
+        executor.setQueueCapacity(outboundQueueCapacity);
+        executor.setRejectedExecutionHandler(new CountingCallerRunsPolicy());
+        executor.setThreadNamePrefix("websocket-outbound-");
+        executor.setAllowCoreThreadTimeOut(true);
+        return executor;
+    }
 }
@@ -0,0 +1,24 @@
+package com.temporal.jetstream.config;
+
+/**
+ * Which Temporal workers this process runs, selected with temporal.worker.role.
+ */
+public enum WorkerRole {
+
+    /** Workflow and activity workers in this process. */
+    ALL,
+
+    /** Only the workflow worker, polling temporal.task-queue. */
+    WORKFLOW,
+
+    /** Only the activity worker, polling temporal.activity-task-queue. */
+    ACTIVITY;
+
+    public boolean runsWorkflows() {
+        return this != ACTIVITY;
+    }
+
+    public boolean runsActivities() {
+        return this != WORKFLOW;
+    }
+}
@@ -0,0 +1,185 @@
+package com.temporal.jetstream.config;
+
+import io.temporal.worker.WorkerFactoryOptions;
+import io.temporal.worker.WorkerOptions;
+import io.temporal.worker.tuning.ResourceBasedControllerOptions;
+import io.temporal.worker.tuning.ResourceBasedSlotOptions;
+import io.temporal.worker.tuning.ResourceBasedTuner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Worker tuning from temporal.worker.*, used for every WorkerFactory and Worker the application
+ * creates so that a restarted worker runs with the same limits as the original.
+ *
+ * In FIXED mode the worker holds at most max-concurrent-* workflow tasks, activities and local
+ * activities. In RESOURCE_BASED mode the SDK's ResourceBasedTuner hands out slots between the
+ * configured minimum and maximum for as long as process CPU and memory stay below their targets,
+ * so one setting works on hosts of different sizes.
+ *
+ * A worker on a dedicated workflow or activity task queue gets only its side of the settings
+ * (workflowWorkerOptions / activityWorkerOptions). Slots and pollers can be set per side under
+ * temporal.worker.workflow.* and temporal.worker.activity.*; each falls back to the shared
+ * temporal.worker.* value. Local activities run on the worker that runs the workflow, so their
+ * slots are a workflow-side setting.
+ *
+ * Each workflow in the sticky cache keeps at least one workflow thread, so
+ * factory.max-workflow-thread-count should not be lower than factory.workflow-cache-size.
+ */
+@Component
+public class WorkerSettings {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerSettings.class);
+
+    @Value("${temporal.worker.tuner:FIXED}")
+    private WorkerTunerMode tunerMode;
+
+    @Value("${temporal.worker.workflow.max-concurrent-workflow-tasks:${temporal.worker.max-concurrent-workflow-tasks:200}}")
+    private int maxConcurrentWorkflowTasks;
+
+    @Value("${temporal.worker.activity.max-concurrent-activities:${temporal.worker.max-concurrent-activities:200}}")
+    private int maxConcurrentActivities;
+
+    @Value("${temporal.worker.workflow.max-concurrent-local-activities:${temporal.worker.max-concurrent-local-activities:200}}")
+    private int maxConcurrentLocalActivities;
+
+    @Value("${temporal.worker.workflow.workflow-task-pollers:${temporal.worker.workflow-task-pollers:5}}")
+    private int workflowTaskPollers;
+
+    @Value("${temporal.worker.activity.activity-task-pollers:${temporal.worker.activity-task-pollers:5}}")
+    private int activityTaskPollers;
+
+    @Value("${temporal.worker.max-activities-per-second:0}")
+    private double maxActivitiesPerSecond;
+
+    @Value("${temporal.worker.max-task-queue-activities-per-second:0}")
+    private double maxTaskQueueActivitiesPerSecond;
+
+    @Value("${temporal.worker.sticky-schedule-to-start-timeout-ms:5000}")
+    private long stickyScheduleToStartTimeoutMs;
+
+    @Value("${temporal.worker.resource-based.target-cpu-usage:0.8}")
+    private double targetCpuUsage;
+
+    @Value("${temporal.worker.resource-based.target-memory-usage:0.8}")
+    private double targetMemoryUsage;
+
+    @Value("${temporal.worker.resource-based.min-workflow-slots:5}")
+    private int minWorkflowSlots;
+
+    @Value("${temporal.worker.resource-based.max-workflow-slots:1000}")
+    private int maxWorkflowSlots;
+
+    @Value("${temporal.worker.resource-based.min-activity-slots:1}")
+    private int minActivitySlots;
+
+    @Value("${temporal.worker.resource-based.max-activity-slots:2000}")
+    private int maxActivitySlots;
+
+    @Value("${temporal.worker.resource-based.activity-ramp-throttle-ms:50}")
+    private long activityRampThrottleMs;
+
+    @Value("${temporal.worker.factory.workflow-cache-size:600}")
+    private int workflowCacheSize;
+
+    @Value("${temporal.worker.factory.max-workflow-thread-count:600}")
+    private int maxWorkflowThreadCount;
+
+    public WorkerFactoryOptions workerFactoryOptions() {
+        if (maxWorkflowThreadCount < workflowCacheSize) {
+            logger.warn("temporal.worker.factory.max-workflow-thread-count ({}) is below workflow-cache-size ({}); "
+                    + "cached workflows will be evicted to free threads", maxWorkflowThreadCount, workflowCacheSize);
+        }
+        return WorkerFactoryOptions.newBuilder()
+                .setWorkflowCacheSize(workflowCacheSize)
+                .setMaxWorkflowThreadCount(maxWorkflowThreadCount)
+                .build();
+    }
+
+    /**
+     * Options for a worker that runs both workflows and activities on one task queue.
+     */
+    public WorkerOptions workerOptions() {
+        return workerOptions(true, true);
+    }
+
+    /**
+     * Options for a worker that only runs workflows (and their local activities).
+     */
+    public WorkerOptions workflowWorkerOptions() {
+        return workerOptions(true, false);
+    }
+
+    /**
+     * Options for a worker that only runs activities.
+     */
+    public WorkerOptions activityWorkerOptions() {
+        return workerOptions(false, true);
+    }
+
+    private WorkerOptions workerOptions(boolean workflows, boolean activities) {
+        WorkerOptions.Builder options = WorkerOptions.newBuilder();
+        if (workflows) {
+            options.setMaxConcurrentWorkflowTaskPollers(workflowTaskPollers)
+                    .setStickyQueueScheduleToStartTimeout(Duration.ofMillis(stickyScheduleToStartTimeoutMs));
+        }
+        if (activities) {
+            options.setMaxConcurrentActivityTaskPollers(activityTaskPollers)
+                    .setMaxWorkerActivitiesPerSecond(maxActivitiesPerSecond)
+                    .setMaxTaskQueueActivitiesPerSecond(maxTaskQueueActivitiesPerSecond);
+        }
+
+        // The SDK rejects a tuner combined with fixed slot counts, so set one or the other
+        if (tunerMode == WorkerTunerMode.RESOURCE_BASED) {
+            ResourceBasedSlotOptions activitySlots = ResourceBasedSlotOptions.newBuilder()
+                    .setMinimumSlots(minActivitySlots)
+                    .setMaximumSlots(maxActivitySlots)
+                    .setRampThrottle(Duration.ofMillis(activityRampThrottleMs))
+                    .build();
+            options.setWorkerTuner(ResourceBasedTuner.newBuilder()
+                    .setControllerOptions(ResourceBasedControllerOptions.newBuilder(targetMemoryUsage, targetCpuUsage)
+                            .build())
+                    .setWorkflowSlotOptions(ResourceBasedSlotOptions.newBuilder()
+                            .setMinimumSlots(minWorkflowSlots)
+                            .setMaximumSlots(maxWorkflowSlots)
+                            .setRampThrottle(Duration.ZERO)
+                            .build())
+                    .setActivitySlotOptions(activitySlots)
+                    .setLocalActivitySlotOptions(activitySlots)
+                    .build());
+        } else {
+            if (workflows) {
+                options.setMaxConcurrentWorkflowTaskExecutionSize(maxConcurrentWorkflowTasks)
+                        .setMaxConcurrentLocalActivityExecutionSize(maxConcurrentLocalActivities);
+            }
+            if (activities) {
+                options.setMaxConcurrentActivityExecutionSize(maxConcurrentActivities);
+            }
+        }
+        return options.build();
+    }
+
+    /**
+     * One-line summary of the resolved settings for the startup log.
+     */
+    public String describe() {
+        String slots = tunerMode == WorkerTunerMode.RESOURCE_BASED
+                ? String.format("resource-based tuner (cpu<%.2f, memory<%.2f, workflow slots %d-%d, activity slots %d-%d)",
+                        targetCpuUsage, targetMemoryUsage, minWorkflowSlots, maxWorkflowSlots,
+                        minActivitySlots, maxActivitySlots)
+                : String.format("fixed slots (workflow tasks=%d, activities=%d, local activities=%d)",
+                        maxConcurrentWorkflowTasks, maxConcurrentActivities, maxConcurrentLocalActivities);
+        return String.format("%s, pollers workflow=%d activity=%d, activities/s worker=%s queue=%s, "
+                        + "sticky cache=%d, workflow threads=%d",
+                slots, workflowTaskPollers, activityTaskPollers, rate(maxActivitiesPerSecond),
+                rate(maxTaskQueueActivitiesPerSecond), workflowCacheSize, maxWorkflowThreadCount);
+    }
+
+    private static String rate(double perSecond) {
+        return perSecond > 0 ? String.valueOf(perSecond) : "unlimited";
+    }
+}
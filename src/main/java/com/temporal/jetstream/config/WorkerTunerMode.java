@@ -0,0 +1,13 @@
+package com.temporal.jetstream.config;
+
+/**
+ * How the Temporal worker sizes its task slots, selected with temporal.worker.tuner.
+ */
+public enum WorkerTunerMode {
+
+    /** Fixed slot counts from temporal.worker.max-concurrent-*. */
+    FIXED,
+
+    /** Slots handed out while CPU and memory stay under temporal.worker.resource-based.target-*. */
+    RESOURCE_BASED
+}
@@ -1,6 +1,11 @@
 package com.temporal.jetstream.controller;
 
 import com.temporal.jetstream.dto.ErrorResponse;
+import com.temporal.jetstream.dto.WorkerRestartResult;
+import com.temporal.jetstream.service.BatchOperationService;
+import com.temporal.jetstream.service.FlightSignalService;
+import com.temporal.jetstream.service.FlightUpdateBroadcaster;
+import com.temporal.jetstream.service.TransitionBucketMigrationService;
 import com.temporal.jetstream.service.WorkerManagementService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,14 +14,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @RestController
 @RequestMapping("/api/admin")
 @Tag(name = "Admin", description = "Administrative operations for worker management")
@@ -27,9 +33,19 @@ public class AdminController {
     @Autowired
     private WorkerManagementService workerManagementService;
 
-    @Operation(summary = "Restart the Temporal worker", description = "Restarts the Temporal worker to simulate a failure/recovery scenario. Running workflows will resume from their last checkpoint.")
+    @Autowired
+    private TransitionBucketMigrationService migrationService;
+
+    @Autowired
+    private BatchOperationService batchOperationService;
+
+    @Autowired
+    private FlightUpdateBroadcaster flightUpdateBroadcaster;
+
+    @Operation(summary = "Restart the Temporal worker", description = "Drains the Temporal workers (in-flight tasks get up to temporal.worker.drain-timeout-ms to finish) and replaces them with newly registered ones, to simulate a failure/recovery scenario. Running workflows will resume from their last checkpoint.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Worker restarted successfully"),
+            @ApiResponse(responseCode = "409", description = "A restart is already in progress"),
             @ApiResponse(responseCode = "500", description = "Failed to restart worker")
     })
     @PostMapping("/restart-worker")
@@ -37,20 +53,96 @@ public class AdminController {
         try {
             logger.info("Received request to restart worker - simulating failure scenario");
 
-            workerManagementService.restartWorker();
-
-            Map<String, String> response = new HashMap<>();
-            response.put("status", "SUCCESS");
-            response.put("message", "Worker restarted successfully. Workflows will resume from last checkpoint.");
+            WorkerRestartResult result = workerManagementService.restartWorker();
 
-            logger.info("Worker restart completed successfully");
+            logger.info("Worker restart completed successfully in {} ms", result.getTotalMillis());
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(result);
 
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("RESTART_IN_PROGRESS", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error restarting worker: {}", e.getMessage(), e);
             return ResponseEntity.status(500)
                     .body(new ErrorResponse("RESTART_ERROR", e.getMessage()));
         }
     }
+
+    @Operation(summary = "Migrate transitions into buckets", description = "Copies every document in flight_state_transitions into the per-flight-date buckets used by persistence.storage-mode=BUCKET. Safe to re-run; transitions already in a bucket are skipped.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Migration completed"),
+            @ApiResponse(responseCode = "400", description = "Invalid batch size"),
+            @ApiResponse(responseCode = "500", description = "Migration failed")
+    })
+    @PostMapping("/migrate-transitions")
+    public ResponseEntity<?> migrateTransitions(@RequestParam(defaultValue = "500") int batchSize) {
+        if (batchSize < 1) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("INVALID_BATCH_SIZE", "batchSize must be at least 1"));
+        }
+        try {
+            logger.info("Received request to migrate transitions into buckets");
+            return ResponseEntity.ok(migrationService.migrateToBuckets(batchSize));
+
+        } catch (Exception e) {
+            logger.error("Error migrating transitions: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(new ErrorResponse("MIGRATION_ERROR", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Cancel every running flight departing a station", description = "Starts a Temporal batch operation that sends cancelFlight to all running flight workflows whose DepartureStation search attribute matches. The cluster performs the fan-out; track progress with GET /api/admin/batch/{jobId}.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Batch operation started"),
+            @ApiResponse(responseCode = "400", description = "Invalid station code or missing reason"),
+            @ApiResponse(responseCode = "500", description = "Failed to start batch operation")
+    })
+    @PostMapping("/batch/cancel-station")
+    public ResponseEntity<?> cancelStation(@RequestParam String station, @RequestParam String reason) {
+        try {
+            logger.info("Received request to cancel all flights departing {}: {}", station, reason);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(batchOperationService.cancelStation(station, reason));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("INVALID_BATCH_REQUEST", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error starting batch cancellation for {}: {}", station, e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(new ErrorResponse("BATCH_START_ERROR", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Get batch operation progress", description = "Describes a Temporal batch operation: state (RUNNING, COMPLETED, FAILED) and total, completed and failed operation counts.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch operation found"),
+            @ApiResponse(responseCode = "404", description = "Batch operation not found"),
+            @ApiResponse(responseCode = "500", description = "Failed to describe batch operation")
+    })
+    @GetMapping("/batch/{jobId}")
+    public ResponseEntity<?> getBatchOperation(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(batchOperationService.describe(jobId));
+
+        } catch (Exception e) {
+            if (FlightSignalService.isNotFound(e)) {
+                return ResponseEntity.status(404)
+                        .body(new ErrorResponse("BATCH_NOT_FOUND", "Batch operation not found: " + jobId));
+            }
+            logger.error("Error describing batch operation {}: {}", jobId, e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(new ErrorResponse("BATCH_DESCRIBE_ERROR", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Get WebSocket delivery stats", description = "Queue depths and counters for WebSocket delivery on this node: deltas waiting for the next frame, deltas submitted, merged and sent, the outbound channel queue depth and discards, and the broker's session stats (including sessions closed for exceeding send limits).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stats returned")
+    })
+    @GetMapping("/websocket/stats")
+    public ResponseEntity<?> getWebSocketStats() {
+        return ResponseEntity.ok(flightUpdateBroadcaster.getStats());
+    }
 }
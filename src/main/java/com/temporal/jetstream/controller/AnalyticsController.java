@@ -0,0 +1,95 @@
+package com.temporal.jetstream.controller;
+
+import com.temporal.jetstream.dto.ErrorResponse;
+import com.temporal.jetstream.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.function.BiFunction;
+
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics", description = "On-time performance computed from persisted flight state history")
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    // Range used when the caller does not pass fromDate
+    private static final int DEFAULT_RANGE_DAYS = 7;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Operation(summary = "Get on-time performance summary", description = "On-time percentage, cancellation rate and average delay across all finished flights in the flight-date range (default: last 7 days)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Summary computed"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "500", description = "Failed to compute summary")
+    })
+    @GetMapping("/on-time")
+    public ResponseEntity<?> getOnTimeSummary(@RequestParam(required = false) String fromDate,
+                                              @RequestParam(required = false) String toDate) {
+        return query(fromDate, toDate, analyticsService::getSummary);
+    }
+
+    @Operation(summary = "Get on-time performance by station", description = "On-time percentage, cancellation rate and average delay per departure station")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-station figures computed"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "500", description = "Failed to compute figures")
+    })
+    @GetMapping("/stations")
+    public ResponseEntity<?> getByStation(@RequestParam(required = false) String fromDate,
+                                          @RequestParam(required = false) String toDate) {
+        return query(fromDate, toDate, analyticsService::getByStation);
+    }
+
+    @Operation(summary = "Get on-time performance by aircraft", description = "On-time percentage, cancellation rate and average delay per aircraft")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-aircraft figures computed"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "500", description = "Failed to compute figures")
+    })
+    @GetMapping("/aircraft")
+    public ResponseEntity<?> getByAircraft(@RequestParam(required = false) String fromDate,
+                                           @RequestParam(required = false) String toDate) {
+        return query(fromDate, toDate, analyticsService::getByAircraft);
+    }
+
+    private ResponseEntity<?> query(String fromDate, String toDate,
+                                    BiFunction<LocalDate, LocalDate, ?> analytics) {
+        LocalDate to;
+        LocalDate from;
+        try {
+            to = toDate != null ? LocalDate.parse(toDate) : LocalDate.now();
+            from = fromDate != null ? LocalDate.parse(fromDate) : to.minusDays(DEFAULT_RANGE_DAYS);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("INVALID_DATE", "Dates must use the format yyyy-MM-dd"));
+        }
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("INVALID_DATE_RANGE", "fromDate must not be after toDate"));
+        }
+
+        try {
+            return ResponseEntity.ok(analytics.apply(from, to));
+        } catch (Exception e) {
+            logger.error("Error computing analytics for {} to {}: {}", from, to, e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(new ErrorResponse("ANALYTICS_ERROR", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.temporal.jetstream.controller;
+
+import com.temporal.jetstream.dto.FlightBoardSnapshot;
+import com.temporal.jetstream.service.FlightBoard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Board snapshots for WebSocket clients. Subscribing to /app/board (or a station or flight
+ * variant) returns the snapshot straight to the subscribing session, without going through
+ * the broker. Clients subscribe to the matching /topic destination first and apply the deltas
+ * that arrive after the snapshot; a client that detects a gap resubscribes to
+ * /app/board/flights/{flightNumber} to resync that flight.
+ */
+@Controller
+public class FlightBoardController {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightBoardController.class);
+
+    private final FlightBoard flightBoard;
+
+    public FlightBoardController(FlightBoard flightBoard) {
+        this.flightBoard = flightBoard;
+    }
+
+    @SubscribeMapping("/board")
+    public FlightBoardSnapshot boardSnapshot() {
+        FlightBoardSnapshot snapshot = new FlightBoardSnapshot(flightBoard.snapshot());
+        logger.debug("Sending board snapshot with {} flights", snapshot.getFlights().size());
+        return snapshot;
+    }
+
+    @SubscribeMapping("/board/stations/{code}")
+    public FlightBoardSnapshot stationSnapshot(@DestinationVariable String code) {
+        return new FlightBoardSnapshot(flightBoard.snapshotForStation(code));
+    }
+
+    @SubscribeMapping("/board/flights/{flightNumber}")
+    public FlightBoardSnapshot flightSnapshot(@DestinationVariable String flightNumber) {
+        return new FlightBoardSnapshot(flightBoard.snapshotForFlight(flightNumber));
+    }
+}
@@ -1,14 +1,21 @@
 package com.temporal.jetstream.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.temporal.jetstream.dto.*;
 import com.temporal.jetstream.model.Flight;
 import com.temporal.jetstream.model.FlightState;
 import com.temporal.jetstream.model.FlightStateTransition;
-import com.temporal.jetstream.repository.FlightStateTransitionRepository;
 import com.temporal.jetstream.service.ActiveFlightService;
-import com.temporal.jetstream.service.FlightEventProducer;
-import com.temporal.jetstream.service.FlightEventService;
+import com.temporal.jetstream.service.BulkSignalService;
+import com.temporal.jetstream.service.FlightSignalService;
+import com.temporal.jetstream.service.FlightStartService;
+import com.temporal.jetstream.service.FlightUpdateRejectedException;
+import com.temporal.jetstream.service.FlightUpdateStream;
 import com.temporal.jetstream.service.HistoryService;
+import com.temporal.jetstream.service.TransitionHistoryService;
 import com.temporal.jetstream.workflow.FlightWorkflow;
 import com.temporal.jetstream.workflow.MultiLegFlightWorkflow;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,17 +25,33 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.temporal.client.WorkflowClient;
 import io.temporal.client.WorkflowNotFoundException;
 import io.temporal.client.WorkflowOptions;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/flights")
@@ -37,24 +60,37 @@ public class FlightController {
 
     private static final Logger logger = LoggerFactory.getLogger(FlightController.class);
 
+    // Transition history paging: default page size and hard cap per request
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+
     @Autowired
     private WorkflowClient workflowClient;
 
     @Autowired
-    private FlightEventService flightEventService;
+    private FlightSignalService flightSignalService;
+
+    @Autowired
+    private FlightStartService flightStartService;
 
     @Autowired
-    private FlightEventProducer flightEventProducer;
+    private BulkSignalService bulkSignalService;
 
     @Autowired
     private HistoryService historyService;
 
     @Autowired
-    private FlightStateTransitionRepository transitionRepository;
+    private TransitionHistoryService transitionHistoryService;
 
     @Autowired
     private ActiveFlightService activeFlightService;
 
+    @Autowired
+    private FlightUpdateStream flightUpdateStream;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Value("${temporal.task-queue}")
     private String taskQueue;
 
@@ -129,37 +165,7 @@ public class FlightController {
     @PostMapping("/start")
     public ResponseEntity<?> startFlight(@Valid @RequestBody StartFlightRequest request) {
         try {
-            // Create Flight object from request
-            Flight flight = new Flight(
-                    request.getFlightNumber(),
-                    request.getFlightDate(),
-                    request.getDepartureStation(),
-                    request.getArrivalStation(),
-                    request.getScheduledDeparture(),
-                    request.getScheduledArrival(),
-                    request.getGate(),
-                    request.getAircraft()
-            );
-
-            // Generate workflow ID
-            String workflowId = String.format("flight-%s-%s",
-                    request.getFlightNumber(),
-                    request.getFlightDate().toString());
-
-            // Create workflow options
-            WorkflowOptions options = WorkflowOptions.newBuilder()
-                    .setWorkflowId(workflowId)
-                    .setTaskQueue(taskQueue)
-                    .build();
-
-            // Start workflow asynchronously
-            FlightWorkflow workflow = workflowClient.newWorkflowStub(FlightWorkflow.class, options);
-            WorkflowClient.start(workflow::executeFlight, flight);
-
-            logger.info("Started flight workflow: {} with ID: {}", request.getFlightNumber(), workflowId);
-
-            // Publish event to WebSocket clients
-            flightEventService.publishStateChange(request.getFlightNumber(), FlightState.SCHEDULED, "Flight workflow started");
+            String workflowId = flightStartService.startFlight(request);
 
             return ResponseEntity.ok(new StartFlightResponse(
                     workflowId,
@@ -174,151 +180,134 @@ public class FlightController {
         }
     }
 
-    @Operation(summary = "Announce a flight delay", description = "Signals the flight workflow with a delay in minutes")
+    @Operation(summary = "Start many flight workflows", description = "Starts every flight in a JSON array or NDJSON stream of start requests, with bounded parallelism and rate limiting. Streams one NDJSON result line per flight as soon as it is started, in completion order.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Results streamed as NDJSON; each line reports STARTED, ALREADY_STARTED, INVALID or FAILED")
+    })
+    @PostMapping(value = "/start/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> startFlights(HttpServletRequest httpRequest) {
+        StreamingResponseBody body = outputStream -> {
+            ReentrantLock writeLock = new ReentrantLock();
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+                 MappingIterator<StartFlightRequest> requests = objectMapper
+                         .readerFor(StartFlightRequest.class)
+                         .readValues(httpRequest.getInputStream())) {
+                // A root-level JSON array is unwrapped, so arrays and NDJSON share this path
+                generator.setRootValueSeparator(new SerializedString("\n"));
+
+                try {
+                    flightStartService.startAll(requests, result -> writeResult(generator, writeLock, result));
+                } catch (RuntimeException e) {
+                    // Malformed input stops the load; flights already started keep running
+                    logger.error("Bulk start aborted: {}", e.getMessage());
+                    writeResult(generator, writeLock, new ErrorResponse("BULK_START_ABORTED", e.getMessage()));
+                }
+                generator.writeRaw('\n');
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Signal many flights at once", description = "Applies a DELAY, GATE or CANCEL operation to every flight matched by exactly one selector: an explicit flightNumbers list (for flightDate, default today), a departureStation, or a state. Station and state selectors match the running flights. Signals are sent with bounded concurrency and one NDJSON progress line is streamed per flight as its signal completes.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Progress streamed as NDJSON; each line reports SIGNALED, NOT_FOUND or FAILED with running totals"),
+            @ApiResponse(responseCode = "400", description = "Missing or conflicting selectors, or missing operation arguments"),
+            @ApiResponse(responseCode = "500", description = "The running flights could not be listed")
+    })
+    @PostMapping(value = "/signal/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> signalFlights(@Valid @RequestBody BulkSignalRequest request) {
+        List<String> targets;
+        try {
+            bulkSignalService.validate(request);
+            targets = bulkSignalService.resolveTargets(request);
+        } catch (IllegalArgumentException e) {
+            return jsonResponse(HttpStatus.BAD_REQUEST, new ErrorResponse("INVALID_SELECTOR", e.getMessage()));
+        } catch (RuntimeException e) {
+            logger.error("Error resolving bulk signal targets: {}", e.getMessage(), e);
+            return jsonResponse(HttpStatus.INTERNAL_SERVER_ERROR, new ErrorResponse("TARGET_LISTING_ERROR", e.getMessage()));
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            ReentrantLock writeLock = new ReentrantLock();
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                bulkSignalService.signalAll(request, targets, progress -> writeResult(generator, writeLock, progress));
+                generator.writeRaw('\n');
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Announce a flight delay", description = "Applies a delay in minutes through a workflow update and returns once the workflow has accepted it")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Delay announced successfully"),
+            @ApiResponse(responseCode = "400", description = "Delay rejected (negative, or flight already finished)"),
             @ApiResponse(responseCode = "404", description = "Flight workflow not found"),
             @ApiResponse(responseCode = "500", description = "Failed to announce delay")
     })
     @PostMapping("/{flightNumber}/delay")
-    public ResponseEntity<?> announceDelay(
+    public CompletableFuture<ResponseEntity<?>> announceDelay(
             @PathVariable String flightNumber,
             @RequestParam(required = false) String flightDate,
             @Valid @RequestBody AnnounceDelayRequest request) {
-        try {
-            String workflowId = buildWorkflowId(flightNumber, flightDate);
-            FlightWorkflow workflow = getWorkflowStub(workflowId);
-
-            workflow.announceDelay(request.getMinutes());
-
-            logger.info("Sent delay signal to flight {}: {} minutes", flightNumber, request.getMinutes());
-
-            // Query workflow for current state
-            FlightWorkflow queryWorkflow = getWorkflowStub(workflowId);
-            Flight updatedFlight = queryWorkflow.getFlightDetails();
-
-            // Publish event to WebSocket clients
-            flightEventService.publishFlightUpdate(updatedFlight);
-
-            // Publish event to Kafka
-            flightEventProducer.publishStateChange(
-                flightNumber,
-                updatedFlight.getCurrentState(),
-                updatedFlight.getCurrentState(),
-                updatedFlight.getGate(),
-                request.getMinutes()
-            );
-
-            return ResponseEntity.ok()
-                    .body(new ErrorResponse("SUCCESS", String.format("Delay of %d minutes announced", request.getMinutes())));
-
-        } catch (WorkflowNotFoundException e) {
-            logger.error("Workflow not found for flight: {}", flightNumber);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ErrorResponse("WORKFLOW_NOT_FOUND", "Flight not found: " + flightNumber));
-        } catch (Exception e) {
-            logger.error("Error announcing delay for flight {}: {}", flightNumber, e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ErrorResponse("SIGNAL_ERROR", e.getMessage()));
-        }
+        String workflowId = buildWorkflowId(flightNumber, flightDate);
+
+        return updateResponse(flightNumber, "announcing delay",
+                flightSignalService.updateDelay(workflowId, request.getMinutes()),
+                updatedFlight -> {
+                    logger.info("Applied delay to flight {}: {} minutes", flightNumber, request.getMinutes());
+                    return new ErrorResponse("SUCCESS", String.format("Delay of %d minutes announced", request.getMinutes()));
+                });
     }
 
-    @Operation(summary = "Change the gate assignment", description = "Signals the flight workflow with a new gate assignment")
+    @Operation(summary = "Change the gate assignment", description = "Applies a new gate assignment through a workflow update")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Gate changed successfully"),
+            @ApiResponse(responseCode = "400", description = "Gate change rejected (blank gate, or flight already finished)"),
             @ApiResponse(responseCode = "404", description = "Flight workflow not found"),
             @ApiResponse(responseCode = "500", description = "Failed to change gate")
     })
     @PostMapping("/{flightNumber}/gate")
-    public ResponseEntity<?> changeGate(
+    public CompletableFuture<ResponseEntity<?>> changeGate(
             @PathVariable String flightNumber,
             @RequestParam(required = false) String flightDate,
             @Valid @RequestBody ChangeGateRequest request) {
-        try {
-            String workflowId = buildWorkflowId(flightNumber, flightDate);
-            FlightWorkflow workflow = getWorkflowStub(workflowId);
-
-            workflow.changeGate(request.getNewGate());
-
-            logger.info("Sent gate change signal to flight {}: {}", flightNumber, request.getNewGate());
-
-            // Query workflow for current state
-            FlightWorkflow queryWorkflow = getWorkflowStub(workflowId);
-            Flight updatedFlight = queryWorkflow.getFlightDetails();
-
-            // Publish event to WebSocket clients
-            flightEventService.publishFlightUpdate(updatedFlight);
-
-            // Publish event to Kafka
-            flightEventProducer.publishStateChange(
-                flightNumber,
-                updatedFlight.getCurrentState(),
-                updatedFlight.getCurrentState(),
-                request.getNewGate(),
-                updatedFlight.getDelay()
-            );
-
-            return ResponseEntity.ok()
-                    .body(new ErrorResponse("SUCCESS", String.format("Gate changed to %s", request.getNewGate())));
-
-        } catch (WorkflowNotFoundException e) {
-            logger.error("Workflow not found for flight: {}", flightNumber);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ErrorResponse("WORKFLOW_NOT_FOUND", "Flight not found: " + flightNumber));
-        } catch (Exception e) {
-            logger.error("Error changing gate for flight {}: {}", flightNumber, e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ErrorResponse("SIGNAL_ERROR", e.getMessage()));
-        }
+        String workflowId = buildWorkflowId(flightNumber, flightDate);
+
+        return updateResponse(flightNumber, "changing gate",
+                flightSignalService.updateGate(workflowId, request.getNewGate()),
+                updatedFlight -> {
+                    logger.info("Applied gate change to flight {}: {}", flightNumber, request.getNewGate());
+                    return new ErrorResponse("SUCCESS", String.format("Gate changed to %s", request.getNewGate()));
+                });
     }
 
-    @Operation(summary = "Cancel a flight", description = "Signals the flight workflow to cancel with a reason")
+    @Operation(summary = "Cancel a flight", description = "Cancels the flight through a workflow update and returns once it is CANCELLED")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Flight cancelled successfully"),
+            @ApiResponse(responseCode = "400", description = "Cancellation rejected (flight already landed or finished)"),
             @ApiResponse(responseCode = "404", description = "Flight workflow not found"),
             @ApiResponse(responseCode = "500", description = "Failed to cancel flight")
     })
     @PostMapping("/{flightNumber}/cancel")
-    public ResponseEntity<?> cancelFlight(
+    public CompletableFuture<ResponseEntity<?>> cancelFlight(
             @PathVariable String flightNumber,
             @RequestParam(required = false) String flightDate,
             @Valid @RequestBody CancelFlightRequest request) {
-        try {
-            String workflowId = buildWorkflowId(flightNumber, flightDate);
-            FlightWorkflow workflow = getWorkflowStub(workflowId);
-
-            workflow.cancelFlight(request.getReason());
-
-            logger.info("Sent cancel signal to flight {}: {}", flightNumber, request.getReason());
-
-            // Query workflow for current state
-            FlightWorkflow queryWorkflow = getWorkflowStub(workflowId);
-            Flight updatedFlight = queryWorkflow.getFlightDetails();
-
-            // Publish event to WebSocket clients
-            flightEventService.publishStateChange(flightNumber, FlightState.CANCELLED, "Flight cancelled: " + request.getReason());
-
-            // Publish event to Kafka
-            flightEventProducer.publishStateChange(
-                flightNumber,
-                updatedFlight.getCurrentState(),
-                FlightState.CANCELLED,
-                updatedFlight.getGate(),
-                updatedFlight.getDelay()
-            );
-
-            return ResponseEntity.ok()
-                    .body(new ErrorResponse("SUCCESS", "Flight cancelled: " + request.getReason()));
-
-        } catch (WorkflowNotFoundException e) {
-            logger.error("Workflow not found for flight: {}", flightNumber);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ErrorResponse("WORKFLOW_NOT_FOUND", "Flight not found: " + flightNumber));
-        } catch (Exception e) {
-            logger.error("Error cancelling flight {}: {}", flightNumber, e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ErrorResponse("SIGNAL_ERROR", e.getMessage()));
-        }
+        String workflowId = buildWorkflowId(flightNumber, flightDate);
+
+        return updateResponse(flightNumber, "cancelling flight",
+                flightSignalService.updateCancellation(workflowId, request.getReason()),
+                updatedFlight -> {
+                    logger.info("Cancelled flight {}: {}", flightNumber, request.getReason());
+                    return new ErrorResponse("SUCCESS", "Flight cancelled: " + request.getReason());
+                });
     }
 
     @Operation(summary = "Get flight state", description = "Queries the current state of a flight workflow")
@@ -414,36 +403,68 @@ public class FlightController {
     }
 
     @Operation(summary = "Get flight state transition history from MongoDB",
-               description = "Retrieves business state transitions from MongoDB for historical analysis")
+               description = "Retrieves business state transitions from MongoDB for historical analysis, most recent first. "
+                       + "Results are paged with a keyset cursor: pass the timestamp and id of the last transition as 'before' "
+                       + "and 'beforeId' to fetch the next page. A page shorter than 'limit' is the last page.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Transition history retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date, cursor or limit"),
             @ApiResponse(responseCode = "500", description = "Failed to retrieve transition history")
     })
     @GetMapping("/{flightNumber}/transition-history")
-    public ResponseEntity<?> getTransitionHistory(
+    public ResponseEntity<StreamingResponseBody> getTransitionHistory(
             @PathVariable String flightNumber,
-            @RequestParam(required = false) String flightDate) {
+            @RequestParam(required = false) String flightDate,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String beforeId,
+            @RequestParam(required = false) Integer limit) {
+        LocalDate from;
+        LocalDate to;
+        LocalDateTime cursor;
         try {
-            List<FlightStateTransition> transitions;
-
-            if (flightDate != null) {
-                java.time.LocalDate date = java.time.LocalDate.parse(flightDate);
-                transitions = transitionRepository.findByFlightNumberAndFlightDateOrderByTimestampDesc(flightNumber, date);
-                logger.info("Retrieved {} state transitions from MongoDB for flight {} on {}",
-                           transitions.size(), flightNumber, flightDate);
-            } else {
-                transitions = transitionRepository.findByFlightNumberOrderByTimestampDesc(flightNumber);
-                logger.info("Retrieved {} state transitions from MongoDB for flight {} (all dates)",
-                           transitions.size(), flightNumber);
-            }
+            // flightDate is shorthand for a single-day range
+            from = parseDate(flightDate != null ? flightDate : fromDate);
+            to = parseDate(flightDate != null ? flightDate : toDate);
+            cursor = before != null ? LocalDateTime.parse(before) : null;
+        } catch (DateTimeParseException e) {
+            return jsonResponse(HttpStatus.BAD_REQUEST,
+                    new ErrorResponse("INVALID_PARAMETER", "Invalid date or cursor: " + e.getParsedString()));
+        }
 
-            return ResponseEntity.ok(transitions);
+        int pageSize = limit != null ? limit : DEFAULT_HISTORY_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_HISTORY_PAGE_SIZE) {
+            return jsonResponse(HttpStatus.BAD_REQUEST, new ErrorResponse("INVALID_PARAMETER",
+                    String.format("limit must be between 1 and %d", MAX_HISTORY_PAGE_SIZE)));
+        }
 
+        Stream<FlightStateTransition> transitions;
+        try {
+            transitions = transitionHistoryService.streamHistory(flightNumber, from, to, cursor, beforeId, pageSize);
         } catch (Exception e) {
             logger.error("Error retrieving transition history for flight {}: {}", flightNumber, e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ErrorResponse("TRANSITION_HISTORY_ERROR", e.getMessage()));
+            return jsonResponse(HttpStatus.INTERNAL_SERVER_ERROR,
+                    new ErrorResponse("TRANSITION_HISTORY_ERROR", e.getMessage()));
         }
+
+        // Write each document as it comes off the MongoDB cursor instead of materializing a List
+        StreamingResponseBody body = outputStream -> {
+            int count = 0;
+            try (transitions; JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                Iterator<FlightStateTransition> iterator = transitions.iterator();
+                while (iterator.hasNext()) {
+                    objectMapper.writeValue(generator, iterator.next());
+                    count++;
+                }
+                generator.writeEndArray();
+            }
+            logger.info("Streamed {} state transitions from MongoDB for flight {} (from={}, to={}, before={})",
+                    count, flightNumber, from, to, cursor);
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @Operation(summary = "Get all active flights",
@@ -468,6 +489,97 @@ public class FlightController {
         }
     }
 
+    @Operation(summary = "Stream flight updates (Server-Sent Events)",
+               description = "Sends a 'snapshot' event with the current board, then a 'delta' event per change (same seq/prevSeq protocol as the WebSocket board). "
+                       + "Filter with flightNumber (repeatable) and/or station. A client reconnecting with the Last-Event-ID header (or lastEventId parameter) "
+                       + "gets the deltas it missed from the server's ring buffer, or a new snapshot if they are no longer buffered.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "503", description = "Connection limit reached; retry later")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamFlights(
+            @RequestParam(required = false) List<String> flightNumber,
+            @RequestParam(required = false) String station,
+            @RequestParam(required = false) String lastEventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+        FlightUpdateStream.StreamFilter filter = new FlightUpdateStream.StreamFilter(
+                flightNumber != null ? Set.copyOf(flightNumber) : Set.of(),
+                station != null ? station.toUpperCase() : null);
+
+        // EventSource sends the header on reconnect; the parameter lets a reloaded page resume too
+        SseEmitter emitter = flightUpdateStream.subscribe(filter,
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+        if (emitter == null) {
+            logger.warn("Rejected flight stream connection: limit of open streams reached");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "10")
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                // Stops nginx from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private LocalDate parseDate(String date) {
+        return date != null ? LocalDate.parse(date) : null;
+    }
+
+    private ResponseEntity<StreamingResponseBody> jsonResponse(HttpStatus status, Object payload) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> objectMapper.writeValue(outputStream, payload));
+    }
+
+    /**
+     * Writes one NDJSON line; results from concurrent starts or signals are serialized through the lock.
+     */
+    private void writeResult(JsonGenerator generator, ReentrantLock writeLock, Object result) {
+        writeLock.lock();
+        try {
+            generator.writeObject(result);
+            generator.flush();
+        } catch (IOException e) {
+            logger.warn("Failed to stream bulk result: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Maps an async workflow update to a response without holding the request thread.
+     * The success handler runs with the updated flight returned by the update.
+     */
+    private CompletableFuture<ResponseEntity<?>> updateResponse(String flightNumber, String action,
+                                                                CompletableFuture<Flight> update,
+                                                                Function<Flight, ErrorResponse> onSuccess) {
+        return update.handle((updatedFlight, error) -> {
+            if (error == null) {
+                try {
+                    return ResponseEntity.ok().body(onSuccess.apply(updatedFlight));
+                } catch (Exception e) {
+                    error = e;
+                }
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof FlightUpdateRejectedException) {
+                logger.warn("Rejected {} for flight {}: {}", action, flightNumber, cause.getMessage());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorResponse("UPDATE_REJECTED", cause.getMessage()));
+            }
+            if (FlightSignalService.isNotFound(cause)) {
+                logger.error("Workflow not found for flight: {}", flightNumber);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("WORKFLOW_NOT_FOUND", "Flight not found: " + flightNumber));
+            }
+            logger.error("Error {} for flight {}: {}", action, flightNumber, cause.getMessage(), cause);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("SIGNAL_ERROR", cause.getMessage()));
+        });
+    }
+
     private String buildWorkflowId(String flightNumber, String flightDate) {
         // If no date provided, use today's date
         String date = (flightDate != null) ? flightDate : java.time.LocalDate.now().toString();
@@ -13,6 +13,8 @@ public class ActiveFlightDTO {
     private int delay;
     private Instant startTime;
     private Duration elapsedTime;
+    private String departureStation;
+    private String arrivalStation;
 
     public ActiveFlightDTO() {
     }
@@ -83,4 +85,20 @@ public class ActiveFlightDTO {
     public void setElapsedTime(Duration elapsedTime) {
         this.elapsedTime = elapsedTime;
     }
+
+    public String getDepartureStation() {
+        return departureStation;
+    }
+
+    public void setDepartureStation(String departureStation) {
+        this.departureStation = departureStation;
+    }
+
+    public String getArrivalStation() {
+        return arrivalStation;
+    }
+
+    public void setArrivalStation(String arrivalStation) {
+        this.arrivalStation = arrivalStation;
+    }
 }
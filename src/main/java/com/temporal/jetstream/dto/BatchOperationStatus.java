@@ -0,0 +1,104 @@
+package com.temporal.jetstream.dto;
+
+import java.time.Instant;
+
+/**
+ * Progress of a server-side Temporal batch operation, as reported by DescribeBatchOperation.
+ */
+public class BatchOperationStatus {
+
+    private String jobId;
+    private String operationType;
+    private String state;
+    private String reason;
+    private String visibilityQuery;
+    private Instant startTime;
+    private Instant closeTime;
+    private long totalOperations;
+    private long completedOperations;
+    private long failedOperations;
+
+    public BatchOperationStatus() {
+    }
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getOperationType() {
+        return operationType;
+    }
+
+    public void setOperationType(String operationType) {
+        this.operationType = operationType;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public String getVisibilityQuery() {
+        return visibilityQuery;
+    }
+
+    public void setVisibilityQuery(String visibilityQuery) {
+        this.visibilityQuery = visibilityQuery;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public Instant getCloseTime() {
+        return closeTime;
+    }
+
+    public void setCloseTime(Instant closeTime) {
+        this.closeTime = closeTime;
+    }
+
+    public long getTotalOperations() {
+        return totalOperations;
+    }
+
+    public void setTotalOperations(long totalOperations) {
+        this.totalOperations = totalOperations;
+    }
+
+    public long getCompletedOperations() {
+        return completedOperations;
+    }
+
+    public void setCompletedOperations(long completedOperations) {
+        this.completedOperations = completedOperations;
+    }
+
+    public long getFailedOperations() {
+        return failedOperations;
+    }
+
+    public void setFailedOperations(long failedOperations) {
+        this.failedOperations = failedOperations;
+    }
+}
@@ -0,0 +1,71 @@
+package com.temporal.jetstream.dto;
+
+/**
+ * One NDJSON progress line of a bulk signal: the outcome for one flight plus running totals.
+ */
+public class BulkSignalProgress {
+
+    public enum Status {
+        SIGNALED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    private String workflowId;
+    private Status status;
+    private String message;
+    private int completed;
+    private int total;
+
+    public BulkSignalProgress() {
+    }
+
+    public BulkSignalProgress(String workflowId, Status status, String message, int completed, int total) {
+        this.workflowId = workflowId;
+        this.status = status;
+        this.message = message;
+        this.completed = completed;
+        this.total = total;
+    }
+
+    // Getters and Setters
+    public String getWorkflowId() {
+        return workflowId;
+    }
+
+    public void setWorkflowId(String workflowId) {
+        this.workflowId = workflowId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(int completed) {
+        this.completed = completed;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,102 @@
+package com.temporal.jetstream.dto;
+
+import com.temporal.jetstream.model.FlightState;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request to apply the same delay, gate change or cancellation to many flights.
+ * Exactly one selector must be set: flightNumbers, departureStation or state.
+ */
+public class BulkSignalRequest {
+
+    public enum Operation {
+        DELAY,
+        GATE,
+        CANCEL
+    }
+
+    @NotNull(message = "Operation is required")
+    private Operation operation;
+
+    // Selectors
+    private List<String> flightNumbers;
+    private LocalDate flightDate;
+    private String departureStation;
+    private FlightState state;
+
+    // Operation arguments
+    private Integer minutes;
+    private String newGate;
+    private String reason;
+
+    public BulkSignalRequest() {
+    }
+
+    // Getters and Setters
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public List<String> getFlightNumbers() {
+        return flightNumbers;
+    }
+
+    public void setFlightNumbers(List<String> flightNumbers) {
+        this.flightNumbers = flightNumbers;
+    }
+
+    public LocalDate getFlightDate() {
+        return flightDate;
+    }
+
+    public void setFlightDate(LocalDate flightDate) {
+        this.flightDate = flightDate;
+    }
+
+    public String getDepartureStation() {
+        return departureStation;
+    }
+
+    public void setDepartureStation(String departureStation) {
+        this.departureStation = departureStation;
+    }
+
+    public FlightState getState() {
+        return state;
+    }
+
+    public void setState(FlightState state) {
+        this.state = state;
+    }
+
+    public Integer getMinutes() {
+        return minutes;
+    }
+
+    public void setMinutes(Integer minutes) {
+        this.minutes = minutes;
+    }
+
+    public String getNewGate() {
+        return newGate;
+    }
+
+    public void setNewGate(String newGate) {
+        this.newGate = newGate;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
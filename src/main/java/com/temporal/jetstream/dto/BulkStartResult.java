@@ -0,0 +1,72 @@
+package com.temporal.jetstream.dto;
+
+/**
+ * Outcome of starting one flight from a bulk start request, streamed back as one NDJSON line.
+ */
+public class BulkStartResult {
+
+    public enum Status {
+        STARTED,
+        ALREADY_STARTED,
+        INVALID,
+        FAILED
+    }
+
+    private int index;
+    private String flightNumber;
+    private String workflowId;
+    private Status status;
+    private String message;
+
+    public BulkStartResult() {
+    }
+
+    public BulkStartResult(int index, String flightNumber, String workflowId, Status status, String message) {
+        this.index = index;
+        this.flightNumber = flightNumber;
+        this.workflowId = workflowId;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public String getWorkflowId() {
+        return workflowId;
+    }
+
+    public void setWorkflowId(String workflowId) {
+        this.workflowId = workflowId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
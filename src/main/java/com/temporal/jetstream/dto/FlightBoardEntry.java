@@ -0,0 +1,111 @@
+package com.temporal.jetstream.dto;
+
+import com.temporal.jetstream.model.FlightState;
+
+import java.time.LocalDate;
+
+/**
+ * One flight on the live board, as sent in snapshots.
+ * seq is the sequence of the last status event applied to it (-1 when the entry was loaded
+ * from the running workflows rather than built from events).
+ */
+public class FlightBoardEntry {
+
+    private String flightNumber;
+    private LocalDate flightDate;
+    private String departureStation;
+    private String arrivalStation;
+    private FlightState currentState;
+    private String gate;
+    private int delay;
+    private long startedAt;
+    private int seq;
+
+    public FlightBoardEntry() {
+    }
+
+    public FlightBoardEntry(FlightBoardEntry other) {
+        this.flightNumber = other.flightNumber;
+        this.flightDate = other.flightDate;
+        this.departureStation = other.departureStation;
+        this.arrivalStation = other.arrivalStation;
+        this.currentState = other.currentState;
+        this.gate = other.gate;
+        this.delay = other.delay;
+        this.startedAt = other.startedAt;
+        this.seq = other.seq;
+    }
+
+    // Getters and Setters
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public LocalDate getFlightDate() {
+        return flightDate;
+    }
+
+    public void setFlightDate(LocalDate flightDate) {
+        this.flightDate = flightDate;
+    }
+
+    public String getDepartureStation() {
+        return departureStation;
+    }
+
+    public void setDepartureStation(String departureStation) {
+        this.departureStation = departureStation;
+    }
+
+    public String getArrivalStation() {
+        return arrivalStation;
+    }
+
+    public void setArrivalStation(String arrivalStation) {
+        this.arrivalStation = arrivalStation;
+    }
+
+    public FlightState getCurrentState() {
+        return currentState;
+    }
+
+    public void setCurrentState(FlightState currentState) {
+        this.currentState = currentState;
+    }
+
+    public String getGate() {
+        return gate;
+    }
+
+    public void setGate(String gate) {
+        this.gate = gate;
+    }
+
+    public int getDelay() {
+        return delay;
+    }
+
+    public void setDelay(int delay) {
+        this.delay = delay;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public int getSeq() {
+        return seq;
+    }
+
+    public void setSeq(int seq) {
+        this.seq = seq;
+    }
+}
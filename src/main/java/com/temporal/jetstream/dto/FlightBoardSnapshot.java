@@ -0,0 +1,38 @@
+package com.temporal.jetstream.dto;
+
+import java.util.List;
+
+/**
+ * Flights on the live board at the time a client subscribed.
+ * Deltas received afterwards apply on top of each entry's seq.
+ */
+public class FlightBoardSnapshot {
+
+    private List<FlightBoardEntry> flights;
+    private long generatedAt;
+
+    public FlightBoardSnapshot() {
+    }
+
+    public FlightBoardSnapshot(List<FlightBoardEntry> flights) {
+        this.flights = flights;
+        this.generatedAt = System.currentTimeMillis();
+    }
+
+    // Getters and Setters
+    public List<FlightBoardEntry> getFlights() {
+        return flights;
+    }
+
+    public void setFlights(List<FlightBoardEntry> flights) {
+        this.flights = flights;
+    }
+
+    public long getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(long generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+}
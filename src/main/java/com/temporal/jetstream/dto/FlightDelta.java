@@ -0,0 +1,135 @@
+package com.temporal.jetstream.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.temporal.jetstream.model.FlightState;
+
+import java.time.LocalDate;
+
+/**
+ * Field-level change to one flight on the live board. Only changed fields are set and
+ * serialized; a delta without prevSeq introduces a flight and carries every field.
+ *
+ * A client applies the delta only if its copy of the flight is at prevSeq. Any other value
+ * means it missed an update, and it should resync the flight from a snapshot.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FlightDelta {
+
+    private String flightNumber;
+    private Integer seq;
+    private Integer prevSeq;
+    private LocalDate flightDate;
+    private String departureStation;
+    private String arrivalStation;
+    private FlightState currentState;
+    private String gate;
+    private Integer delay;
+    private Long startedAt;
+
+    // Not serialized: stations the delta is routed to, even when they did not change
+    private String routeDeparture;
+    private String routeArrival;
+
+    public FlightDelta() {
+    }
+
+    // Getters and Setters
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public Integer getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Integer seq) {
+        this.seq = seq;
+    }
+
+    public Integer getPrevSeq() {
+        return prevSeq;
+    }
+
+    public void setPrevSeq(Integer prevSeq) {
+        this.prevSeq = prevSeq;
+    }
+
+    public LocalDate getFlightDate() {
+        return flightDate;
+    }
+
+    public void setFlightDate(LocalDate flightDate) {
+        this.flightDate = flightDate;
+    }
+
+    public String getDepartureStation() {
+        return departureStation;
+    }
+
+    public void setDepartureStation(String departureStation) {
+        this.departureStation = departureStation;
+    }
+
+    public String getArrivalStation() {
+        return arrivalStation;
+    }
+
+    public void setArrivalStation(String arrivalStation) {
+        this.arrivalStation = arrivalStation;
+    }
+
+    public FlightState getCurrentState() {
+        return currentState;
+    }
+
+    public void setCurrentState(FlightState currentState) {
+        this.currentState = currentState;
+    }
+
+    public String getGate() {
+        return gate;
+    }
+
+    public void setGate(String gate) {
+        this.gate = gate;
+    }
+
+    public Integer getDelay() {
+        return delay;
+    }
+
+    public void setDelay(Integer delay) {
+        this.delay = delay;
+    }
+
+    public Long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    @JsonIgnore
+    public String getRouteDeparture() {
+        return routeDeparture;
+    }
+
+    public void setRouteDeparture(String routeDeparture) {
+        this.routeDeparture = routeDeparture;
+    }
+
+    @JsonIgnore
+    public String getRouteArrival() {
+        return routeArrival;
+    }
+
+    public void setRouteArrival(String routeArrival) {
+        this.routeArrival = routeArrival;
+    }
+}
@@ -0,0 +1,100 @@
+package com.temporal.jetstream.dto;
+
+/**
+ * On-time performance figures for one group of flights (a station, an aircraft, or all flights).
+ */
+public class OnTimePerformance {
+    private String key;
+    private long flights;
+    private long onTimeFlights;
+    private long cancelledFlights;
+    private double onTimePercentage;
+    private double cancellationRate;
+    private double averageDelayMinutes;
+
+    public OnTimePerformance() {
+    }
+
+    public OnTimePerformance(String key, long flights, long onTimeFlights, long cancelledFlights,
+                             long totalDelayMinutes) {
+        this.key = key;
+        this.flights = flights;
+        this.onTimeFlights = onTimeFlights;
+        this.cancelledFlights = cancelledFlights;
+        long operatedFlights = flights - cancelledFlights;
+        this.onTimePercentage = flights > 0 ? round(100.0 * onTimeFlights / flights) : 0;
+        this.cancellationRate = flights > 0 ? round(100.0 * cancelledFlights / flights) : 0;
+        this.averageDelayMinutes = operatedFlights > 0 ? round((double) totalDelayMinutes / operatedFlights) : 0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getFlights() {
+        return flights;
+    }
+
+    public void setFlights(long flights) {
+        this.flights = flights;
+    }
+
+    public long getOnTimeFlights() {
+        return onTimeFlights;
+    }
+
+    public void setOnTimeFlights(long onTimeFlights) {
+        this.onTimeFlights = onTimeFlights;
+    }
+
+    public long getCancelledFlights() {
+        return cancelledFlights;
+    }
+
+    public void setCancelledFlights(long cancelledFlights) {
+        this.cancelledFlights = cancelledFlights;
+    }
+
+    public double getOnTimePercentage() {
+        return onTimePercentage;
+    }
+
+    public void setOnTimePercentage(double onTimePercentage) {
+        this.onTimePercentage = onTimePercentage;
+    }
+
+    public double getCancellationRate() {
+        return cancellationRate;
+    }
+
+    public void setCancellationRate(double cancellationRate) {
+        this.cancellationRate = cancellationRate;
+    }
+
+    public double getAverageDelayMinutes() {
+        return averageDelayMinutes;
+    }
+
+    public void setAverageDelayMinutes(double averageDelayMinutes) {
+        this.averageDelayMinutes = averageDelayMinutes;
+    }
+
+    @Override
+    public String toString() {
+        return "OnTimePerformance{" +
+                "key='" + key + '\'' +
+                ", flights=" + flights +
+                ", onTimePercentage=" + onTimePercentage +
+                ", cancellationRate=" + cancellationRate +
+                ", averageDelayMinutes=" + averageDelayMinutes +
+                '}';
+    }
+}
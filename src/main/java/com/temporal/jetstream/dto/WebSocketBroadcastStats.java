@@ -0,0 +1,120 @@
+package com.temporal.jetstream.dto;
+
+/**
+ * Queue depths and counters for WebSocket delivery on this node.
+ */
+public class WebSocketBroadcastStats {
+
+    private long frameIntervalMs;
+    private int pendingFlights;
+    private long submittedDeltas;
+    private long coalescedDeltas;
+    private long sentDeltas;
+    private int outboundQueueDepth;
+    private int outboundActiveThreads;
+    private long outboundCallerRuns;
+    private int webSocketSessions;
+    private int totalSessions;
+    private int sendLimitExceededSessions;
+    private int transportErrorSessions;
+
+    public WebSocketBroadcastStats() {
+    }
+
+    // Getters and Setters
+    public long getFrameIntervalMs() {
+        return frameIntervalMs;
+    }
+
+    public void setFrameIntervalMs(long frameIntervalMs) {
+        this.frameIntervalMs = frameIntervalMs;
+    }
+
+    public int getPendingFlights() {
+        return pendingFlights;
+    }
+
+    public void setPendingFlights(int pendingFlights) {
+        this.pendingFlights = pendingFlights;
+    }
+
+    public long getSubmittedDeltas() {
+        return submittedDeltas;
+    }
+
+    public void setSubmittedDeltas(long submittedDeltas) {
+        this.submittedDeltas = submittedDeltas;
+    }
+
+    public long getCoalescedDeltas() {
+        return coalescedDeltas;
+    }
+
+    public void setCoalescedDeltas(long coalescedDeltas) {
+        this.coalescedDeltas = coalescedDeltas;
+    }
+
+    public long getSentDeltas() {
+        return sentDeltas;
+    }
+
+    public void setSentDeltas(long sentDeltas) {
+        this.sentDeltas = sentDeltas;
+    }
+
+    public int getOutboundQueueDepth() {
+        return outboundQueueDepth;
+    }
+
+    public void setOutboundQueueDepth(int outboundQueueDepth) {
+        this.outboundQueueDepth = outboundQueueDepth;
+    }
+
+    public int getOutboundActiveThreads() {
+        return outboundActiveThreads;
+    }
+
+    public void setOutboundActiveThreads(int outboundActiveThreads) {
+        this.outboundActiveThreads = outboundActiveThreads;
+    }
+
+    public long getOutboundCallerRuns() {
+        return outboundCallerRuns;
+    }
+
+    public void setOutboundCallerRuns(long outboundCallerRuns) {
+        this.outboundCallerRuns = outboundCallerRuns;
+    }
+
+    public int getWebSocketSessions() {
+        return webSocketSessions;
+    }
+
+    public void setWebSocketSessions(int webSocketSessions) {
+        this.webSocketSessions = webSocketSessions;
+    }
+
+    public int getTotalSessions() {
+        return totalSessions;
+    }
+
+    public void setTotalSessions(int totalSessions) {
+        this.totalSessions = totalSessions;
+    }
+
+    public int getSendLimitExceededSessions() {
+        return sendLimitExceededSessions;
+    }
+
+    public void setSendLimitExceededSessions(int sendLimitExceededSessions) {
+        this.sendLimitExceededSessions = sendLimitExceededSessions;
+    }
+
+    public int getTransportErrorSessions() {
+        return transportErrorSessions;
+    }
+
+    public void setTransportErrorSessions(int transportErrorSessions) {
+        this.transportErrorSessions = transportErrorSessions;
+    }
+}
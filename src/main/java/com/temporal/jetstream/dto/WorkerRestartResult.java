@@ -0,0 +1,80 @@
+package com.temporal.jetstream.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of POST /api/admin/restart-worker.
+ */
+public class WorkerRestartResult {
+
+    private String status;
+    private String message;
+    // Whether every in-flight task finished before the drain timeout
+    private boolean drained;
+    private long drainMillis;
+    private long totalMillis;
+    private List<String> taskQueues;
+
+    public WorkerRestartResult() {
+    }
+
+    public WorkerRestartResult(boolean drained, long drainMillis, long totalMillis, List<String> taskQueues) {
+        this.status = "SUCCESS";
+        this.drained = drained;
+        this.drainMillis = drainMillis;
+        this.totalMillis = totalMillis;
+        this.taskQueues = taskQueues;
+        this.message = String.format("Worker restarted in %d ms (%s in %d ms). Workflows will resume from last checkpoint.",
+                totalMillis, drained ? "in-flight tasks drained" : "drain timed out, remaining tasks interrupted",
+                drainMillis);
+    }
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public boolean isDrained() {
+        return drained;
+    }
+
+    public void setDrained(boolean drained) {
+        this.drained = drained;
+    }
+
+    public long getDrainMillis() {
+        return drainMillis;
+    }
+
+    public void setDrainMillis(long drainMillis) {
+        this.drainMillis = drainMillis;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public List<String> getTaskQueues() {
+        return taskQueues;
+    }
+
+    public void setTaskQueues(List<String> taskQueues) {
+        this.taskQueues = taskQueues;
+    }
+}
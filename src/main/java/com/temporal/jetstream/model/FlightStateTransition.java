@@ -1,9 +1,12 @@
 package com.temporal.jetstream.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -12,15 +15,26 @@ import java.time.LocalDateTime;
  * Provides business state history separate from Temporal's workflow execution history.
  */
 @Document(collection = "flight_state_transitions")
+@CompoundIndexes({
+        // Serves single-flight history (equality on flightNumber + flightDate, sorted by timestamp then _id,
+        // the keyset cursor's tie-breaker). toState is a trailing key so state timelines can be answered
+        // from the index alone.
+        @CompoundIndex(name = "flight_date_timestamp_id_idx",
+                def = "{'flightNumber': 1, 'flightDate': 1, 'timestamp': -1, '_id': -1, 'toState': 1}"),
+        // Serves cross-date history for a flight number, sorted by timestamp then _id
+        @CompoundIndex(name = "flight_timestamp_id_idx",
+                def = "{'flightNumber': 1, 'timestamp': -1, '_id': -1}"),
+        // Serves the date-range $match that starts every analytics pipeline
+        @CompoundIndex(name = "analytics_date_station_idx",
+                def = "{'flightDate': 1, 'departureStation': 1}")
+})
 public class FlightStateTransition {
 
     @Id
     private String id;
 
-    @Indexed
     private String flightNumber;
 
-    @Indexed
     private LocalDate flightDate;
 
     private FlightState fromState;
@@ -36,10 +50,18 @@ public class FlightStateTransition {
 
     private String aircraft;
 
+    private String departureStation;
+
+    private String arrivalStation;
+
     private String eventType;
 
     private String eventDetails;
 
+    // TTL: MongoDB removes the document once this instant has passed (null = keep forever)
+    @Indexed(name = "expire_at_ttl_idx", expireAfter = "0s")
+    private Instant expireAt;
+
     public FlightStateTransition() {
     }
 
@@ -58,6 +80,19 @@ public class FlightStateTransition {
         this.eventDetails = eventDetails;
     }
 
+    /**
+     * Builds the deterministic document ID for a transition recorded by a workflow run.
+     * A retried persistence activity carries the same ID, so the write can be made insert-if-absent.
+     *
+     * @param workflowId the workflow ID
+     * @param runId the workflow run ID
+     * @param sequence the transition sequence number within the run
+     * @return the document ID
+     */
+    public static String buildId(String workflowId, String runId, int sequence) {
+        return workflowId + ":" + runId + ":" + sequence;
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
@@ -131,6 +166,22 @@ public class FlightStateTransition {
         this.aircraft = aircraft;
     }
 
+    public String getDepartureStation() {
+        return departureStation;
+    }
+
+    public void setDepartureStation(String departureStation) {
+        this.departureStation = departureStation;
+    }
+
+    public String getArrivalStation() {
+        return arrivalStation;
+    }
+
+    public void setArrivalStation(String arrivalStation) {
+        this.arrivalStation = arrivalStation;
+    }
+
     public String getEventType() {
         return eventType;
     }
@@ -147,6 +198,14 @@ public class FlightStateTransition {
         this.eventDetails = eventDetails;
     }
 
+    public Instant getExpireAt() {
+        return expireAt;
+    }
+
+    public void setExpireAt(Instant expireAt) {
+        this.expireAt = expireAt;
+    }
+
     @Override
     public String toString() {
         return "FlightStateTransition{" +
@@ -159,6 +218,8 @@ public class FlightStateTransition {
                 ", gate='" + gate + '\'' +
                 ", delay=" + delay +
                 ", aircraft='" + aircraft + '\'' +
+                ", departureStation='" + departureStation + '\'' +
+                ", arrivalStation='" + arrivalStation + '\'' +
                 ", eventType='" + eventType + '\'' +
                 ", eventDetails='" + eventDetails + '\'' +
                 '}';
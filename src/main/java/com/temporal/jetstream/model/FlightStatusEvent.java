@@ -0,0 +1,163 @@
+package com.temporal.jetstream.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A flight status change published by the flight workflow to the 'flight-state-changes' topic.
+ * The workflow is the only publisher, so each change is published once. The eventId is
+ * derived from the workflow run and the sequence, so an activity retry republishes the same ID
+ * and consumers can drop duplicates. The sequence gives the order of events within one run.
+ */
+public class FlightStatusEvent {
+
+    public enum EventType {
+        STATE_CHANGED,   // The flight moved to a new state (newState differs from previousState)
+        SIGNAL_APPLIED   // A delay or gate change altered the flight without a state change
+    }
+
+    private String eventId;
+    private int sequence;
+    private EventType eventType;
+    private String signalName;
+    private String flightNumber;
+    private LocalDate flightDate;
+    private String departureStation;
+    private String arrivalStation;
+    private FlightState previousState;
+    private FlightState newState;
+    private String gate;
+    private int delay;
+    private String message;
+    private LocalDateTime timestamp;
+
+    public FlightStatusEvent() {
+    }
+
+    // Getters and Setters
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(int sequence) {
+        this.sequence = sequence;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getSignalName() {
+        return signalName;
+    }
+
+    public void setSignalName(String signalName) {
+        this.signalName = signalName;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public LocalDate getFlightDate() {
+        return flightDate;
+    }
+
+    public void setFlightDate(LocalDate flightDate) {
+        this.flightDate = flightDate;
+    }
+
+    public String getDepartureStation() {
+        return departureStation;
+    }
+
+    public void setDepartureStation(String departureStation) {
+        this.departureStation = departureStation;
+    }
+
+    public String getArrivalStation() {
+        return arrivalStation;
+    }
+
+    public void setArrivalStation(String arrivalStation) {
+        this.arrivalStation = arrivalStation;
+    }
+
+    public FlightState getPreviousState() {
+        return previousState;
+    }
+
+    public void setPreviousState(FlightState previousState) {
+        this.previousState = previousState;
+    }
+
+    public FlightState getNewState() {
+        return newState;
+    }
+
+    public void setNewState(FlightState newState) {
+        this.newState = newState;
+    }
+
+    public String getGate() {
+        return gate;
+    }
+
+    public void setGate(String gate) {
+        this.gate = gate;
+    }
+
+    public int getDelay() {
+        return delay;
+    }
+
+    public void setDelay(int delay) {
+        this.delay = delay;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "FlightStatusEvent{" +
+                "eventId='" + eventId + '\'' +
+                ", sequence=" + sequence +
+                ", eventType=" + eventType +
+                ", flightNumber='" + flightNumber + '\'' +
+                ", previousState=" + previousState +
+                ", newState=" + newState +
+                ", gate='" + gate + '\'' +
+                ", delay=" + delay +
+                '}';
+    }
+}
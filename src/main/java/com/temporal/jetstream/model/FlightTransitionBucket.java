@@ -0,0 +1,139 @@
+package com.temporal.jetstream.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bucketed storage for flight state transitions: one document per flight number and flight date,
+ * with every transition of that flight embedded in an array.
+ * Compared to one document per transition this keeps a single index entry per flight-date and
+ * turns a single-flight history read into one document lookup.
+ */
+@Document(collection = "flight_transition_buckets")
+@CompoundIndexes({
+        @CompoundIndex(name = "flight_date_idx", def = "{'flightNumber': 1, 'flightDate': -1}"),
+        // Serves the date-range $match that starts every analytics pipeline
+        @CompoundIndex(name = "analytics_date_idx", def = "{'flightDate': 1}")
+})
+public class FlightTransitionBucket {
+
+    @Id
+    private String id;
+
+    private String flightNumber;
+
+    private LocalDate flightDate;
+
+    private List<FlightTransitionEntry> transitions = new ArrayList<>();
+
+    private int transitionCount;
+
+    private LocalDateTime firstTimestamp;
+
+    private LocalDateTime lastTimestamp;
+
+    // TTL: MongoDB removes the whole bucket once this instant has passed (null = keep forever)
+    @Indexed(name = "expire_at_ttl_idx", expireAfter = "0s")
+    private Instant expireAt;
+
+    public FlightTransitionBucket() {
+    }
+
+    /**
+     * Builds the bucket ID for a flight on a given date.
+     *
+     * @param flightNumber the flight number
+     * @param flightDate the flight date
+     * @return the bucket document ID
+     */
+    public static String buildId(String flightNumber, LocalDate flightDate) {
+        return flightNumber + ":" + flightDate;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public LocalDate getFlightDate() {
+        return flightDate;
+    }
+
+    public void setFlightDate(LocalDate flightDate) {
+        this.flightDate = flightDate;
+    }
+
+    public List<FlightTransitionEntry> getTransitions() {
+        return transitions;
+    }
+
+    public void setTransitions(List<FlightTransitionEntry> transitions) {
+        this.transitions = transitions;
+    }
+
+    public int getTransitionCount() {
+        return transitionCount;
+    }
+
+    public void setTransitionCount(int transitionCount) {
+        this.transitionCount = transitionCount;
+    }
+
+    public LocalDateTime getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    public void setFirstTimestamp(LocalDateTime firstTimestamp) {
+        this.firstTimestamp = firstTimestamp;
+    }
+
+    public LocalDateTime getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public void setLastTimestamp(LocalDateTime lastTimestamp) {
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    public Instant getExpireAt() {
+        return expireAt;
+    }
+
+    public void setExpireAt(Instant expireAt) {
+        this.expireAt = expireAt;
+    }
+
+    @Override
+    public String toString() {
+        return "FlightTransitionBucket{" +
+                "id='" + id + '\'' +
+                ", flightNumber='" + flightNumber + '\'' +
+                ", flightDate=" + flightDate +
+                ", transitionCount=" + transitionCount +
+                ", firstTimestamp=" + firstTimestamp +
+                ", lastTimestamp=" + lastTimestamp +
+                ", expireAt=" + expireAt +
+                '}';
+    }
+}
@@ -0,0 +1,178 @@
+package com.temporal.jetstream.model;
+
+import org.springframework.data.annotation.Id;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A state transition embedded in a FlightTransitionBucket.
+ * Carries the same fields as FlightStateTransition but none of its index or TTL annotations:
+ * embedded in an array those would become multikey indexes on transitions.*, and a TTL on an
+ * array element would expire the whole bucket. The bucket has its own expireAt.
+ */
+public class FlightTransitionEntry {
+
+    // Stored as transitions._id, matched when de-duplicating retried appends
+    @Id
+    private String id;
+
+    private String flightNumber;
+
+    private LocalDate flightDate;
+
+    private FlightState fromState;
+
+    private FlightState toState;
+
+    private LocalDateTime timestamp;
+
+    private String gate;
+
+    private int delay;
+
+    private String aircraft;
+
+    private String departureStation;
+
+    private String arrivalStation;
+
+    private String eventType;
+
+    private String eventDetails;
+
+    public FlightTransitionEntry() {
+    }
+
+    public static FlightTransitionEntry from(FlightStateTransition transition) {
+        FlightTransitionEntry entry = new FlightTransitionEntry();
+        entry.id = transition.getId();
+        entry.flightNumber = transition.getFlightNumber();
+        entry.flightDate = transition.getFlightDate();
+        entry.fromState = transition.getFromState();
+        entry.toState = transition.getToState();
+        entry.timestamp = transition.getTimestamp();
+        entry.gate = transition.getGate();
+        entry.delay = transition.getDelay();
+        entry.aircraft = transition.getAircraft();
+        entry.departureStation = transition.getDepartureStation();
+        entry.arrivalStation = transition.getArrivalStation();
+        entry.eventType = transition.getEventType();
+        entry.eventDetails = transition.getEventDetails();
+        return entry;
+    }
+
+    public FlightStateTransition toTransition() {
+        FlightStateTransition transition = new FlightStateTransition(flightNumber, flightDate, fromState, toState,
+                timestamp, gate, delay, aircraft, eventType, eventDetails);
+        transition.setId(id);
+        transition.setDepartureStation(departureStation);
+        transition.setArrivalStation(arrivalStation);
+        return transition;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public LocalDate getFlightDate() {
+        return flightDate;
+    }
+
+    public void setFlightDate(LocalDate flightDate) {
+        this.flightDate = flightDate;
+    }
+
+    public FlightState getFromState() {
+        return fromState;
+    }
+
+    public void setFromState(FlightState fromState) {
+        this.fromState = fromState;
+    }
+
+    public FlightState getToState() {
+        return toState;
+    }
+
+    public void setToState(FlightState toState) {
+        this.toState = toState;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getGate() {
+        return gate;
+    }
+
+    public void setGate(String gate) {
+        this.gate = gate;
+    }
+
+    public int getDelay() {
+        return delay;
+    }
+
+    public void setDelay(int delay) {
+        this.delay = delay;
+    }
+
+    public String getAircraft() {
+        return aircraft;
+    }
+
+    public void setAircraft(String aircraft) {
+        this.aircraft = aircraft;
+    }
+
+    public String getDepartureStation() {
+        return departureStation;
+    }
+
+    public void setDepartureStation(String departureStation) {
+        this.departureStation = departureStation;
+    }
+
+    public String getArrivalStation() {
+        return arrivalStation;
+    }
+
+    public void setArrivalStation(String arrivalStation) {
+        this.arrivalStation = arrivalStation;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getEventDetails() {
+        return eventDetails;
+    }
+
+    public void setEventDetails(String eventDetails) {
+        this.eventDetails = eventDetails;
+    }
+}
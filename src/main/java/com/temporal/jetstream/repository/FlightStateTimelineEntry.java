@@ -0,0 +1,17 @@
+package com.temporal.jetstream.repository;
+
+import com.temporal.jetstream.model.FlightState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a flight state transition containing only the fields needed to draw a state timeline.
+ * Both fields are keys of the flight_date_timestamp_id_idx index, so queries returning this
+ * projection are covered by the index and never fetch the full documents.
+ */
+public interface FlightStateTimelineEntry {
+
+    LocalDateTime getTimestamp();
+
+    FlightState getToState();
+}
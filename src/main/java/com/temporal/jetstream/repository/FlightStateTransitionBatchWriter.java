@@ -0,0 +1,249 @@
+package com.temporal.jetstream.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.temporal.jetstream.model.FlightStateTransition;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers flight state transitions from many concurrent activity executions and writes them
+ * to MongoDB as unordered bulk writes: insertMany in DOCUMENT storage mode, or bucket upserts
+ * in BUCKET storage mode.
+ *
+ * A batch is flushed as soon as it reaches the configured max size, or once the first queued
+ * transition has waited for the configured max linger. Each caller receives a future that only
+ * completes after the bulk write containing its document has been acknowledged by MongoDB,
+ * so an activity never reports success for a transition that was not written.
+ *
+ * Inserts are insert-if-absent: a duplicate key error means an earlier attempt of the same
+ * activity already wrote the document, so that entry is reported as written.
+ */
+@Component
+public class FlightStateTransitionBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightStateTransitionBatchWriter.class);
+
+    private final FlightStateTransitionRepository transitionRepository;
+    private final FlightTransitionBucketRepository bucketRepository;
+    private final TransitionStorageMode storageMode;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final BlockingQueue<PendingWrite> queue;
+
+    // Guards running together with the enqueue in submit, so nothing is queued once stop() has
+    // told the flusher to drain and exit
+    private final ReentrantLock stateLock = new ReentrantLock();
+    private volatile boolean running = false;
+    private Thread flusherThread;
+
+    @Autowired
+    public FlightStateTransitionBatchWriter(
+            FlightStateTransitionRepository transitionRepository,
+            FlightTransitionBucketRepository bucketRepository,
+            @Value("${persistence.storage-mode:DOCUMENT}") TransitionStorageMode storageMode,
+            @Value("${persistence.batch.enabled:true}") boolean enabled,
+            @Value("${persistence.batch.max-size:100}") int maxBatchSize,
+            @Value("${persistence.batch.max-linger-ms:20}") long maxLingerMs,
+            @Value("${persistence.batch.queue-capacity:10000}") int queueCapacity) {
+        this.transitionRepository = transitionRepository;
+        this.bucketRepository = bucketRepository;
+        this.storageMode = storageMode;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = TimeUnit.MILLISECONDS.toNanos(maxLingerMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Batched transition writes disabled; transitions are saved one at a time");
+            return;
+        }
+        running = true;
+        flusherThread = new Thread(this::runFlushLoop, "transition-batch-writer");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+        logger.info("Started transition batch writer (mode={}, maxBatchSize={}, maxLinger={}ms)",
+                storageMode, maxBatchSize, TimeUnit.NANOSECONDS.toMillis(maxLingerNanos));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusherThread == null) {
+            return;
+        }
+        // Let the flusher drain whatever is still queued before exiting
+        stateLock.lock();
+        try {
+            running = false;
+        } finally {
+            stateLock.unlock();
+        }
+        flusherThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Whatever the flusher did not get to in time is failed, so the activities retry it
+        List<PendingWrite> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.future().completeExceptionally(
+                new IllegalStateException("Transition batch writer stopped before the write")));
+        logger.info("Transition batch writer stopped");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a transition for the next bulk insert.
+     *
+     * @param transition the transition to persist
+     * @return a future completed once the transition is written, or completed exceptionally
+     *         if the write failed or the buffer is full
+     */
+    public CompletableFuture<FlightStateTransition> submit(FlightStateTransition transition) {
+        CompletableFuture<FlightStateTransition> future = new CompletableFuture<>();
+        if (transition.getId() == null) {
+            // Assign the ID client-side so callers can log it after a bulk insert
+            transition.setId(new ObjectId().toHexString());
+        }
+        stateLock.lock();
+        try {
+            if (!running) {
+                future.completeExceptionally(new IllegalStateException("Transition batch writer is not running"));
+            } else if (!queue.offer(new PendingWrite(transition, future))) {
+                future.completeExceptionally(new IllegalStateException(
+                        "Transition write buffer is full (" + queue.size() + " pending)"));
+            }
+        } finally {
+            stateLock.unlock();
+        }
+        return future;
+    }
+
+    private void runFlushLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Linger for more transitions, up to the max batch size
+                long deadline = System.nanoTime() + maxLingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.future().completeExceptionally(e));
+                return;
+            } catch (Exception e) {
+                logger.error("Unexpected error in transition batch writer: {}", e.getMessage(), e);
+                batch.forEach(pending -> pending.future().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<FlightStateTransition> documents = batch.stream().map(PendingWrite::transition).toList();
+        try {
+            if (storageMode == TransitionStorageMode.BUCKET) {
+                bucketRepository.appendAll(documents);
+            } else {
+                transitionRepository.insertAll(documents);
+            }
+            batch.forEach(pending -> pending.future().complete(pending.transition()));
+            logger.debug("Bulk inserted {} state transitions", batch.size());
+
+        } catch (BulkOperationException e) {
+            // Unordered inserts keep going past failures, so only fail the affected entries.
+            // Duplicate keys are normally retries of transitions that are already stored.
+            Map<Integer, BulkWriteError> errorsByIndex = new HashMap<>();
+            int duplicates = 0;
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != FlightStateTransitionRepositoryImpl.DUPLICATE_KEY_ERROR) {
+                    errorsByIndex.put(error.getIndex(), error);
+                } else if (storageMode == TransitionStorageMode.BUCKET
+                        && !isAlreadyStored(batch.get(error.getIndex()).transition())) {
+                    errorsByIndex.put(error.getIndex(), error);
+                } else {
+                    duplicates++;
+                }
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                PendingWrite pending = batch.get(i);
+                BulkWriteError error = errorsByIndex.get(i);
+                if (error == null) {
+                    pending.future().complete(pending.transition());
+                } else {
+                    pending.future().completeExceptionally(new IllegalStateException(
+                            "Bulk insert failed for transition " + pending.transition().getId()
+                                    + ": " + error.getMessage()));
+                }
+            }
+            if (duplicates > 0) {
+                logger.info("Skipped {} already persisted state transitions in bulk insert", duplicates);
+            }
+            if (!errorsByIndex.isEmpty()) {
+                logger.warn("Bulk insert of {} state transitions had {} failures",
+                        batch.size(), errorsByIndex.size());
+            }
+
+        } catch (Exception e) {
+            logger.error("Bulk insert of {} state transitions failed: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.future().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * In bucket mode a duplicate key may be a lost race to create the bucket rather than a retry,
+     * so re-append the single transition, which verifies the bucket contents.
+     */
+    private boolean isAlreadyStored(FlightStateTransition transition) {
+        try {
+            bucketRepository.appendIfAbsent(transition);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Retrying bucket append failed for transition {}: {}", transition.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private record PendingWrite(FlightStateTransition transition,
+                                CompletableFuture<FlightStateTransition> future) {
+    }
+}
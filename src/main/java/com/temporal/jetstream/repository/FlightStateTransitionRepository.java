@@ -2,6 +2,7 @@ package com.temporal.jetstream.repository;
 
 import com.temporal.jetstream.model.FlightStateTransition;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -12,7 +13,8 @@ import java.util.List;
  * Provides CRUD operations and custom queries for flight state transition history.
  */
 @Repository
-public interface FlightStateTransitionRepository extends MongoRepository<FlightStateTransition, String> {
+public interface FlightStateTransitionRepository extends MongoRepository<FlightStateTransition, String>,
+        FlightStateTransitionRepositoryCustom {
 
     /**
      * Find all state transitions for a specific flight, ordered by timestamp descending.
@@ -31,4 +33,17 @@ public interface FlightStateTransitionRepository extends MongoRepository<FlightS
      * @return list of state transitions sorted by timestamp (most recent first)
      */
     List<FlightStateTransition> findByFlightNumberOrderByTimestampDesc(String flightNumber);
+
+    /**
+     * Find the state timeline for a specific flight, ordered by timestamp descending.
+     * Excludes _id and projects only indexed fields so the query is covered by flight_date_timestamp_id_idx.
+     *
+     * @param flightNumber the flight number
+     * @param flightDate the flight date
+     * @return list of timeline entries sorted by timestamp (most recent first)
+     */
+    @Query(value = "{ 'flightNumber': ?0, 'flightDate': ?1 }",
+           fields = "{ '_id': 0, 'timestamp': 1, 'toState': 1 }",
+           sort = "{ 'timestamp': -1, '_id': -1 }")
+    List<FlightStateTimelineEntry> findTimelineByFlightNumberAndFlightDate(String flightNumber, LocalDate flightDate);
 }
@@ -0,0 +1,48 @@
+package com.temporal.jetstream.repository;
+
+import com.temporal.jetstream.model.FlightStateTransition;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom operations for FlightStateTransition that are not expressible as derived queries.
+ */
+public interface FlightStateTransitionRepositoryCustom {
+
+    /**
+     * Insert a transition unless a document with the same ID already exists.
+     * Used for idempotent writes when the persistence activity is retried.
+     *
+     * @param transition the state transition to insert
+     * @return true if the document was inserted, false if it was already present
+     */
+    boolean insertIfAbsent(FlightStateTransition transition);
+
+    /**
+     * Insert many transitions in one unordered bulk write (insertMany).
+     * Transitions whose ID already exists are reported as duplicate key errors
+     * in the thrown BulkOperationException; all other documents are still inserted.
+     *
+     * @param transitions the state transitions to insert
+     */
+    void insertAll(List<FlightStateTransition> transitions);
+
+    /**
+     * Stream one page of a flight's transition history, most recent first, using keyset pagination.
+     * The caller must close the returned stream to release the MongoDB cursor.
+     *
+     * @param flightNumber the flight number
+     * @param fromDate earliest flight date to include (inclusive), or null for no lower bound
+     * @param toDate latest flight date to include (inclusive), or null for no upper bound
+     * @param before timestamp of the last transition of the previous page (the page cursor), or null for the first page
+     * @param beforeId ID of that transition; transitions at the cursor timestamp with a lower ID are included.
+     *                 If null, only transitions strictly older than the cursor timestamp are returned
+     * @param limit maximum number of transitions to return
+     * @return stream of state transitions sorted by timestamp, then ID (most recent first)
+     */
+    Stream<FlightStateTransition> streamHistory(String flightNumber, LocalDate fromDate, LocalDate toDate,
+                                                LocalDateTime before, String beforeId, int limit);
+}
@@ -0,0 +1,93 @@
+package com.temporal.jetstream.repository;
+
+import com.temporal.jetstream.model.FlightStateTransition;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * MongoTemplate-backed implementation of FlightStateTransitionRepositoryCustom.
+ * Picked up by Spring Data through the "Impl" naming convention.
+ */
+public class FlightStateTransitionRepositoryImpl implements FlightStateTransitionRepositoryCustom {
+
+    /** MongoDB error code for a duplicate key on insert. */
+    static final int DUPLICATE_KEY_ERROR = 11000;
+
+    /** History order, newest first; _id breaks ties between transitions in the same millisecond. */
+    static final Sort HISTORY_ORDER = Sort.by(Sort.Direction.DESC, "timestamp", "_id");
+
+    private final MongoTemplate mongoTemplate;
+
+    public FlightStateTransitionRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean insertIfAbsent(FlightStateTransition transition) {
+        try {
+            mongoTemplate.insert(transition);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // A previous attempt already wrote this transition
+            return false;
+        }
+    }
+
+    @Override
+    public void insertAll(List<FlightStateTransition> transitions) {
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FlightStateTransition.class)
+                .insert(transitions)
+                .execute();
+    }
+
+    @Override
+    public Stream<FlightStateTransition> streamHistory(String flightNumber, LocalDate fromDate, LocalDate toDate,
+                                                       LocalDateTime before, String beforeId, int limit) {
+        Query query = new Query(Criteria.where("flightNumber").is(flightNumber));
+
+        if (fromDate != null || toDate != null) {
+            Criteria dateRange = Criteria.where("flightDate");
+            if (fromDate != null) {
+                dateRange = dateRange.gte(fromDate);
+            }
+            if (toDate != null) {
+                dateRange = dateRange.lte(toDate);
+            }
+            query.addCriteria(dateRange);
+        }
+
+        if (before != null) {
+            query.addCriteria(keysetCursor(before, beforeId));
+        }
+
+        query.with(HISTORY_ORDER).limit(limit);
+        return mongoTemplate.stream(query, FlightStateTransition.class);
+    }
+
+    /**
+     * Keyset cursor: continue strictly below the last (timestamp, _id) of the previous page.
+     * Timestamps have millisecond precision, so several transitions can share one; the _id
+     * tie-breaker keeps a page boundary inside such a group from skipping the rest of it.
+     * Without a beforeId, everything at the cursor timestamp is skipped.
+     */
+    static Criteria keysetCursor(LocalDateTime before, String beforeId) {
+        if (beforeId == null) {
+            return Criteria.where("timestamp").lt(before);
+        }
+        // Documents saved without a deterministic ID have generated ObjectIds
+        Object id = ObjectId.isValid(beforeId) ? new ObjectId(beforeId) : beforeId;
+        return new Criteria().orOperator(
+                Criteria.where("timestamp").lt(before),
+                Criteria.where("timestamp").is(before).and("_id").lt(id));
+    }
+}
@@ -0,0 +1,13 @@
+package com.temporal.jetstream.repository;
+
+import com.temporal.jetstream.model.FlightTransitionBucket;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * MongoDB repository for bucketed flight state transitions (one document per flight-date).
+ */
+@Repository
+public interface FlightTransitionBucketRepository extends MongoRepository<FlightTransitionBucket, String>,
+        FlightTransitionBucketRepositoryCustom {
+}
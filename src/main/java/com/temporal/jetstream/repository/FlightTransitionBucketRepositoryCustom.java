@@ -0,0 +1,40 @@
+package com.temporal.jetstream.repository;
+
+import com.temporal.jetstream.model.FlightStateTransition;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append and read operations for bucketed transitions.
+ */
+public interface FlightTransitionBucketRepositoryCustom {
+
+    /**
+     * Append a transition to its flight-date bucket, creating the bucket if needed.
+     * Does nothing if the bucket already contains a transition with the same ID.
+     *
+     * @param transition the state transition to append
+     * @return true if the transition was appended, false if it was already present
+     */
+    boolean appendIfAbsent(FlightStateTransition transition);
+
+    /**
+     * Append many transitions in one unordered bulk write.
+     * Transitions already present in their bucket are reported as duplicate key errors
+     * in the thrown BulkOperationException. A duplicate key can also come from two writers
+     * creating the same bucket concurrently, so callers should resolve duplicates with appendIfAbsent.
+     *
+     * @param transitions the state transitions to append
+     */
+    void appendAll(List<FlightStateTransition> transitions);
+
+    /**
+     * Stream one page of a flight's transition history from the buckets, most recent first.
+     * Same contract as FlightStateTransitionRepositoryCustom#streamHistory.
+     */
+    Stream<FlightStateTransition> streamHistory(String flightNumber, LocalDate fromDate, LocalDate toDate,
+                                                LocalDateTime before, String beforeId, int limit);
+}
@@ -0,0 +1,165 @@
+package com.temporal.jetstream.repository;
+
+import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.model.FlightTransitionBucket;
+import com.temporal.jetstream.model.FlightTransitionEntry;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * MongoTemplate-backed implementation of FlightTransitionBucketRepositoryCustom.
+ *
+ * Appends are upserts filtered on "bucket does not already contain this transition ID".
+ * If the bucket exists and already holds the transition, the filter matches nothing and the
+ * upsert attempts to insert a second bucket with the same _id, which fails with a duplicate key:
+ * that is how a retried write is detected.
+ */
+public class FlightTransitionBucketRepositoryImpl implements FlightTransitionBucketRepositoryCustom {
+
+    private static final String COLLECTION = "flight_transition_buckets";
+    private static final int MAX_UPSERT_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+
+    public FlightTransitionBucketRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean appendIfAbsent(FlightStateTransition transition) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                mongoTemplate.upsert(appendQuery(transition), appendUpdate(transition), FlightTransitionBucket.class);
+                return true;
+            } catch (DuplicateKeyException e) {
+                // Either the transition is already stored, or another writer created the bucket
+                // between our filter and insert. Only the first case means we are done.
+                if (containsTransition(transition)) {
+                    return false;
+                }
+                if (attempt >= MAX_UPSERT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void appendAll(List<FlightStateTransition> transitions) {
+        BulkOperations bulkOperations =
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FlightTransitionBucket.class);
+        for (FlightStateTransition transition : transitions) {
+            bulkOperations.upsert(appendQuery(transition), appendUpdate(transition));
+        }
+        bulkOperations.execute();
+    }
+
+    @Override
+    public Stream<FlightStateTransition> streamHistory(String flightNumber, LocalDate fromDate, LocalDate toDate,
+                                                       LocalDateTime before, String beforeId, int limit) {
+        if (fromDate != null && fromDate.equals(toDate)) {
+            return singleBucketHistory(flightNumber, fromDate, before, beforeId, limit);
+        }
+
+        Criteria bucketCriteria = Criteria.where("flightNumber").is(flightNumber);
+        if (fromDate != null || toDate != null) {
+            Criteria dateRange = Criteria.where("flightDate");
+            if (fromDate != null) {
+                dateRange = dateRange.gte(fromDate);
+            }
+            if (toDate != null) {
+                dateRange = dateRange.lte(toDate);
+            }
+            bucketCriteria = new Criteria().andOperator(bucketCriteria, dateRange);
+        }
+
+        List<AggregationOperation> operations = new ArrayList<>();
+        if (before != null) {
+            // Skip buckets that only contain transitions after the cursor
+            operations.add(Aggregation.match(new Criteria().andOperator(
+                    bucketCriteria, Criteria.where("firstTimestamp").lte(before))));
+        } else {
+            operations.add(Aggregation.match(bucketCriteria));
+        }
+        operations.add(Aggregation.unwind("transitions"));
+        operations.add(Aggregation.replaceRoot("transitions"));
+        if (before != null) {
+            operations.add(Aggregation.match(FlightStateTransitionRepositoryImpl.keysetCursor(before, beforeId)));
+        }
+        operations.add(Aggregation.sort(FlightStateTransitionRepositoryImpl.HISTORY_ORDER));
+        operations.add(Aggregation.limit(limit));
+
+        return mongoTemplate.aggregateStream(Aggregation.newAggregation(operations), COLLECTION,
+                FlightStateTransition.class);
+    }
+
+    /**
+     * Single flight-date reads are one primary-key lookup; the handful of embedded
+     * transitions is sorted in memory.
+     */
+    private Stream<FlightStateTransition> singleBucketHistory(String flightNumber, LocalDate flightDate,
+                                                              LocalDateTime before, String beforeId, int limit) {
+        FlightTransitionBucket bucket = mongoTemplate.findById(
+                FlightTransitionBucket.buildId(flightNumber, flightDate), FlightTransitionBucket.class);
+        if (bucket == null) {
+            return Stream.empty();
+        }
+        return bucket.getTransitions().stream()
+                .map(FlightTransitionEntry::toTransition)
+                .filter(transition -> before == null || isBeforeCursor(transition, before, beforeId))
+                .sorted(Comparator.comparing(FlightStateTransition::getTimestamp)
+                        .thenComparing(FlightStateTransition::getId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .reversed())
+                .limit(limit);
+    }
+
+    /**
+     * In-memory equivalent of FlightStateTransitionRepositoryImpl.keysetCursor.
+     */
+    private static boolean isBeforeCursor(FlightStateTransition transition, LocalDateTime before, String beforeId) {
+        int byTimestamp = transition.getTimestamp().compareTo(before);
+        return byTimestamp < 0
+                || (byTimestamp == 0 && beforeId != null && transition.getId() != null
+                    && transition.getId().compareTo(beforeId) < 0);
+    }
+
+    private boolean containsTransition(FlightStateTransition transition) {
+        return mongoTemplate.exists(new Query(Criteria.where("id")
+                .is(FlightTransitionBucket.buildId(transition.getFlightNumber(), transition.getFlightDate()))
+                .and("transitions.id").is(transition.getId())), FlightTransitionBucket.class);
+    }
+
+    private Query appendQuery(FlightStateTransition transition) {
+        return new Query(Criteria.where("id")
+                .is(FlightTransitionBucket.buildId(transition.getFlightNumber(), transition.getFlightDate()))
+                .and("transitions.id").ne(transition.getId()));
+    }
+
+    private Update appendUpdate(FlightStateTransition transition) {
+        Update update = new Update()
+                .setOnInsert("flightNumber", transition.getFlightNumber())
+                .setOnInsert("flightDate", transition.getFlightDate())
+                .push("transitions", FlightTransitionEntry.from(transition))
+                .inc("transitionCount", 1)
+                .min("firstTimestamp", transition.getTimestamp())
+                .max("lastTimestamp", transition.getTimestamp());
+        if (transition.getExpireAt() != null) {
+            update.max("expireAt", transition.getExpireAt());
+        }
+        return update;
+    }
+}
@@ -0,0 +1,33 @@
+package com.temporal.jetstream.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Computes the TTL expiry for stored transitions from persistence.retention-days.
+ * Transitions are kept for the configured number of days after their flight date.
+ */
+@Component
+public class TransitionRetentionPolicy {
+
+    private final int retentionDays;
+
+    public TransitionRetentionPolicy(@Value("${persistence.retention-days:0}") int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * @param flightDate the flight date of the transition
+     * @return when the transition may be removed, or null to keep it forever
+     */
+    public Instant expireAt(LocalDate flightDate) {
+        if (retentionDays <= 0 || flightDate == null) {
+            return null;
+        }
+        return flightDate.plusDays(retentionDays).atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,13 @@
+package com.temporal.jetstream.repository;
+
+/**
+ * Storage layout used for flight state transitions, selected with persistence.storage-mode.
+ */
+public enum TransitionStorageMode {
+
+    /** One document per transition in flight_state_transitions. */
+    DOCUMENT,
+
+    /** One document per flight number and flight date in flight_transition_buckets. */
+    BUCKET
+}
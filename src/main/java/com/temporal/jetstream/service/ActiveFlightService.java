@@ -1,119 +1,190 @@
 package com.temporal.jetstream.service;
 
+import com.google.protobuf.ByteString;
 import com.temporal.jetstream.dto.ActiveFlightDTO;
 import com.temporal.jetstream.model.Flight;
 import com.temporal.jetstream.workflow.FlightWorkflow;
-import io.temporal.api.common.v1.WorkflowExecution;
 import io.temporal.api.enums.v1.WorkflowExecutionStatus;
 import io.temporal.api.workflow.v1.WorkflowExecutionInfo;
 import io.temporal.api.workflowservice.v1.ListWorkflowExecutionsRequest;
 import io.temporal.api.workflowservice.v1.ListWorkflowExecutionsResponse;
 import io.temporal.client.WorkflowClient;
-import io.temporal.client.WorkflowStub;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 
 @Service
 public class ActiveFlightService {
 
     private static final Logger logger = LoggerFactory.getLogger(ActiveFlightService.class);
 
+    // Visibility page size for listing running flights
+    private static final int PAGE_SIZE = 100;
+
+    private static final String RUNNING_FLIGHTS_QUERY = "WorkflowType='FlightWorkflow' AND ExecutionStatus='Running'";
+
     @Autowired
     private WorkflowClient workflowClient;
 
     @Autowired
     private WorkflowServiceStubs workflowServiceStubs;
 
+    @Autowired
+    @Qualifier("blockingCallExecutor")
+    private ExecutorService blockingCallExecutor;
+
+    // Shared by all requests, so concurrent callers together keep at most this many queries outstanding
+    private final Semaphore querySlots;
+
+    public ActiveFlightService(@Value("${flights.active.max-concurrent-queries:32}") int maxConcurrentQueries) {
+        this.querySlots = new Semaphore(maxConcurrentQueries);
+    }
+
     /**
      * Lists all active (running) flight workflows by querying Temporal for workflows with RUNNING status
-     * @return List of active flights with their current state
+     * @return List of active flights with their current state, or an empty list if listing failed
      */
     public List<ActiveFlightDTO> getActiveFlights() {
+        try {
+            return listActiveFlights();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while listing active flights");
+        } catch (Exception e) {
+            logger.error("Error listing active flights: {}", e.getMessage(), e);
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Lists all active flights like getActiveFlights, but lets a failure to list the running
+     * workflows propagate instead of reporting no flights. Flights whose query fails are skipped.
+     */
+    public List<ActiveFlightDTO> listActiveFlights() throws InterruptedException {
+        List<WorkflowExecutionInfo> executions = listRunningExecutions(RUNNING_FLIGHTS_QUERY);
+        logger.info("Found {} running flight workflows", executions.size());
+
+        // Query the workflows in parallel; each query is a blocking RPC. Waiting for a slot
+        // before submitting keeps both the outstanding RPCs and the waiting threads bounded
+        List<CompletableFuture<ActiveFlightDTO>> queries = new ArrayList<>();
+        for (WorkflowExecutionInfo executionInfo : executions) {
+            String workflowId = executionInfo.getExecution().getWorkflowId();
+
+            // Skip if not a flight workflow ID (should start with "flight-")
+            if (!workflowId.startsWith("flight-")) {
+                continue;
+            }
+            querySlots.acquire();
+            try {
+                queries.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return queryActiveFlight(executionInfo);
+                    } finally {
+                        querySlots.release();
+                    }
+                }, blockingCallExecutor));
+            } catch (RuntimeException e) {
+                querySlots.release();
+                throw e;
+            }
+        }
+
         List<ActiveFlightDTO> activeFlights = new ArrayList<>();
+        for (CompletableFuture<ActiveFlightDTO> pendingQuery : queries) {
+            ActiveFlightDTO activeFlightDTO = pendingQuery.join();
+            if (activeFlightDTO != null) {
+                activeFlights.add(activeFlightDTO);
+            }
+        }
 
-        try {
-            // Get namespace from WorkflowClient
-            String namespace = workflowClient.getOptions().getNamespace();
+        logger.info("Successfully retrieved {} active flights", activeFlights.size());
+        return activeFlights;
+    }
 
-            // Build query to find RUNNING workflows for FlightWorkflow type
-            String query = "WorkflowType='FlightWorkflow' AND ExecutionStatus='Running'";
+    /**
+     * Lists the IDs of the running workflows matching a visibility query. Listing failures propagate.
+     */
+    public List<String> listRunningWorkflowIds(String query) {
+        return listRunningExecutions(query).stream()
+                .map(executionInfo -> executionInfo.getExecution().getWorkflowId())
+                .toList();
+    }
+
+    private List<WorkflowExecutionInfo> listRunningExecutions(String query) {
+        String namespace = workflowClient.getOptions().getNamespace();
 
-            // Create list request
+        // Page through every match; the server returns at most PAGE_SIZE per call
+        List<WorkflowExecutionInfo> executions = new ArrayList<>();
+        ByteString nextPageToken = ByteString.EMPTY;
+        do {
             ListWorkflowExecutionsRequest request = ListWorkflowExecutionsRequest.newBuilder()
                     .setNamespace(namespace)
                     .setQuery(query)
-                    .setPageSize(50)
+                    .setPageSize(PAGE_SIZE)
+                    .setNextPageToken(nextPageToken)
                     .build();
 
-            // Execute list query
             ListWorkflowExecutionsResponse response = workflowServiceStubs.blockingStub()
                     .listWorkflowExecutions(request);
+            executions.addAll(response.getExecutionsList());
+            nextPageToken = response.getNextPageToken();
+        } while (!nextPageToken.isEmpty());
+        return executions;
+    }
 
-            logger.info("Found {} running flight workflows", response.getExecutionsCount());
-
-            // Process each workflow execution
-            for (WorkflowExecutionInfo executionInfo : response.getExecutionsList()) {
-                try {
-                    WorkflowExecution execution = executionInfo.getExecution();
-                    String workflowId = execution.getWorkflowId();
-
-                    // Skip if not a flight workflow ID (should start with "flight-")
-                    if (!workflowId.startsWith("flight-")) {
-                        continue;
-                    }
-
-                    // Extract flight number from workflow ID (format: flight-AA1234-2026-01-27)
-                    String flightNumber = extractFlightNumber(workflowId);
-
-                    // Get workflow stub to query current state
-                    FlightWorkflow workflow = workflowClient.newWorkflowStub(FlightWorkflow.class, workflowId);
-
-                    // Query workflow for current details
-                    Flight flightDetails = workflow.getFlightDetails();
-
-                    // Calculate elapsed time
-                    Instant startTime = Instant.ofEpochSecond(
-                            executionInfo.getStartTime().getSeconds(),
-                            executionInfo.getStartTime().getNanos()
-                    );
-                    Duration elapsedTime = Duration.between(startTime, Instant.now());
-
-                    // Create DTO
-                    ActiveFlightDTO activeFlightDTO = new ActiveFlightDTO(
-                            workflowId,
-                            flightNumber,
-                            flightDetails.getCurrentState(),
-                            flightDetails.getGate(),
-                            flightDetails.getDelay(),
-                            startTime,
-                            elapsedTime
-                    );
-
-                    activeFlights.add(activeFlightDTO);
-
-                } catch (Exception e) {
-                    logger.error("Error querying workflow {}: {}",
-                            executionInfo.getExecution().getWorkflowId(),
-                            e.getMessage());
-                    // Continue processing other workflows
-                }
-            }
-
-            logger.info("Successfully retrieved {} active flights", activeFlights.size());
+    /**
+     * Queries one running workflow for its current details.
+     * @return the active flight, or null if the query failed
+     */
+    private ActiveFlightDTO queryActiveFlight(WorkflowExecutionInfo executionInfo) {
+        String workflowId = executionInfo.getExecution().getWorkflowId();
+        try {
+            // Extract flight number from workflow ID (format: flight-AA1234-2026-01-27)
+            String flightNumber = extractFlightNumber(workflowId);
+
+            // Get workflow stub to query current state
+            FlightWorkflow workflow = workflowClient.newWorkflowStub(FlightWorkflow.class, workflowId);
+
+            // Query workflow for current details
+            Flight flightDetails = workflow.getFlightDetails();
+
+            // Calculate elapsed time
+            Instant startTime = Instant.ofEpochSecond(
+                    executionInfo.getStartTime().getSeconds(),
+                    executionInfo.getStartTime().getNanos()
+            );
+            Duration elapsedTime = Duration.between(startTime, Instant.now());
+
+            ActiveFlightDTO activeFlightDTO = new ActiveFlightDTO(
+                    workflowId,
+                    flightNumber,
+                    flightDetails.getCurrentState(),
+                    flightDetails.getGate(),
+                    flightDetails.getDelay(),
+                    startTime,
+                    elapsedTime
+            );
+            activeFlightDTO.setDepartureStation(flightDetails.getDepartureStation());
+            activeFlightDTO.setArrivalStation(flightDetails.getArrivalStation());
+            return activeFlightDTO;
 
         } catch (Exception e) {
-            logger.error("Error listing active flights: {}", e.getMessage(), e);
+            logger.error("Error querying workflow {}: {}", workflowId, e.getMessage());
+            // Continue processing other workflows
+            return null;
         }
-
-        return activeFlights;
     }
 
     /**
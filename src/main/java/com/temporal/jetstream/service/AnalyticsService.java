@@ -0,0 +1,190 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.dto.OnTimePerformance;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.repository.TransitionStorageMode;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-time performance analytics computed server-side with MongoDB aggregation pipelines over the
+ * persisted flight state transitions.
+ *
+ * Each pipeline first collapses a flight's transitions into one row per flight number and date
+ * (maximum delay, whether it was cancelled, whether it finished), then groups those rows by the
+ * requested dimension. Only flights that reached COMPLETED or CANCELLED are counted.
+ * Results are cached for analytics.cache-ttl-seconds so repeated dashboard loads do not re-run
+ * the pipelines.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+
+    private static final String TRANSITIONS_COLLECTION = "flight_state_transitions";
+    private static final String BUCKETS_COLLECTION = "flight_transition_buckets";
+
+    private final MongoTemplate mongoTemplate;
+    private final TransitionStorageMode storageMode;
+    private final int onTimeThresholdMinutes;
+    private final long cacheTtlMillis;
+    private final Map<String, CachedResult> cache = new ConcurrentHashMap<>();
+
+    public AnalyticsService(MongoTemplate mongoTemplate,
+                            @Value("${persistence.storage-mode:DOCUMENT}") TransitionStorageMode storageMode,
+                            @Value("${analytics.on-time-threshold-minutes:15}") int onTimeThresholdMinutes,
+                            @Value("${analytics.cache-ttl-seconds:30}") long cacheTtlSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.storageMode = storageMode;
+        this.onTimeThresholdMinutes = onTimeThresholdMinutes;
+        this.cacheTtlMillis = cacheTtlSeconds * 1000;
+    }
+
+    /**
+     * On-time performance across all flights with a flight date in the range.
+     */
+    public OnTimePerformance getSummary(LocalDate fromDate, LocalDate toDate) {
+        List<OnTimePerformance> results = getPerformance(null, fromDate, toDate);
+        return results.isEmpty() ? new OnTimePerformance("ALL", 0, 0, 0, 0) : results.get(0);
+    }
+
+    /**
+     * On-time performance per departure station, busiest station first.
+     */
+    public List<OnTimePerformance> getByStation(LocalDate fromDate, LocalDate toDate) {
+        return getPerformance("departureStation", fromDate, toDate);
+    }
+
+    /**
+     * On-time performance per aircraft, busiest aircraft first.
+     */
+    public List<OnTimePerformance> getByAircraft(LocalDate fromDate, LocalDate toDate) {
+        return getPerformance("aircraft", fromDate, toDate);
+    }
+
+    /**
+     * Drops all cached results, e.g. after a bulk import.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private List<OnTimePerformance> getPerformance(String dimension, LocalDate fromDate, LocalDate toDate) {
+        String cacheKey = (dimension != null ? dimension : "ALL") + ":" + fromDate + ":" + toDate;
+        long now = System.currentTimeMillis();
+        CachedResult cached = cache.get(cacheKey);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.results();
+        }
+
+        long start = System.currentTimeMillis();
+        List<OnTimePerformance> results = runPipeline(dimension, fromDate, toDate);
+        logger.info("Computed on-time performance by {} for {} to {} in {} ms ({} groups)",
+                dimension != null ? dimension : "all flights", fromDate, toDate,
+                System.currentTimeMillis() - start, results.size());
+
+        cache.put(cacheKey, new CachedResult(List.copyOf(results), now + cacheTtlMillis));
+        // Expired entries are only replaced on access, so prune them here to keep the map bounded
+        cache.entrySet().removeIf(entry -> entry.getValue().expiresAt() <= now);
+        return results;
+    }
+
+    private List<OnTimePerformance> runPipeline(String dimension, LocalDate fromDate, LocalDate toDate) {
+        Criteria dateRange = Criteria.where("flightDate").gte(fromDate).lte(toDate);
+        List<AggregationOperation> stages = new ArrayList<>();
+        String collection;
+
+        if (storageMode == TransitionStorageMode.BUCKET) {
+            // Filter whole buckets on the indexed flight date before unwinding their transitions
+            collection = BUCKETS_COLLECTION;
+            stages.add(Aggregation.match(dateRange));
+            stages.add(Aggregation.unwind("transitions"));
+            stages.add(Aggregation.replaceRoot("transitions"));
+        } else {
+            collection = TRANSITIONS_COLLECTION;
+            stages.add(Aggregation.match(dateRange));
+        }
+
+        // One row per flight: latest known station/aircraft, worst delay, and terminal outcome
+        stages.add(Aggregation.sort(Sort.Direction.ASC, "timestamp"));
+        stages.add(Aggregation.group("flightNumber", "flightDate")
+                .last("departureStation").as("departureStation")
+                .last("aircraft").as("aircraft")
+                .max("delay").as("delay")
+                .max(stateFlag(FlightState.CANCELLED)).as("cancelled")
+                .max(stateFlag(FlightState.COMPLETED)).as("completed"));
+        stages.add(Aggregation.match(new Criteria().orOperator(
+                Criteria.where("cancelled").is(1),
+                Criteria.where("completed").is(1))));
+
+        AggregationExpression operated = ComparisonOperators.valueOf("cancelled").equalToValue(0);
+        AggregationExpression onTime = ConditionalOperators
+                .when(BooleanOperators.And.and(
+                        operated,
+                        ComparisonOperators.valueOf("delay").lessThanEqualToValue(onTimeThresholdMinutes)))
+                .then(1)
+                .otherwise(0);
+        AggregationExpression operatedDelay = ConditionalOperators.when(operated)
+                .thenValueOf("delay")
+                .otherwise(0);
+
+        GroupOperation byDimension = dimension != null ? Aggregation.group(dimension) : Aggregation.group();
+        stages.add(byDimension
+                .count().as("flights")
+                .sum(onTime).as("onTimeFlights")
+                .sum("cancelled").as("cancelledFlights")
+                .sum(operatedDelay).as("totalDelayMinutes"));
+        stages.add(Aggregation.sort(Sort.by(Sort.Direction.DESC, "flights").and(Sort.by(Sort.Direction.ASC, "_id"))));
+
+        List<OnTimePerformance> results = new ArrayList<>();
+        // The per-flight sort and group may exceed the 100MB in-memory stage limit on long date ranges
+        Aggregation aggregation = Aggregation.newAggregation(stages)
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        for (Document row : mongoTemplate.aggregate(aggregation, collection, Document.class)) {
+            Object key = row.get("_id");
+            results.add(new OnTimePerformance(
+                    dimension == null ? "ALL" : (key != null ? key.toString() : "UNKNOWN"),
+                    toLong(row.get("flights")),
+                    toLong(row.get("onTimeFlights")),
+                    toLong(row.get("cancelledFlights")),
+                    toLong(row.get("totalDelayMinutes"))));
+        }
+        return results;
+    }
+
+    /**
+     * 1 if the transition moved the flight into the given state, otherwise 0.
+     */
+    private AggregationExpression stateFlag(FlightState state) {
+        return ConditionalOperators.when(ComparisonOperators.valueOf("toState").equalToValue(state.name()))
+                .then(1)
+                .otherwise(0);
+    }
+
+    private long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    private record CachedResult(List<OnTimePerformance> results, long expiresAt) {
+    }
+}
@@ -0,0 +1,175 @@
+package com.temporal.jetstream.service;
+
+import com.google.protobuf.Timestamp;
+import com.temporal.jetstream.dto.BatchOperationStatus;
+import com.temporal.jetstream.workflow.FlightSearchAttributes;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.temporal.api.batch.v1.BatchOperationSignal;
+import io.temporal.api.enums.v1.IndexedValueType;
+import io.temporal.api.operatorservice.v1.AddSearchAttributesRequest;
+import io.temporal.api.workflowservice.v1.DescribeBatchOperationRequest;
+import io.temporal.api.workflowservice.v1.DescribeBatchOperationResponse;
+import io.temporal.api.workflowservice.v1.StartBatchOperationRequest;
+import io.temporal.client.WorkflowClient;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.serviceclient.OperatorServiceStubs;
+import io.temporal.serviceclient.OperatorServiceStubsOptions;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Station-wide operations run as Temporal batch operations. The cluster resolves the targets from a
+ * visibility query on the DepartureStation search attribute and signals them itself, so a closure
+ * affecting thousands of flights is one RPC from this service instead of one signal per flight.
+ */
+@Service
+public class BatchOperationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchOperationService.class);
+
+    // Signal name as declared on FlightWorkflow
+    private static final String CANCEL_FLIGHT_SIGNAL = "cancelFlight";
+
+    // IATA/ICAO codes only, so the station can be embedded in a visibility query safely
+    private static final Pattern STATION_CODE = Pattern.compile("[A-Z0-9]{3,4}");
+
+    private final WorkflowServiceStubs serviceStubs;
+    private final DataConverter dataConverter;
+    private final String namespace;
+    private final String identity;
+    private final boolean registerSearchAttributes;
+    private final float maxOperationsPerSecond;
+
+    public BatchOperationService(WorkflowClient workflowClient,
+                                 WorkflowServiceStubs serviceStubs,
+                                 @Value("${temporal.search-attributes.register:true}") boolean registerSearchAttributes,
+                                 @Value("${temporal.batch.max-operations-per-second:50}") float maxOperationsPerSecond) {
+        this.serviceStubs = serviceStubs;
+        this.dataConverter = workflowClient.getOptions().getDataConverter();
+        this.namespace = workflowClient.getOptions().getNamespace();
+        this.identity = workflowClient.getOptions().getIdentity();
+        this.registerSearchAttributes = registerSearchAttributes;
+        this.maxOperationsPerSecond = maxOperationsPerSecond;
+    }
+
+    /**
+     * Registers the DepartureStation search attribute if the namespace does not have it yet.
+     * Every flight start sets the attribute, and the server rejects starts that use an unknown
+     * one, so a failed registration fails startup. Works against the local dev server; on
+     * clusters where this service lacks operator permissions, register it with the CLI and set
+     * temporal.search-attributes.register=false.
+     *
+     * @throws IllegalStateException if the attribute could not be registered
+     */
+    @PostConstruct
+    public void registerSearchAttributes() {
+        if (!registerSearchAttributes) {
+            return;
+        }
+        String name = FlightSearchAttributes.DEPARTURE_STATION.getName();
+        OperatorServiceStubs operatorStubs = OperatorServiceStubs.newServiceStubs(
+                OperatorServiceStubsOptions.newBuilder()
+                        .setChannel(serviceStubs.getRawChannel())
+                        .validateAndBuildWithDefaults());
+        try {
+            operatorStubs.blockingStub().addSearchAttributes(AddSearchAttributesRequest.newBuilder()
+                    .setNamespace(namespace)
+                    .putSearchAttributes(name, IndexedValueType.INDEXED_VALUE_TYPE_KEYWORD)
+                    .build());
+            logger.info("Registered search attribute {} on namespace {}", name, namespace);
+        } catch (StatusRuntimeException e) {
+            if (e.getStatus().getCode() != Status.Code.ALREADY_EXISTS) {
+                throw new IllegalStateException(String.format(
+                        "Could not register search attribute %s on namespace %s; register it with the CLI "
+                                + "and set temporal.search-attributes.register=false", name, namespace), e);
+            }
+            logger.info("Search attribute {} already registered on namespace {}", name, namespace);
+        } finally {
+            // The channel belongs to the workflow service stubs, so only the wrapper is closed
+            operatorStubs.shutdown();
+        }
+    }
+
+    /**
+     * Starts a batch operation that sends cancelFlight to every running flight departing the station.
+     *
+     * @return the status of the new job, including its job ID
+     * @throws IllegalArgumentException if the station code or reason is invalid
+     */
+    public BatchOperationStatus cancelStation(String station, String reason) {
+        if (reason == null || reason.isBlank()) {
+            throw new IllegalArgumentException("reason is required");
+        }
+        String query = runningFlightsAtStationQuery(station);
+        String jobId = "cancel-" + station.toUpperCase(Locale.ROOT) + "-" + UUID.randomUUID();
+
+        serviceStubs.blockingStub().startBatchOperation(StartBatchOperationRequest.newBuilder()
+                .setNamespace(namespace)
+                .setJobId(jobId)
+                .setVisibilityQuery(query)
+                .setReason(reason)
+                .setMaxOperationsPerSecond(maxOperationsPerSecond)
+                .setSignalOperation(BatchOperationSignal.newBuilder()
+                        .setSignal(CANCEL_FLIGHT_SIGNAL)
+                        .setInput(dataConverter.toPayloads(reason).orElseThrow())
+                        .setIdentity(identity))
+                .build());
+        logger.info("Started batch cancellation {} for station {}: {}", jobId, station, query);
+
+        BatchOperationStatus status = new BatchOperationStatus();
+        status.setJobId(jobId);
+        status.setOperationType("SIGNAL");
+        status.setState("RUNNING");
+        status.setReason(reason);
+        status.setVisibilityQuery(query);
+        return status;
+    }
+
+    /**
+     * Describes a batch operation. Throws a NOT_FOUND StatusRuntimeException for unknown job IDs.
+     */
+    public BatchOperationStatus describe(String jobId) {
+        DescribeBatchOperationResponse response = serviceStubs.blockingStub().describeBatchOperation(
+                DescribeBatchOperationRequest.newBuilder()
+                        .setNamespace(namespace)
+                        .setJobId(jobId)
+                        .build());
+
+        BatchOperationStatus status = new BatchOperationStatus();
+        status.setJobId(response.getJobId());
+        status.setOperationType(response.getOperationType().name().replace("BATCH_OPERATION_TYPE_", ""));
+        status.setState(response.getState().name().replace("BATCH_OPERATION_STATE_", ""));
+        status.setReason(response.getReason());
+        status.setStartTime(response.hasStartTime() ? toInstant(response.getStartTime()) : null);
+        status.setCloseTime(response.hasCloseTime() ? toInstant(response.getCloseTime()) : null);
+        status.setTotalOperations(response.getTotalOperationCount());
+        status.setCompletedOperations(response.getCompleteOperationCount());
+        status.setFailedOperations(response.getFailureOperationCount());
+        return status;
+    }
+
+    /**
+     * Builds the visibility query matching running flight workflows that depart the station.
+     */
+    static String runningFlightsAtStationQuery(String station) {
+        if (station == null || !STATION_CODE.matcher(station.toUpperCase(Locale.ROOT)).matches()) {
+            throw new IllegalArgumentException("station must be a 3 or 4 character airport code");
+        }
+        return String.format("WorkflowType = 'FlightWorkflow' AND %s = '%s' AND ExecutionStatus = 'Running'",
+                FlightSearchAttributes.DEPARTURE_STATION.getName(), station.toUpperCase(Locale.ROOT));
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+    }
+}
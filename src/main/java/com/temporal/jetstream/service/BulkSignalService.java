@@ -0,0 +1,175 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.dto.ActiveFlightDTO;
+import com.temporal.jetstream.dto.BulkSignalProgress;
+import com.temporal.jetstream.dto.BulkSignalRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Applies one delay, gate change or cancellation to many flights, e.g. during a ground stop.
+ * Targets are resolved from an explicit flight list or from the running flights (by departure
+ * station or state); a failure to list the running flights fails the request rather than
+ * matching nothing. Targets are then signalled through the non-blocking FlightSignalService
+ * with at most flights.bulk-signal.max-concurrency signals in flight.
+ */
+@Service
+public class BulkSignalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkSignalService.class);
+
+    // Signal names as declared on FlightWorkflow
+    private static final String ANNOUNCE_DELAY_SIGNAL = "announceDelay";
+    private static final String CHANGE_GATE_SIGNAL = "changeGate";
+    private static final String CANCEL_FLIGHT_SIGNAL = "cancelFlight";
+
+    private final FlightSignalService flightSignalService;
+    private final ActiveFlightService activeFlightService;
+    private final int maxConcurrency;
+
+    @Autowired
+    public BulkSignalService(FlightSignalService flightSignalService,
+                             ActiveFlightService activeFlightService,
+                             @Value("${flights.bulk-signal.max-concurrency:32}") int maxConcurrency) {
+        this.flightSignalService = flightSignalService;
+        this.activeFlightService = activeFlightService;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Checks the selector and operation arguments.
+     *
+     * @throws IllegalArgumentException describing the first problem found
+     */
+    public void validate(BulkSignalRequest request) {
+        int selectors = (request.getFlightNumbers() != null && !request.getFlightNumbers().isEmpty() ? 1 : 0)
+                + (request.getDepartureStation() != null ? 1 : 0)
+                + (request.getState() != null ? 1 : 0);
+        if (selectors != 1) {
+            throw new IllegalArgumentException("Exactly one of flightNumbers, departureStation or state is required");
+        }
+        switch (request.getOperation()) {
+            case DELAY -> {
+                if (request.getMinutes() == null || request.getMinutes() < 0) {
+                    throw new IllegalArgumentException("minutes must be zero or more for DELAY");
+                }
+            }
+            case GATE -> {
+                if (request.getNewGate() == null || request.getNewGate().isBlank()) {
+                    throw new IllegalArgumentException("newGate is required for GATE");
+                }
+            }
+            case CANCEL -> {
+                if (request.getReason() == null || request.getReason().isBlank()) {
+                    throw new IllegalArgumentException("reason is required for CANCEL");
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves the workflow IDs targeted by the request's selector. A departure station is matched
+     * with a visibility query on the DepartureStation search attribute.
+     *
+     * @throws IllegalArgumentException if the departure station is not an airport code
+     * @throws RuntimeException if the running flights cannot be listed
+     */
+    public List<String> resolveTargets(BulkSignalRequest request) {
+        if (request.getFlightNumbers() != null && !request.getFlightNumbers().isEmpty()) {
+            LocalDate flightDate = request.getFlightDate() != null ? request.getFlightDate() : LocalDate.now();
+            return request.getFlightNumbers().stream()
+                    .distinct()
+                    .map(flightNumber -> String.format("flight-%s-%s", flightNumber, flightDate))
+                    .toList();
+        }
+        if (request.getDepartureStation() != null) {
+            return activeFlightService.listRunningWorkflowIds(
+                    BatchOperationService.runningFlightsAtStationQuery(request.getDepartureStation()));
+        }
+        // Flight state is not a search attribute, so each running flight is queried for it
+        try {
+            return activeFlightService.listActiveFlights().stream()
+                    .filter(flight -> request.getState() == flight.getCurrentState())
+                    .map(ActiveFlightDTO::getWorkflowId)
+                    .toList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while listing running flights", e);
+        }
+    }
+
+    /**
+     * Signals every target, reporting progress per flight as each signal completes.
+     *
+     * @param onProgress called once per target, possibly from several threads at once
+     * @return number of flights signalled successfully
+     */
+    public int signalAll(BulkSignalRequest request, List<String> targets, Consumer<BulkSignalProgress> onProgress)
+            throws InterruptedException {
+        long start = System.currentTimeMillis();
+        Semaphore slots = new Semaphore(maxConcurrency);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger signalled = new AtomicInteger();
+        int total = targets.size();
+        logger.info("Bulk {} signal to {} flights", request.getOperation(), total);
+
+        try {
+            for (String workflowId : targets) {
+                slots.acquire();
+                CompletableFuture<Void> signal;
+                try {
+                    signal = send(request, workflowId);
+                } catch (RuntimeException e) {
+                    signal = CompletableFuture.failedFuture(e);
+                }
+                signal.whenComplete((ignored, error) -> {
+                    // Hold the slot until progress is reported, so the wait below covers the callbacks too
+                    try {
+                        BulkSignalProgress.Status status;
+                        String message;
+                        if (error == null) {
+                            signalled.incrementAndGet();
+                            status = BulkSignalProgress.Status.SIGNALED;
+                            message = request.getOperation() + " applied";
+                        } else if (FlightSignalService.isNotFound(error)) {
+                            status = BulkSignalProgress.Status.NOT_FOUND;
+                            message = "Flight is not running";
+                        } else {
+                            status = BulkSignalProgress.Status.FAILED;
+                            message = error.getMessage();
+                        }
+                        onProgress.accept(new BulkSignalProgress(workflowId, status, message, completed.incrementAndGet(), total));
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        } finally {
+            // Wait for the in-flight signals to report back
+            slots.acquireUninterruptibly(maxConcurrency);
+            slots.release(maxConcurrency);
+        }
+
+        logger.info("Bulk {} signal: {}/{} flights signalled in {} ms",
+                request.getOperation(), signalled.get(), total, System.currentTimeMillis() - start);
+        return signalled.get();
+    }
+
+    private CompletableFuture<Void> send(BulkSignalRequest request, String workflowId) {
+        return switch (request.getOperation()) {
+            case DELAY -> flightSignalService.signal(workflowId, ANNOUNCE_DELAY_SIGNAL, request.getMinutes());
+            case GATE -> flightSignalService.signal(workflowId, CHANGE_GATE_SIGNAL, request.getNewGate());
+            case CANCEL -> flightSignalService.signal(workflowId, CANCEL_FLIGHT_SIGNAL, request.getReason());
+        };
+    }
+}
@@ -0,0 +1,275 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.dto.ActiveFlightDTO;
+import com.temporal.jetstream.dto.FlightBoardEntry;
+import com.temporal.jetstream.dto.FlightDelta;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * This node's copy of the live flight board, kept current from the workflow's status events.
+ *
+ * WebSocket clients receive a snapshot of the board when they subscribe and then only the
+ * field-level deltas computed here. Every delta carries the board's sequence for the flight
+ * (seq) and the sequence it was computed from (prevSeq), so a client can tell when it missed
+ * one and resync that flight from a fresh snapshot.
+ *
+ * Sequences are the workflow's event sequence numbers, so they are the same on every node.
+ * Events older than what the board already holds are dropped, as are redelivered ones.
+ * A finished flight leaves the board but its run is remembered for a while, so late or
+ * redelivered events from that run do not bring it back.
+ */
+@Service
+public class FlightBoard {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightBoard.class);
+
+    // Sequence of entries loaded from the running workflows rather than built from events
+    static final int SEEDED_SEQUENCE = -1;
+
+    // How long events from a finished run keep being dropped
+    static final long FINISHED_RUN_RETENTION_MS = 10 * 60 * 1000;
+
+    private final ActiveFlightService activeFlightService;
+
+    private final Map<String, BoardFlight> flights = new ConcurrentHashMap<>();
+
+    // Runs that reached COMPLETED or CANCELLED, by run
+    private final Map<String, FinishedRun> finishedRuns = new ConcurrentHashMap<>();
+
+    // Notified of every delta this board produces (e.g. the SSE stream)
+    private final List<Consumer<FlightDelta>> listeners = new CopyOnWriteArrayList<>();
+
+    public FlightBoard(ActiveFlightService activeFlightService) {
+        this.activeFlightService = activeFlightService;
+    }
+
+    /**
+     * Loads the flights that were already running when this node started, so the first clients
+     * to connect see a full board. Events that arrived in the meantime take precedence.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedFromActiveFlights() {
+        List<ActiveFlightDTO> activeFlights = activeFlightService.getActiveFlights();
+        for (ActiveFlightDTO activeFlight : activeFlights) {
+            FlightBoardEntry entry = new FlightBoardEntry();
+            entry.setFlightNumber(activeFlight.getFlightNumber());
+            entry.setDepartureStation(activeFlight.getDepartureStation());
+            entry.setArrivalStation(activeFlight.getArrivalStation());
+            entry.setCurrentState(activeFlight.getCurrentState());
+            entry.setGate(activeFlight.getGate());
+            entry.setDelay(activeFlight.getDelay());
+            entry.setStartedAt(activeFlight.getStartTime() != null
+                    ? activeFlight.getStartTime().toEpochMilli()
+                    : System.currentTimeMillis());
+            entry.setSeq(SEEDED_SEQUENCE);
+            flights.putIfAbsent(entry.getFlightNumber(), new BoardFlight(entry, null));
+        }
+        logger.info("Flight board seeded with {} running flights", activeFlights.size());
+    }
+
+    /**
+     * Applies a status event to the board.
+     *
+     * @return the delta to send to clients, or null if the event is stale or a duplicate
+     */
+    public FlightDelta apply(FlightStatusEvent event) {
+        FlightDelta[] delta = new FlightDelta[1];
+        flights.compute(event.getFlightNumber(), (flightNumber, current) -> {
+            String run = runOf(event);
+            FinishedRun finished = run != null ? finishedRuns.get(run) : null;
+            if (finished != null) {
+                logger.debug("Dropping event {} for finished run {} (finished at seq {})",
+                        event.getEventId(), run, finished.seq);
+                return current;
+            }
+            boolean newFlight = current == null
+                    || (current.run != null && !current.run.equals(run))
+                    || (current.entry.getFlightDate() != null && event.getFlightDate() != null
+                        && !current.entry.getFlightDate().equals(event.getFlightDate()));
+
+            FlightBoardEntry previous = newFlight ? null : current.entry;
+            int seq;
+            if (event.getEventId() == null) {
+                // Runs started before FlightStatusEvent carry no sequence; order by arrival instead
+                seq = previous == null ? 0 : previous.getSeq() + 1;
+            } else {
+                seq = event.getSequence();
+                if (previous != null && seq <= previous.getSeq()) {
+                    return current;
+                }
+            }
+
+            FlightBoardEntry next = previous == null ? new FlightBoardEntry() : new FlightBoardEntry(previous);
+            next.setFlightNumber(flightNumber);
+            if (event.getFlightDate() != null) {
+                next.setFlightDate(event.getFlightDate());
+            }
+            if (event.getDepartureStation() != null) {
+                next.setDepartureStation(event.getDepartureStation());
+            }
+            if (event.getArrivalStation() != null) {
+                next.setArrivalStation(event.getArrivalStation());
+            }
+            next.setCurrentState(event.getNewState());
+            next.setGate(event.getGate());
+            next.setDelay(event.getDelay());
+            if (previous == null) {
+                next.setStartedAt(System.currentTimeMillis());
+            }
+            next.setSeq(seq);
+
+            delta[0] = diff(previous, next);
+            if (isFinished(next.getCurrentState())) {
+                if (run != null) {
+                    rememberFinished(run, seq);
+                }
+                return null;
+            }
+            return new BoardFlight(next, run);
+        });
+        if (delta[0] != null) {
+            for (Consumer<FlightDelta> listener : listeners) {
+                listener.accept(delta[0]);
+            }
+        }
+        return delta[0];
+    }
+
+    public void addListener(Consumer<FlightDelta> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Snapshot of every flight on the board.
+     */
+    public List<FlightBoardEntry> snapshot() {
+        return snapshot(entry -> true);
+    }
+
+    /**
+     * Snapshot of the flights departing from or arriving at a station.
+     */
+    public List<FlightBoardEntry> snapshotForStation(String station) {
+        String code = station.toUpperCase();
+        return snapshot(entry -> code.equalsIgnoreCase(entry.getDepartureStation())
+                || code.equalsIgnoreCase(entry.getArrivalStation()));
+    }
+
+    /**
+     * Snapshot of one flight: a single entry, or empty if it is no longer on the board.
+     */
+    public List<FlightBoardEntry> snapshotForFlight(String flightNumber) {
+        BoardFlight flight = flights.get(flightNumber);
+        return flight == null ? List.of() : List.of(new FlightBoardEntry(flight.entry));
+    }
+
+    public int size() {
+        return flights.size();
+    }
+
+    /**
+     * Drops a flight without producing a delta, so its next event is treated as new to the board.
+     */
+    public void remove(String flightNumber) {
+        flights.remove(flightNumber);
+    }
+
+    private List<FlightBoardEntry> snapshot(Predicate<FlightBoardEntry> filter) {
+        return flights.values().stream()
+                .map(flight -> flight.entry)
+                .filter(filter)
+                .sorted(Comparator.comparing(FlightBoardEntry::getFlightNumber))
+                .map(FlightBoardEntry::new)
+                .toList();
+    }
+
+    /**
+     * Only the fields that changed; every field when the flight is new to the board.
+     */
+    static FlightDelta diff(FlightBoardEntry previous, FlightBoardEntry next) {
+        FlightDelta delta = new FlightDelta();
+        delta.setFlightNumber(next.getFlightNumber());
+        delta.setSeq(next.getSeq());
+        delta.setRouteDeparture(next.getDepartureStation());
+        delta.setRouteArrival(next.getArrivalStation());
+
+        if (previous == null) {
+            delta.setFlightDate(next.getFlightDate());
+            delta.setDepartureStation(next.getDepartureStation());
+            delta.setArrivalStation(next.getArrivalStation());
+            delta.setCurrentState(next.getCurrentState());
+            delta.setGate(next.getGate());
+            delta.setDelay(next.getDelay());
+            delta.setStartedAt(next.getStartedAt());
+            return delta;
+        }
+
+        delta.setPrevSeq(previous.getSeq());
+        if (!Objects.equals(previous.getDepartureStation(), next.getDepartureStation())) {
+            delta.setDepartureStation(next.getDepartureStation());
+        }
+        if (!Objects.equals(previous.getArrivalStation(), next.getArrivalStation())) {
+            delta.setArrivalStation(next.getArrivalStation());
+        }
+        if (previous.getCurrentState() != next.getCurrentState()) {
+            delta.setCurrentState(next.getCurrentState());
+        }
+        if (!Objects.equals(previous.getGate(), next.getGate())) {
+            delta.setGate(next.getGate());
+        }
+        if (previous.getDelay() != next.getDelay()) {
+            delta.setDelay(next.getDelay());
+        }
+        return delta;
+    }
+
+    private void rememberFinished(String run, int seq) {
+        long now = System.currentTimeMillis();
+        finishedRuns.values().removeIf(finished -> now - finished.finishedAt > FINISHED_RUN_RETENTION_MS);
+        finishedRuns.put(run, new FinishedRun(seq, now));
+    }
+
+    private static boolean isFinished(FlightState state) {
+        return state == FlightState.COMPLETED || state == FlightState.CANCELLED;
+    }
+
+    /**
+     * The workflow run that published an event: its event ID minus the trailing sequence.
+     */
+    private static String runOf(FlightStatusEvent event) {
+        String eventId = event.getEventId();
+        if (eventId == null) {
+            return null;
+        }
+        int separator = eventId.lastIndexOf(':');
+        return separator > 0 ? eventId.substring(0, separator) : eventId;
+    }
+
+    private static final class BoardFlight {
+        private final FlightBoardEntry entry;
+        private final String run;
+
+        private BoardFlight(FlightBoardEntry entry, String run) {
+            this.entry = entry;
+            this.run = run;
+        }
+    }
+
+    private record FinishedRun(int seq, long finishedAt) {
+    }
+}
@@ -2,15 +2,20 @@ package com.temporal.jetstream.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service for publishing flight state change events to Kafka.
@@ -21,6 +26,7 @@ public class FlightEventProducer {
 
     private static final Logger logger = LoggerFactory.getLogger(FlightEventProducer.class);
     private static final String TOPIC = "flight-state-changes";
+    private static final String EVENT_ID_HEADER = "eventId";
 
     @Autowired
     private KafkaTemplate<String, String> kafkaTemplate;
@@ -66,6 +72,36 @@ public class FlightEventProducer {
         }
     }
 
+    /**
+     * Publishes a flight status event emitted by the flight workflow.
+     * The eventId is also sent as a record header so consumers can de-duplicate without parsing.
+     *
+     * @param event The event to publish
+     * @return a future completed once the broker has acknowledged the record
+     */
+    public CompletableFuture<SendResult<String, String>> publishFlightEvent(FlightStatusEvent event) {
+        String eventJson;
+        try {
+            eventJson = objectMapper.writeValueAsString(event);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        ProducerRecord<String, String> record = new ProducerRecord<>(TOPIC, event.getFlightNumber(), eventJson);
+        record.headers().add(EVENT_ID_HEADER, event.getEventId().getBytes(StandardCharsets.UTF_8));
+
+        return kafkaTemplate.send(record)
+            .whenComplete((result, ex) -> {
+                if (ex == null) {
+                    logger.info("Published {} event {} to Kafka for flight {}",
+                        event.getEventType(), event.getEventId(), event.getFlightNumber());
+                } else {
+                    logger.error("Failed to publish event {} to Kafka for flight {}: {}",
+                        event.getEventId(), event.getFlightNumber(), ex.getMessage());
+                }
+            });
+    }
+
     /**
      * Publishes a simple state transition event (used by workflows).
      *
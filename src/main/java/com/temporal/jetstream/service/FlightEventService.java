@@ -1,32 +1,147 @@
 package com.temporal.jetstream.service;
 
-import com.temporal.jetstream.model.Flight;
+import com.temporal.jetstream.config.WebSocketBrokerMode;
+import com.temporal.jetstream.dto.FlightDelta;
 import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStatusEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Service for publishing flight state changes to WebSocket clients.
- * Broadcasts updates to all subscribed clients in real-time.
+ * Updates originate from the workflow's status events (see FlightStatusConsumer), not from the
+ * REST endpoints. Each event is applied to the FlightBoard and only the resulting field-level
+ * delta is sent; clients get the full board once, as a snapshot when they subscribe (see
+ * FlightBoardController). Deltas are routed to hierarchical destinations so that clients only
+ * receive the traffic they subscribe to:
+ * <ul>
+ *   <li>/topic/flights - every flight (operations board)</li>
+ *   <li>/topic/flights/{flightNumber} - one flight</li>
+ *   <li>/topic/stations/{code} - flights departing or arriving at a station (gate agents)</li>
+ * </ul>
+ * The broker only delivers to matching subscriptions, so a destination without subscribers
+ * costs no outbound bytes.
  */
 @Service
 public class FlightEventService {
 
     private static final Logger logger = LoggerFactory.getLogger(FlightEventService.class);
 
-    @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    public static final String FLIGHTS_DESTINATION = "/topic/flights";
+    public static final String STATIONS_DESTINATION = "/topic/stations";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final FlightBoard flightBoard;
+    private final FlightUpdateBroadcaster flightUpdateBroadcaster;
+    private final WebSocketBrokerMode brokerMode;
+
+    // In RELAY mode, deltas are computed against a separate board holding only the flights whose
+    // events this node publishes; flightBoard still sees every event and serves snapshots
+    private final FlightBoard publishedBoard;
+
+    // RELAY mode: the flights on publishedBoard by the Kafka partition their events arrive on
+    private final Map<Integer, Set<String>> publishedFlightsByPartition = new ConcurrentHashMap<>();
+
+    public FlightEventService(SimpMessagingTemplate messagingTemplate, FlightBoard flightBoard,
+                              FlightUpdateBroadcaster flightUpdateBroadcaster,
+                              @Value("${websocket.broker.mode:SIMPLE}") WebSocketBrokerMode brokerMode) {
+        this.messagingTemplate = messagingTemplate;
+        this.flightBoard = flightBoard;
+        this.flightUpdateBroadcaster = flightUpdateBroadcaster;
+        this.brokerMode = brokerMode;
+        this.publishedBoard = brokerMode == WebSocketBrokerMode.RELAY ? new FlightBoard(null) : flightBoard;
+    }
+
+    public boolean isRelayMode() {
+        return brokerMode == WebSocketBrokerMode.RELAY;
+    }
+
+    /**
+     * Apply a status event to this node's board without publishing anything. Used in RELAY mode,
+     * where every node keeps a full board for snapshots but only one node publishes each event.
+     */
+    public void updateBoard(FlightStatusEvent event) {
+        flightBoard.apply(event);
+    }
 
     /**
-     * Publish a flight state update to all WebSocket subscribers.
-     * Clients subscribed to /topic/flights will receive this update.
+     * Publish a workflow status event: the delta against this node's board to the flight
+     * destinations (through FlightUpdateBroadcaster, which coalesces deltas per flight) and a
+     * log line to /topic/flight-events. Stale and duplicate events change nothing on the
+     * board and are not sent.
+     *
+     * In RELAY mode a node that publishes for a flight it has not published before sends a full
+     * delta (no prevSeq), for example after a Kafka rebalance; clients replace their copy with it.
+     * The same applies to a flight whose partition was revoked and later assigned back (see
+     * forgetPartitions).
      */
-    public void publishFlightUpdate(Flight flight) {
-        logger.info("Publishing flight update: {} - {}", flight.getFlightNumber(), flight.getCurrentState());
-        messagingTemplate.convertAndSend("/topic/flights", flight);
+    public void publishStatusEvent(FlightStatusEvent event) {
+        FlightDelta delta = publishedBoard.apply(event);
+        if (delta == null) {
+            logger.debug("Ignoring stale status event {} for flight {}", event.getEventId(), event.getFlightNumber());
+            return;
+        }
+        flightUpdateBroadcaster.submit(delta);
+
+        String message = event.getMessage() != null ? event.getMessage() : "State: " + event.getNewState();
+        publishStateChange(event.getFlightNumber(), event.getNewState(), message);
+    }
+
+    /**
+     * Publish a status event received on a Kafka partition of the relay group, remembering the
+     * partition so the flight can be forgotten if the partition moves to another node.
+     */
+    public void publishStatusEvent(FlightStatusEvent event, int partition) {
+        if (isRelayMode()) {
+            publishedFlightsByPartition.computeIfAbsent(partition, p -> ConcurrentHashMap.newKeySet())
+                    .add(event.getFlightNumber());
+        }
+        publishStatusEvent(event);
+    }
+
+    /**
+     * Forget the flights of partitions this node no longer publishes for. Another node publishes
+     * their events in the meantime, so if a partition comes back its first delta per flight must
+     * be a full one, not one computed against the state this node last saw.
+     */
+    public void forgetPartitions(Collection<Integer> partitions) {
+        if (!isRelayMode()) {
+            return;
+        }
+        int forgotten = 0;
+        for (Integer partition : partitions) {
+            Set<String> flights = publishedFlightsByPartition.remove(partition);
+            if (flights != null) {
+                flights.forEach(publishedBoard::remove);
+                forgotten += flights.size();
+            }
+        }
+        logger.info("Forgot {} published flights from revoked partitions {}", forgotten, partitions);
+    }
+
+    /**
+     * Destinations for a flight update: fleet, the flight itself and its departure and arrival stations.
+     */
+    static Set<String> destinationsFor(String flightNumber, String departureStation, String arrivalStation) {
+        Set<String> destinations = new LinkedHashSet<>();
+        destinations.add(FLIGHTS_DESTINATION);
+        destinations.add(FLIGHTS_DESTINATION + "/" + flightNumber);
+        if (departureStation != null) {
+            destinations.add(STATIONS_DESTINATION + "/" + departureStation.toUpperCase());
+        }
+        if (arrivalStation != null) {
+            destinations.add(STATIONS_DESTINATION + "/" + arrivalStation.toUpperCase());
+        }
+        return destinations;
     }
 
     /**
@@ -0,0 +1,191 @@
+package com.temporal.jetstream.service;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.temporal.jetstream.model.Flight;
+import com.temporal.jetstream.workflow.FlightWorkflow;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.api.workflowservice.v1.SignalWorkflowExecutionRequest;
+import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowNotFoundException;
+import io.temporal.client.WorkflowUpdateException;
+import io.temporal.client.WorkflowUpdateHandle;
+import io.temporal.client.WorkflowUpdateStage;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.failure.ApplicationFailure;
+import io.temporal.internal.worker.WorkflowExecutionException;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous signal and update calls to flight workflows; callers never wait on a Temporal
+ * round trip.
+ * Signals use the gRPC future stub directly and complete on gRPC callback threads. Updates go
+ * through an untyped WorkflowStub, so they pass the WorkflowClient's interceptors and context
+ * propagators and use the SDK's update polling; the stub call blocks, so it runs on
+ * blockingCallExecutor.
+ * Updates change the flight and return the updated Flight in one call, replacing the
+ * signal-then-query pair, whose query could also race the signal.
+ */
+@Service
+public class FlightSignalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightSignalService.class);
+
+    // Update names as declared on FlightWorkflow
+    private static final String APPLY_DELAY_UPDATE = "applyDelay";
+    private static final String APPLY_GATE_CHANGE_UPDATE = "applyGateChange";
+    private static final String APPLY_CANCELLATION_UPDATE = "applyCancellation";
+
+    private final WorkflowClient workflowClient;
+    private final WorkflowServiceStubs serviceStubs;
+    private final DataConverter dataConverter;
+    private final String namespace;
+    private final String identity;
+    private final long rpcTimeoutMs;
+    private final ExecutorService blockingCallExecutor;
+
+    public FlightSignalService(WorkflowClient workflowClient,
+                               WorkflowServiceStubs serviceStubs,
+                               @Value("${temporal.async-rpc-timeout-ms:10000}") long rpcTimeoutMs,
+                               @Qualifier("blockingCallExecutor") ExecutorService blockingCallExecutor) {
+        this.workflowClient = workflowClient;
+        this.serviceStubs = serviceStubs;
+        this.dataConverter = workflowClient.getOptions().getDataConverter();
+        this.namespace = workflowClient.getOptions().getNamespace();
+        this.identity = workflowClient.getOptions().getIdentity();
+        this.rpcTimeoutMs = rpcTimeoutMs;
+        this.blockingCallExecutor = blockingCallExecutor;
+    }
+
+    /**
+     * Applies a delay through the applyDelay update and returns the updated flight.
+     */
+    public CompletableFuture<Flight> updateDelay(String workflowId, int minutes) {
+        return update(workflowId, APPLY_DELAY_UPDATE, minutes);
+    }
+
+    /**
+     * Applies a gate change through the applyGateChange update and returns the updated flight.
+     */
+    public CompletableFuture<Flight> updateGate(String workflowId, String newGate) {
+        return update(workflowId, APPLY_GATE_CHANGE_UPDATE, newGate);
+    }
+
+    /**
+     * Cancels the flight through the applyCancellation update and returns it once CANCELLED.
+     */
+    public CompletableFuture<Flight> updateCancellation(String workflowId, String reason) {
+        return update(workflowId, APPLY_CANCELLATION_UPDATE, reason);
+    }
+
+    /**
+     * Sends a workflow update and completes with its result once the update has completed.
+     * Validator rejections complete the future with FlightUpdateRejectedException.
+     */
+    public CompletableFuture<Flight> update(String workflowId, String updateName, Object... args) {
+        logger.debug("Sending {} update to workflow {}", updateName, workflowId);
+        return CompletableFuture
+                .supplyAsync(() -> workflowClient.newUntypedWorkflowStub(workflowId)
+                        .startUpdate(updateName, WorkflowUpdateStage.COMPLETED, Flight.class, args), blockingCallExecutor)
+                .thenCompose(WorkflowUpdateHandle::getResultAsync)
+                .orTimeout(rpcTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(error -> CompletableFuture.<Flight>failedFuture(asRejection(error)));
+    }
+
+    /**
+     * Sends a signal to the latest run of a workflow.
+     */
+    public CompletableFuture<Void> signal(String workflowId, String signalName, Object... args) {
+        SignalWorkflowExecutionRequest.Builder request = SignalWorkflowExecutionRequest.newBuilder()
+                .setNamespace(namespace)
+                .setWorkflowExecution(WorkflowExecution.newBuilder().setWorkflowId(workflowId))
+                .setSignalName(signalName)
+                .setIdentity(identity)
+                // Lets the server de-duplicate if the RPC is retried
+                .setRequestId(UUID.randomUUID().toString());
+        dataConverter.toPayloads(args).ifPresent(request::setInput);
+
+        logger.debug("Sending {} signal to workflow {}", signalName, workflowId);
+        return toCompletableFuture(futureStub().signalWorkflowExecution(request.build()))
+                .thenApply(response -> null);
+    }
+
+    /**
+     * @return true if the failure means the workflow does not exist (or is no longer running)
+     */
+    public static boolean isNotFound(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        // The gRPC stub fails with the status itself; WorkflowStub wraps it in a client exception
+        for (Throwable current = cause; current != null; current = current.getCause()) {
+            if (current instanceof WorkflowNotFoundException) {
+                return true;
+            }
+            if (current instanceof StatusRuntimeException statusException) {
+                return statusException.getStatus().getCode() == Status.Code.NOT_FOUND;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Maps a rejection by an update validator to FlightUpdateRejectedException. Other failures,
+     * including ones thrown by an update handler after it accepted the update, pass through.
+     */
+    private static Throwable asRejection(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof WorkflowUpdateException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof ApplicationFailure applicationFailure && isRejectionType(applicationFailure.getType())) {
+            return new FlightUpdateRejectedException(applicationFailure.getOriginalMessage(), applicationFailure);
+        }
+        return cause;
+    }
+
+    /**
+     * The SDK wraps a TemporalFailure thrown by a validator in a WorkflowExecutionException and
+     * converts the wrapper, so the rejection arrives typed as that wrapper rather than as
+     * UPDATE_REJECTED_FAILURE_TYPE. Only validator rejections are converted that way; a handler
+     * failure keeps its own type.
+     */
+    private static boolean isRejectionType(String type) {
+        return FlightWorkflow.UPDATE_REJECTED_FAILURE_TYPE.equals(type)
+                || WorkflowExecutionException.class.getName().equals(type);
+    }
+
+    private WorkflowServiceGrpc.WorkflowServiceFutureStub futureStub() {
+        return serviceStubs.futureStub().withDeadlineAfter(rpcTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> listenableFuture) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Futures.addCallback(listenableFuture, new FutureCallback<>() {
+            @Override
+            public void onSuccess(T result) {
+                future.complete(result);
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                future.completeExceptionally(error);
+            }
+        }, MoreExecutors.directExecutor());
+        return future;
+    }
+}
@@ -0,0 +1,188 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.dto.BulkStartResult;
+import com.temporal.jetstream.dto.StartFlightRequest;
+import com.temporal.jetstream.model.Flight;
+import com.temporal.jetstream.workflow.FlightSearchAttributes;
+import com.temporal.jetstream.workflow.FlightWorkflow;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowExecutionAlreadyStarted;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.common.SearchAttributes;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Starts flight workflows, either one at a time or in bulk for schedule loads.
+ * Bulk starts run with bounded parallelism and pass through a shared rate limiter, so a large
+ * schedule cannot flood the Temporal frontend with StartWorkflowExecution calls.
+ */
+@Service
+public class FlightStartService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightStartService.class);
+
+    @Autowired
+    private WorkflowClient workflowClient;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    @Qualifier("blockingCallExecutor")
+    private ExecutorService blockingCallExecutor;
+
+    @Value("${temporal.task-queue}")
+    private String taskQueue;
+
+    @Value("${flights.bulk-start.max-concurrency:16}")
+    private int maxConcurrency;
+
+    // Shared by all bulk requests so concurrent schedule loads together stay under the limit
+    private final TokenBucketRateLimiter startRateLimiter;
+
+    public FlightStartService(@Value("${flights.bulk-start.starts-per-second:100}") double startsPerSecond,
+                              @Value("${flights.bulk-start.burst:50}") int burst) {
+        this.startRateLimiter = new TokenBucketRateLimiter(startsPerSecond, burst);
+    }
+
+    /**
+     * Starts a single flight workflow.
+     *
+     * @return the workflow ID
+     * @throws WorkflowExecutionAlreadyStarted if the flight is already running
+     */
+    public String startFlight(StartFlightRequest request) {
+        Flight flight = new Flight(
+                request.getFlightNumber(),
+                request.getFlightDate(),
+                request.getDepartureStation(),
+                request.getArrivalStation(),
+                request.getScheduledDeparture(),
+                request.getScheduledArrival(),
+                request.getGate(),
+                request.getAircraft()
+        );
+
+        String workflowId = String.format("flight-%s-%s", request.getFlightNumber(), request.getFlightDate());
+        WorkflowOptions options = WorkflowOptions.newBuilder()
+                .setWorkflowId(workflowId)
+                .setTaskQueue(taskQueue)
+                // Lets visibility queries (e.g. station-wide batch cancellations) select by station
+                .setTypedSearchAttributes(SearchAttributes.newBuilder()
+                        .set(FlightSearchAttributes.DEPARTURE_STATION, request.getDepartureStation().toUpperCase(Locale.ROOT))
+                        .build())
+                .build();
+
+        // Start workflow asynchronously
+        FlightWorkflow workflow = workflowClient.newWorkflowStub(FlightWorkflow.class, options);
+        WorkflowClient.start(workflow::executeFlight, flight);
+        logger.info("Started flight workflow: {} with ID: {}", request.getFlightNumber(), workflowId);
+        return workflowId;
+    }
+
+    /**
+     * Starts every flight from the iterator, reporting each outcome as soon as it is known.
+     * Requests are pulled from the iterator only when a start slot is free, so a streamed
+     * request body is consumed at the rate flights are started. Results arrive in completion
+     * order; use BulkStartResult.index to correlate them with the input.
+     *
+     * @param requests the flights to start, in input order
+     * @param onResult called once per request, possibly from several threads at once
+     * @return number of requests processed
+     */
+    public int startAll(Iterator<StartFlightRequest> requests, Consumer<BulkStartResult> onResult)
+            throws InterruptedException {
+        Semaphore slots = new Semaphore(maxConcurrency);
+        int index = 0;
+        long start = System.currentTimeMillis();
+
+        try {
+            while (requests.hasNext()) {
+                StartFlightRequest request = requests.next();
+                int itemIndex = index++;
+
+                String violations = validate(request);
+                if (violations != null) {
+                    onResult.accept(new BulkStartResult(itemIndex, request != null ? request.getFlightNumber() : null,
+                            null, BulkStartResult.Status.INVALID, violations));
+                    continue;
+                }
+
+                slots.acquire();
+                try {
+                    startRateLimiter.acquire();
+                    CompletableFuture
+                            .supplyAsync(() -> startOne(itemIndex, request), blockingCallExecutor)
+                            .whenComplete((result, error) -> {
+                                // Hold the slot until the result is written, so the wait below covers the callbacks too
+                                try {
+                                    onResult.accept(result != null ? result : new BulkStartResult(itemIndex,
+                                            request.getFlightNumber(), null, BulkStartResult.Status.FAILED, error.getMessage()));
+                                } finally {
+                                    slots.release();
+                                }
+                            });
+                } catch (RuntimeException | InterruptedException e) {
+                    slots.release();
+                    throw e;
+                }
+            }
+        } finally {
+            // Wait for the in-flight starts to report back, even if reading the input failed; the
+            // caller may close its output as soon as this returns
+            slots.acquireUninterruptibly(maxConcurrency);
+            slots.release(maxConcurrency);
+        }
+
+        logger.info("Bulk start processed {} flights in {} ms", index, System.currentTimeMillis() - start);
+        return index;
+    }
+
+    private BulkStartResult startOne(int index, StartFlightRequest request) {
+        try {
+            String workflowId = startFlight(request);
+            return new BulkStartResult(index, request.getFlightNumber(), workflowId,
+                    BulkStartResult.Status.STARTED, "Flight workflow started successfully");
+        } catch (WorkflowExecutionAlreadyStarted e) {
+            return new BulkStartResult(index, request.getFlightNumber(), e.getExecution().getWorkflowId(),
+                    BulkStartResult.Status.ALREADY_STARTED, "Flight workflow is already running");
+        } catch (Exception e) {
+            logger.error("Error starting flight workflow {}: {}", request.getFlightNumber(), e.getMessage());
+            return new BulkStartResult(index, request.getFlightNumber(), null,
+                    BulkStartResult.Status.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the constraint violations joined into one message, or null if the request is valid
+     */
+    private String validate(StartFlightRequest request) {
+        if (request == null) {
+            return "Request must not be null";
+        }
+        Set<ConstraintViolation<StartFlightRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
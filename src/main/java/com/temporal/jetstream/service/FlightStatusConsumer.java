@@ -0,0 +1,145 @@
+package com.temporal.jetstream.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.KafkaUtils;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Feeds WebSocket clients from the 'flight-state-changes' topic, so every change the workflow
+ * publishes reaches the UI: timer-driven transitions as well as signals from any entry point.
+ *
+ * Each application node consumes with its own consumer group (a random group ID per process by
+ * default), so every node sees every event and keeps a complete FlightBoard. A new group starts
+ * at the latest offset; the board is seeded from the running workflows instead, and clients get
+ * it as a snapshot when they subscribe.
+ *
+ * Who publishes depends on websocket.broker.mode:
+ * <ul>
+ *   <li>SIMPLE - every node publishes every event to its own in-JVM broker, which only reaches
+ *       the clients connected to that node</li>
+ *   <li>RELAY - the nodes share one external broker, so each event must be published once.
+ *       A second listener in the shared websocket.fanout.relay-group-id group publishes; Kafka
+ *       gives each partition to one node, so each event is published by exactly one node. When
+ *       a rebalance takes partitions away, the node forgets the flights it published from them</li>
+ * </ul>
+ */
+@Service
+public class FlightStatusConsumer implements ConsumerSeekAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightStatusConsumer.class);
+    private static final String TOPIC = "flight-state-changes";
+
+    // Recently forwarded event IDs; drops republishes caused by activity retries
+    private static final int SEEN_EVENT_CAPACITY = 10_000;
+
+    @Autowired
+    private FlightEventService flightEventService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${websocket.fanout.relay-group-id:jetstream-websocket-relay}")
+    private String relayGroupId;
+
+    // Separate per listener: in RELAY mode a node receives the same event on both
+    private final Set<String> seenEventIds = newSeenEventSet();
+    private final Set<String> seenRelayEventIds = newSeenEventSet();
+
+    @KafkaListener(topics = TOPIC,
+            groupId = "${websocket.fanout.group-id}",
+            properties = "auto.offset.reset=latest")
+    public void consumeStatusEvent(String message) {
+        FlightStatusEvent event = readEvent(message, seenEventIds);
+        if (event == null) {
+            return;
+        }
+        try {
+            if (flightEventService.isRelayMode()) {
+                flightEventService.updateBoard(event);
+            } else {
+                flightEventService.publishStatusEvent(event);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to forward flight status event to WebSocket clients: {}", message, e);
+        }
+    }
+
+    @KafkaListener(id = "websocket-relay-publisher",
+            topics = TOPIC,
+            groupId = "${websocket.fanout.relay-group-id:jetstream-websocket-relay}",
+            autoStartup = "#{'${websocket.broker.mode:SIMPLE}'.equalsIgnoreCase('RELAY')}",
+            properties = "auto.offset.reset=latest")
+    public void publishToRelay(@Payload String message, @Header(KafkaHeaders.RECEIVED_PARTITION) int partition) {
+        FlightStatusEvent event = readEvent(message, seenRelayEventIds);
+        if (event == null) {
+            return;
+        }
+        try {
+            flightEventService.publishStatusEvent(event, partition);
+        } catch (Exception e) {
+            logger.error("Failed to publish flight status event to the broker relay: {}", message, e);
+        }
+    }
+
+    /**
+     * Called on the consumer thread of whichever listener lost the partitions; only the relay
+     * group's revocations change what this node publishes.
+     */
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        if (relayGroupId.equals(KafkaUtils.getConsumerGroupId())) {
+            flightEventService.forgetPartitions(partitions.stream()
+                    .filter(partition -> TOPIC.equals(partition.topic()))
+                    .map(TopicPartition::partition)
+                    .toList());
+        }
+    }
+
+    /**
+     * Parses an event, or returns null for duplicates and unreadable messages.
+     */
+    private FlightStatusEvent readEvent(String message, Set<String> seen) {
+        try {
+            FlightStatusEvent event = objectMapper.readValue(message, FlightStatusEvent.class);
+            if (event.getEventId() != null && !seen.add(event.getEventId())) {
+                logger.debug("Dropping duplicate status event {}", event.getEventId());
+                return null;
+            }
+            if (event.getEventType() == null) {
+                // Published by a run started before FlightStatusEvent; always a state change
+                event.setEventType(FlightStatusEvent.EventType.STATE_CHANGED);
+            }
+            return event;
+
+        } catch (Exception e) {
+            logger.error("Failed to read flight status event: {}", message, e);
+            return null;
+        }
+    }
+
+    private static Set<String> newSeenEventSet() {
+        return Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > SEEN_EVENT_CAPACITY;
+            }
+        }));
+    }
+}
@@ -0,0 +1,189 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.config.CountingCallerRunsPolicy;
+import com.temporal.jetstream.dto.FlightDelta;
+import com.temporal.jetstream.dto.WebSocketBroadcastStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends flight deltas to WebSocket destinations at most once per flight per frame.
+ *
+ * Deltas submitted for the same flight within websocket.broadcast.frame-interval-ms are merged
+ * into one: the merged delta keeps the first prevSeq, takes the last seq and carries every
+ * field that changed in between, with its latest value. During a signal storm each flight
+ * therefore costs one message per frame however many changes it received. A frame interval
+ * of 0 sends every delta immediately.
+ */
+@Service
+public class FlightUpdateBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightUpdateBroadcaster.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ThreadPoolTaskExecutor outboundExecutor;
+    private final WebSocketMessageBrokerStats brokerStats;
+    private final long frameIntervalMs;
+
+    // Deltas waiting for the next frame, at most one per flight
+    private final Map<String, FlightDelta> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public FlightUpdateBroadcaster(SimpMessagingTemplate messagingTemplate,
+                                   @Qualifier("websocketOutboundExecutor") ThreadPoolTaskExecutor outboundExecutor,
+                                   WebSocketMessageBrokerStats brokerStats,
+                                   @Value("${websocket.broadcast.frame-interval-ms:250}") long frameIntervalMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.outboundExecutor = outboundExecutor;
+        this.brokerStats = brokerStats;
+        this.frameIntervalMs = frameIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (frameIntervalMs <= 0) {
+            logger.info("WebSocket delta coalescing disabled; deltas are sent immediately");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "websocket-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::flush, frameIntervalMs, frameIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("WebSocket deltas coalesced per flight every {} ms", frameIntervalMs);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            flush();
+        }
+    }
+
+    /**
+     * Queues a delta for the next frame, merging it into any delta already waiting for the flight.
+     */
+    public void submit(FlightDelta delta) {
+        submitted.incrementAndGet();
+        if (scheduler == null) {
+            send(delta);
+            return;
+        }
+        pending.merge(delta.getFlightNumber(), delta, (older, newer) -> {
+            coalesced.incrementAndGet();
+            return merge(older, newer);
+        });
+    }
+
+    /**
+     * Sends every waiting delta. Runs once per frame on the broadcaster thread.
+     */
+    void flush() {
+        for (String flightNumber : pending.keySet()) {
+            FlightDelta delta = pending.remove(flightNumber);
+            if (delta == null) {
+                continue;
+            }
+            try {
+                send(delta);
+            } catch (Exception e) {
+                // Clients recover from the missing delta through a resync
+                logger.error("Failed to send delta for flight {}: {}", flightNumber, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Sends a delta to the fleet, flight and station destinations.
+     * The payload is serialized once and the same bytes are sent to each destination.
+     */
+    private void send(FlightDelta delta) {
+        logger.debug("Sending flight delta: {} seq {} (prev {})", delta.getFlightNumber(), delta.getSeq(), delta.getPrevSeq());
+        Message<?> message = messagingTemplate.getMessageConverter().toMessage(delta, null);
+        if (message == null) {
+            throw new IllegalStateException("No message converter for " + delta.getClass().getName());
+        }
+        for (String destination : FlightEventService.destinationsFor(
+                delta.getFlightNumber(), delta.getRouteDeparture(), delta.getRouteArrival())) {
+            messagingTemplate.send(destination, message);
+        }
+        sent.incrementAndGet();
+    }
+
+    /**
+     * Merges two consecutive deltas for one flight. A newer delta without prevSeq starts the
+     * flight over (a new run) and replaces the older one outright.
+     */
+    static FlightDelta merge(FlightDelta older, FlightDelta newer) {
+        if (newer.getPrevSeq() == null) {
+            return newer;
+        }
+        FlightDelta merged = new FlightDelta();
+        merged.setFlightNumber(newer.getFlightNumber());
+        merged.setPrevSeq(older.getPrevSeq());
+        merged.setSeq(newer.getSeq());
+        merged.setFlightDate(newer.getFlightDate() != null ? newer.getFlightDate() : older.getFlightDate());
+        merged.setDepartureStation(newer.getDepartureStation() != null ? newer.getDepartureStation() : older.getDepartureStation());
+        merged.setArrivalStation(newer.getArrivalStation() != null ? newer.getArrivalStation() : older.getArrivalStation());
+        merged.setCurrentState(newer.getCurrentState() != null ? newer.getCurrentState() : older.getCurrentState());
+        merged.setGate(newer.getGate() != null ? newer.getGate() : older.getGate());
+        merged.setDelay(newer.getDelay() != null ? newer.getDelay() : older.getDelay());
+        merged.setStartedAt(newer.getStartedAt() != null ? newer.getStartedAt() : older.getStartedAt());
+        merged.setRouteDeparture(newer.getRouteDeparture());
+        merged.setRouteArrival(newer.getRouteArrival());
+        return merged;
+    }
+
+    public WebSocketBroadcastStats getStats() {
+        WebSocketBroadcastStats stats = new WebSocketBroadcastStats();
+        stats.setFrameIntervalMs(frameIntervalMs);
+        stats.setPendingFlights(pending.size());
+        stats.setSubmittedDeltas(submitted.get());
+        stats.setCoalescedDeltas(coalesced.get());
+        stats.setSentDeltas(sent.get());
+        if (outboundExecutor != null) {
+            ThreadPoolExecutor executor = outboundExecutor.getThreadPoolExecutor();
+            stats.setOutboundQueueDepth(executor.getQueue().size());
+            stats.setOutboundActiveThreads(executor.getActiveCount());
+            if (executor.getRejectedExecutionHandler() instanceof CountingCallerRunsPolicy policy) {
+                stats.setOutboundCallerRuns(policy.getCallerRuns());
+            }
+        }
+        SubProtocolWebSocketHandler.Stats sessions = brokerStats != null ? brokerStats.getWebSocketSessionStats() : null;
+        if (sessions != null) {
+            stats.setWebSocketSessions(sessions.getWebSocketSessions());
+            stats.setTotalSessions(sessions.getTotalSessions());
+            stats.setSendLimitExceededSessions(sessions.getLimitExceededSessions());
+            stats.setTransportErrorSessions(sessions.getTransportErrorSessions());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,12 @@
+package com.temporal.jetstream.service;
+
+/**
+ * Thrown when a flight workflow's update validator rejects a change (for example a negative delay
+ * or a change to a flight that has already completed).
+ */
+public class FlightUpdateRejectedException extends RuntimeException {
+
+    public FlightUpdateRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
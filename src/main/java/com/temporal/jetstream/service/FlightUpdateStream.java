@@ -0,0 +1,371 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.dto.FlightBoardEntry;
+import com.temporal.jetstream.dto.FlightBoardSnapshot;
+import com.temporal.jetstream.dto.FlightDelta;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-Sent Events feed of the board's deltas (GET /api/flights/stream), for read-only
+ * dashboards and kiosks that do not need SockJS and STOMP.
+ *
+ * The protocol matches the WebSocket one: a 'snapshot' event, then 'delta' events with
+ * seq/prevSeq. Every event carries an ID, and the most recent deltas are kept in a bounded ring
+ * buffer. A client that reconnects with Last-Event-ID gets the deltas it missed replayed from
+ * the buffer instead of a new snapshot. IDs are prefixed with this process's start time, so an
+ * ID from another node or from before a restart, or one that has left the buffer, falls back
+ * to a snapshot.
+ *
+ * Each subscriber has its own bounded queue, drained by one virtual thread at a time, so events
+ * reach each client in order and a slow client blocks neither the Kafka listener that produced
+ * the delta nor any other client. A client that falls more than
+ * flights.stream.subscriber-queue-size events behind is closed; its EventSource reconnects with
+ * Last-Event-ID and catches up from the ring buffer, or from a new snapshot.
+ */
+@Service
+public class FlightUpdateStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightUpdateStream.class);
+
+    private final FlightBoard flightBoard;
+    private final int bufferSize;
+    private final int maxConnections;
+    private final long timeoutMs;
+    private final long heartbeatMs;
+    private final int subscriberQueueSize;
+
+    // Identifies this process in event IDs: "{epoch}-{sequence}"
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<StreamEvent> buffer = new ArrayDeque<>();
+    private long lastSequence = 0;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong laggingClosed = new AtomicLong();
+
+    private ExecutorService writers;
+    private ScheduledExecutorService heartbeats;
+
+    public FlightUpdateStream(FlightBoard flightBoard,
+                              @Value("${flights.stream.buffer-size:10000}") int bufferSize,
+                              @Value("${flights.stream.max-connections:1000}") int maxConnections,
+                              @Value("${flights.stream.timeout-ms:1800000}") long timeoutMs,
+                              @Value("${flights.stream.heartbeat-ms:15000}") long heartbeatMs,
+                              @Value("${flights.stream.subscriber-queue-size:1000}") int subscriberQueueSize) {
+        this.flightBoard = flightBoard;
+        this.bufferSize = bufferSize;
+        this.maxConnections = maxConnections;
+        this.timeoutMs = timeoutMs;
+        this.heartbeatMs = heartbeatMs;
+        this.subscriberQueueSize = subscriberQueueSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        // A writer blocked on a slow socket parks its virtual thread, not a pool thread
+        writers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("flight-update-stream-", 0).factory());
+        if (heartbeatMs > 0) {
+            heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "flight-update-stream-heartbeat");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // Keeps idle connections open through proxies that close silent responses
+            heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        }
+        flightBoard.addListener(this::publish);
+        logger.info("Flight update stream ready (buffer={} events, maxConnections={}, subscriberQueue={})",
+                bufferSize, maxConnections, subscriberQueueSize);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (heartbeats != null) {
+            heartbeats.shutdown();
+        }
+        subscribers.forEach(this::close);
+        writers.shutdown();
+        writers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Opens a stream for the given filter.
+     *
+     * @param lastEventId the Last-Event-ID sent by a reconnecting client, or null
+     * @return the emitter, or null if the connection limit is reached
+     */
+    public SseEmitter subscribe(StreamFilter filter, String lastEventId) {
+        // Checking the limit and registering under the lock means concurrent requests cannot
+        // both take the last slot. Queueing the catch-up there too means no delta falls between
+        // the replay (or snapshot) and the live events, and none is sent twice
+        lock.lock();
+        try {
+            if (subscribers.size() >= maxConnections) {
+                return null;
+            }
+            SseEmitter emitter = newEmitter(timeoutMs);
+            Subscriber subscriber = new Subscriber(emitter, filter);
+            emitter.onCompletion(() -> detach(subscriber));
+            emitter.onTimeout(() -> detach(subscriber));
+            emitter.onError(error -> detach(subscriber));
+
+            List<StreamEvent> missed = replaySince(lastEventId, filter);
+            subscribers.add(subscriber);
+            // A replay longer than the subscriber's queue would close it again straight away
+            if (missed != null && missed.size() <= subscriberQueueSize) {
+                logger.debug("Resuming stream after {} with {} missed deltas", lastEventId, missed.size());
+                missed.forEach(event -> enqueue(subscriber, deltaEvent(event)));
+            } else {
+                List<FlightBoardEntry> flights = flightBoard.snapshot().stream()
+                        .filter(filter::matches)
+                        .toList();
+                enqueue(subscriber, SseEmitter.event()
+                        .id(eventId(lastSequence))
+                        .name("snapshot")
+                        .data(new FlightBoardSnapshot(flights), MediaType.APPLICATION_JSON));
+            }
+            return emitter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a delta in the ring buffer and queues it for every matching subscriber.
+     */
+    public void publish(FlightDelta delta) {
+        lock.lock();
+        try {
+            StreamEvent event = new StreamEvent(++lastSequence, delta);
+            buffer.addLast(event);
+            if (buffer.size() > bufferSize) {
+                buffer.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.filter.matches(delta)) {
+                    enqueue(subscriber, deltaEvent(event));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Buffered deltas after lastEventId that match the filter, or null if the client cannot
+     * resume from it and needs a snapshot. Must be called with the lock held.
+     */
+    List<StreamEvent> replaySince(String lastEventId, StreamFilter filter) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long oldest = buffer.isEmpty() ? lastSequence + 1 : buffer.peekFirst().sequence();
+        // Resumable if nothing after 'after' has been evicted yet
+        if (after > lastSequence || after < oldest - 1) {
+            return null;
+        }
+        List<StreamEvent> missed = new ArrayList<>();
+        for (StreamEvent event : buffer) {
+            if (event.sequence() > after && filter.matches(event.delta())) {
+                missed.add(event);
+            }
+        }
+        return missed;
+    }
+
+    public int getConnectionCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Subscribers closed because their queue was full.
+     */
+    public long getLaggingClosed() {
+        return laggingClosed.get();
+    }
+
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            // A subscriber with events waiting needs no keepalive, and one must not push it over its limit
+            if (subscriber.pendingCount.get() == 0) {
+                enqueue(subscriber, SseEmitter.event().comment("keepalive"));
+            }
+        }
+    }
+
+    private SseEmitter.SseEventBuilder deltaEvent(StreamEvent event) {
+        return SseEmitter.event()
+                .id(eventId(event.sequence()))
+                .name("delta")
+                .data(event.delta(), MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Queues an event for the subscriber's writer, or closes the subscriber if it is too far behind.
+     * Never blocks.
+     */
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (subscriber.pendingCount.incrementAndGet() > subscriberQueueSize) {
+            subscriber.pendingCount.decrementAndGet();
+            laggingClosed.incrementAndGet();
+            logger.info("Closing stream subscriber more than {} events behind; it resumes on reconnect",
+                    subscriberQueueSize);
+            close(subscriber);
+            return;
+        }
+        subscriber.pending.add(event);
+        scheduleDrain(subscriber);
+    }
+
+    /**
+     * Stops queueing to the subscriber and has its writer complete the response once any write in
+     * progress returns. The emitter is only touched from the writer, so a slow socket never blocks
+     * the caller.
+     */
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+        scheduleDrain(subscriber);
+    }
+
+    /**
+     * Forgets a subscriber whose response has already completed, timed out or failed.
+     */
+    private void detach(Subscriber subscriber) {
+        subscriber.completed.set(true);
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                writers.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed && (event = subscriber.pending.poll()) != null) {
+                subscriber.pendingCount.decrementAndGet();
+                send(subscriber, event);
+            }
+            if (subscriber.closed) {
+                subscriber.pending.clear();
+                if (subscriber.completed.compareAndSet(false, true)) {
+                    subscriber.emitter.complete();
+                }
+                return;
+            }
+            subscriber.draining.set(false);
+            // Re-check: an event queued (or a close) after the last poll found this writer still running
+        } while ((subscriber.closed || !subscriber.pending.isEmpty()) && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; EventSource reconnects with Last-Event-ID if it still wants updates
+            logger.debug("Dropping stream subscriber: {}", e.getMessage());
+            subscriber.closed = true;
+            subscribers.remove(subscriber);
+            if (subscriber.completed.compareAndSet(false, true)) {
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    record StreamEvent(long sequence, FlightDelta delta) {
+    }
+
+    /**
+     * Flights a stream subscriber wants: specific flight numbers, flights at a station, or
+     * everything when both are empty. Both given means either matches.
+     */
+    public record StreamFilter(Set<String> flightNumbers, String station) {
+
+        public boolean matches(FlightDelta delta) {
+            return matches(delta.getFlightNumber(), delta.getRouteDeparture(), delta.getRouteArrival());
+        }
+
+        public boolean matches(FlightBoardEntry entry) {
+            return matches(entry.getFlightNumber(), entry.getDepartureStation(), entry.getArrivalStation());
+        }
+
+        private boolean matches(String flightNumber, String departure, String arrival) {
+            boolean byFlight = flightNumbers != null && !flightNumbers.isEmpty();
+            boolean byStation = station != null && !station.isBlank();
+            if (!byFlight && !byStation) {
+                return true;
+            }
+            return (byFlight && flightNumbers.contains(flightNumber))
+                    || (byStation && (station.equalsIgnoreCase(departure) || station.equalsIgnoreCase(arrival)));
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final StreamFilter filter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        // Set while a writer owns the emitter; at most one writes to it at a time
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, StreamFilter filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+    }
+}
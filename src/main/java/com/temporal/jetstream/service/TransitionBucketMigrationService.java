@@ -0,0 +1,119 @@
+package com.temporal.jetstream.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.repository.FlightTransitionBucketRepository;
+import com.temporal.jetstream.repository.TransitionRetentionPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Copies transitions from the per-document flight_state_transitions collection into
+ * flight_transition_buckets. The migration is idempotent: transitions already present in their
+ * bucket are skipped, so it can be re-run after a failure or while the application is writing.
+ * The source collection is left untouched; drop it once the buckets have been verified.
+ */
+@Service
+public class TransitionBucketMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransitionBucketMigrationService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final FlightTransitionBucketRepository bucketRepository;
+    private final TransitionRetentionPolicy retentionPolicy;
+    private final ReentrantLock migrationLock = new ReentrantLock();
+
+    public TransitionBucketMigrationService(MongoTemplate mongoTemplate,
+                                            FlightTransitionBucketRepository bucketRepository,
+                                            TransitionRetentionPolicy retentionPolicy) {
+        this.mongoTemplate = mongoTemplate;
+        this.bucketRepository = bucketRepository;
+        this.retentionPolicy = retentionPolicy;
+    }
+
+    /**
+     * Migrates every transition document into its flight-date bucket.
+     *
+     * @param batchSize number of transitions per bulk write
+     * @return counts of transitions read, appended and skipped, plus the elapsed time
+     */
+    public Map<String, Object> migrateToBuckets(int batchSize) {
+        // A lock rather than synchronized, so a virtual request thread does not pin its carrier during I/O
+        migrationLock.lock();
+        try {
+            return migrate(batchSize);
+        } finally {
+            migrationLock.unlock();
+        }
+    }
+
+    private Map<String, Object> migrate(int batchSize) {
+        long start = System.currentTimeMillis();
+        long read = 0;
+        long skipped = 0;
+        logger.info("Migrating flight_state_transitions into flight_transition_buckets (batchSize={})", batchSize);
+
+        try (Stream<FlightStateTransition> transitions = mongoTemplate.stream(new Query(), FlightStateTransition.class)) {
+            List<FlightStateTransition> batch = new ArrayList<>(batchSize);
+            Iterator<FlightStateTransition> iterator = transitions.iterator();
+            while (iterator.hasNext()) {
+                FlightStateTransition transition = iterator.next();
+                if (transition.getExpireAt() == null) {
+                    transition.setExpireAt(retentionPolicy.expireAt(transition.getFlightDate()));
+                }
+                batch.add(transition);
+                read++;
+                if (batch.size() >= batchSize) {
+                    skipped += appendBatch(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                skipped += appendBatch(batch);
+            }
+        }
+
+        long elapsedMs = System.currentTimeMillis() - start;
+        logger.info("Migrated {} transitions into buckets ({} already present) in {} ms",
+                read - skipped, skipped, elapsedMs);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("transitionsRead", read);
+        result.put("transitionsMigrated", read - skipped);
+        result.put("transitionsSkipped", skipped);
+        result.put("bucketCount", bucketRepository.count());
+        result.put("elapsedMs", elapsedMs);
+        return result;
+    }
+
+    /**
+     * @return number of transitions that were already present in their bucket
+     */
+    private long appendBatch(List<FlightStateTransition> batch) {
+        try {
+            bucketRepository.appendAll(batch);
+            return 0;
+        } catch (BulkOperationException e) {
+            long skipped = 0;
+            for (BulkWriteError error : e.getErrors()) {
+                // appendIfAbsent tells a real duplicate apart from a bucket created concurrently
+                if (!bucketRepository.appendIfAbsent(batch.get(error.getIndex()))) {
+                    skipped++;
+                }
+            }
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.repository.FlightStateTransitionRepository;
+import com.temporal.jetstream.repository.FlightTransitionBucketRepository;
+import com.temporal.jetstream.repository.TransitionStorageMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Reads flight state transition history from whichever storage layout is configured
+ * with persistence.storage-mode.
+ */
+@Service
+public class TransitionHistoryService {
+
+    private final FlightStateTransitionRepository transitionRepository;
+    private final FlightTransitionBucketRepository bucketRepository;
+    private final TransitionStorageMode storageMode;
+
+    public TransitionHistoryService(FlightStateTransitionRepository transitionRepository,
+                                    FlightTransitionBucketRepository bucketRepository,
+                                    @Value("${persistence.storage-mode:DOCUMENT}") TransitionStorageMode storageMode) {
+        this.transitionRepository = transitionRepository;
+        this.bucketRepository = bucketRepository;
+        this.storageMode = storageMode;
+    }
+
+    /**
+     * Stream one page of a flight's transition history, most recent first.
+     * The caller must close the returned stream.
+     *
+     * @see FlightStateTransitionRepository#streamHistory
+     */
+    public Stream<FlightStateTransition> streamHistory(String flightNumber, LocalDate fromDate, LocalDate toDate,
+                                                       LocalDateTime before, String beforeId, int limit) {
+        if (storageMode == TransitionStorageMode.BUCKET) {
+            return bucketRepository.streamHistory(flightNumber, fromDate, toDate, before, beforeId, limit);
+        }
+        return transitionRepository.streamHistory(flightNumber, fromDate, toDate, before, beforeId, limit);
+    }
+}
@@ -1,56 +1,224 @@
 package com.temporal.jetstream.service;
 
+import com.temporal.jetstream.activity.FlightEventActivity;
+import com.temporal.jetstream.activity.PersistenceActivity;
+import com.temporal.jetstream.config.WorkerRole;
+import com.temporal.jetstream.config.WorkerSettings;
+import com.temporal.jetstream.dto.WorkerRestartResult;
 import com.temporal.jetstream.workflow.FlightWorkflowImpl;
 import com.temporal.jetstream.workflow.MultiLegFlightWorkflowImpl;
+import io.temporal.activity.ActivityOptions;
 import io.temporal.client.WorkflowClient;
+import io.temporal.common.metadata.POJOActivityInterfaceMetadata;
 import io.temporal.worker.Worker;
 import io.temporal.worker.WorkerFactory;
+import io.temporal.worker.WorkflowImplementationOptions;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns this process's Temporal workers: creates and starts them on startup, drains them on
+ * shutdown, and restarts them on demand (POST /api/admin/restart-worker) to demonstrate that
+ * running workflows resume from their last checkpoint.
+ *
+ * Workflows poll temporal.task-queue and activities poll temporal.activity-task-queue; when the
+ * two are the same, one worker serves both. temporal.worker.role limits the process to one side.
+ *
+ * A restart builds and registers a replacement factory first, then drains the current one:
+ * pollers stop, and in-flight workflow tasks and activities get up to
+ * temporal.worker.drain-timeout-ms to finish before they are interrupted. The replacement is
+ * then started and swapped in, so getWorkerFactory() always returns a complete factory.
+ */
 @Service
 public class WorkerManagementService {
 
     private static final Logger logger = LoggerFactory.getLogger(WorkerManagementService.class);
 
-    @Autowired
-    private WorkflowClient workflowClient;
+    private final WorkflowClient workflowClient;
+    private final WorkerSettings workerSettings;
+    private final FlightEventActivity flightEventActivity;
+    private final PersistenceActivity persistenceActivity;
+    private final String taskQueue;
+    private final String activityTaskQueue;
+    private final WorkerRole workerRole;
+    private final long drainTimeoutMs;
+
+    private final AtomicReference<WorkerFactory> workerFactory = new AtomicReference<>();
 
-    @Autowired
-    private WorkerFactory workerFactory;
+    // Serializes restarts with each other and with shutdown
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+
+    public WorkerManagementService(WorkflowClient workflowClient,
+                                   WorkerSettings workerSettings,
+                                   FlightEventActivity flightEventActivity,
+                                   PersistenceActivity persistenceActivity,
+                                   @Value("${temporal.task-queue}") String taskQueue,
+                                   @Value("${temporal.activity-task-queue:}") String activityTaskQueue,
+                                   @Value("${temporal.worker.role:ALL}") WorkerRole workerRole,
+                                   @Value("${temporal.worker.drain-timeout-ms:30000}") long drainTimeoutMs) {
+        this.workflowClient = workflowClient;
+        this.workerSettings = workerSettings;
+        this.flightEventActivity = flightEventActivity;
+        this.persistenceActivity = persistenceActivity;
+        this.taskQueue = taskQueue;
+        // Empty: activities share the workflow task queue
+        this.activityTaskQueue = activityTaskQueue.isBlank() ? taskQueue : activityTaskQueue;
+        this.workerRole = workerRole;
+        this.drainTimeoutMs = drainTimeoutMs;
+    }
 
-    @Value("${temporal.task-queue}")
-    private String taskQueue;
+    @PostConstruct
+    public void start() {
+        WorkerFactory factory = newWorkerFactory();
+        factory.start();
+        workerFactory.set(factory);
+        logger.info("Workers started for task queues: {}", taskQueues());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        lifecycleLock.lock();
+        try {
+            WorkerFactory factory = workerFactory.getAndSet(null);
+            if (factory != null) {
+                drain(factory);
+                logger.info("Worker stopped");
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
 
     /**
-     * Simulates a worker failure by stopping and restarting the worker.
-     * This demonstrates Temporal's durability - workflows will resume from their last checkpoint.
+     * Drains the running workers and replaces them with freshly registered ones.
+     *
+     * @throws IllegalStateException if another restart is in progress or the workers are stopped
      */
-    public synchronized void restartWorker() throws InterruptedException {
-        logger.info("Stopping worker to simulate failure...");
+    public WorkerRestartResult restartWorker() throws InterruptedException {
+        if (!lifecycleLock.tryLock()) {
+            throw new IllegalStateException("A worker restart is already in progress");
+        }
+        try {
+            WorkerFactory current = workerFactory.get();
+            if (current == null) {
+                throw new IllegalStateException("Workers are stopped");
+            }
+            long start = System.nanoTime();
 
-        // Shutdown the worker factory (simulates process death)
-        workerFactory.shutdown();
-        logger.info("Worker stopped");
+            // Register everything before touching the running workers, so a failure here leaves them as they are
+            WorkerFactory replacement = newWorkerFactory();
 
-        // Wait a moment to simulate downtime
-        Thread.sleep(1000);
+            logger.info("Draining workers to simulate failure (timeout {} ms)...", drainTimeoutMs);
+            long drainStart = System.nanoTime();
+            boolean drained = drain(current);
+            long drainMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - drainStart);
 
-        // Create a new worker factory and worker
-        logger.info("Restarting worker...");
-        WorkerFactory newWorkerFactory = WorkerFactory.newInstance(workflowClient);
-        Worker newWorker = newWorkerFactory.newWorker(taskQueue);
-        newWorker.registerWorkflowImplementationTypes(FlightWorkflowImpl.class, MultiLegFlightWorkflowImpl.class);
+            replacement.start();
+            workerFactory.set(replacement);
+
+            long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            logger.info("Workers restarted in {} ms (drained={} in {} ms). Workflows will resume from last checkpoint.",
+                    totalMillis, drained, drainMillis);
+            return new WorkerRestartResult(drained, drainMillis, totalMillis, taskQueues());
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * The running worker factory, or null once stopped.
+     */
+    public WorkerFactory getWorkerFactory() {
+        return workerFactory.get();
+    }
 
-        // Start the new worker
-        newWorkerFactory.start();
-        logger.info("Worker restarted. Workflows will resume from last checkpoint.");
+    /**
+     * Schedules the flight workflows' activities on the given task queue. The workflows create
+     * their stubs with explicit options, which replace default activity options entirely, so the
+     * queue is set per activity type; those options are merged into the stubs' own.
+     */
+    public static WorkflowImplementationOptions workflowImplementationOptions(String activityTaskQueue) {
+        ActivityOptions onActivityQueue = ActivityOptions.newBuilder()
+                .setTaskQueue(activityTaskQueue)
+                .build();
+        Map<String, ActivityOptions> activityOptions = new HashMap<>();
+        for (Class<?> activityInterface : List.of(FlightEventActivity.class, PersistenceActivity.class)) {
+            POJOActivityInterfaceMetadata.newInstance(activityInterface).getMethodsMetadata()
+                    .forEach(method -> activityOptions.put(method.getActivityTypeName(), onActivityQueue));
+        }
+        return WorkflowImplementationOptions.newBuilder()
+                .setActivityOptions(activityOptions)
+                .build();
+    }
+
+    /**
+     * A factory with this process's workers registered but not started.
+     */
+    private WorkerFactory newWorkerFactory() {
+        WorkerFactory factory = WorkerFactory.newInstance(workflowClient, workerSettings.workerFactoryOptions());
+        boolean sharedQueue = activityTaskQueue.equals(taskQueue);
+
+        if (workerRole.runsWorkflows()) {
+            boolean withActivities = sharedQueue && workerRole.runsActivities();
+            Worker worker = factory.newWorker(taskQueue, withActivities
+                    ? workerSettings.workerOptions()
+                    : workerSettings.workflowWorkerOptions());
+            worker.registerWorkflowImplementationTypes(workflowImplementationOptions(activityTaskQueue),
+                    FlightWorkflowImpl.class, MultiLegFlightWorkflowImpl.class);
+            logger.info("Registered FlightWorkflowImpl and MultiLegFlightWorkflowImpl for task queue: {} "
+                    + "(activities on {})", taskQueue, activityTaskQueue);
+            if (withActivities) {
+                worker.registerActivitiesImplementations(flightEventActivity, persistenceActivity);
+                logger.info("Registered FlightEventActivity and PersistenceActivity for task queue: {}", taskQueue);
+            }
+        }
+        if (workerRole.runsActivities() && (!sharedQueue || !workerRole.runsWorkflows())) {
+            Worker worker = factory.newWorker(activityTaskQueue, workerSettings.activityWorkerOptions());
+            worker.registerActivitiesImplementations(flightEventActivity, persistenceActivity);
+            logger.info("Registered FlightEventActivity and PersistenceActivity for task queue: {}", activityTaskQueue);
+        }
+        logger.info("Worker role {}: {}", workerRole, workerSettings.describe());
+        return factory;
+    }
+
+    /**
+     * Stops polling and waits for in-flight tasks, interrupting them after the drain timeout.
+     *
+     * @return true if every task finished within the timeout
+     */
+    private boolean drain(WorkerFactory factory) throws InterruptedException {
+        factory.shutdown();
+        // awaitTermination returns nothing; isTerminated tells whether the drain finished in time
+        factory.awaitTermination(drainTimeoutMs, TimeUnit.MILLISECONDS);
+        if (factory.isTerminated()) {
+            return true;
+        }
+        logger.warn("Workers did not drain within {} ms; interrupting remaining tasks", drainTimeoutMs);
+        factory.shutdownNow();
+        factory.awaitTermination(5, TimeUnit.SECONDS);
+        return false;
+    }
 
-        // Update the reference (note: in a production system, this would need proper lifecycle management)
-        // For this demo, we're accepting that the old factory reference in TemporalConfig won't be updated
-        // The workflows will resume on the new worker
+    private List<String> taskQueues() {
+        List<String> queues = new ArrayList<>();
+        if (workerRole.runsWorkflows()) {
+            queues.add(taskQueue);
+        }
+        if (workerRole.runsActivities() && !queues.contains(activityTaskQueue)) {
+            queues.add(activityTaskQueue);
+        }
+        return queues;
     }
 }
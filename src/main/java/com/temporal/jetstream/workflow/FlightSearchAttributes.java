@@ -0,0 +1,16 @@
+package com.temporal.jetstream.workflow;
+
+import io.temporal.common.SearchAttributeKey;
+
+/**
+ * Custom search attributes set on flight workflows, used by visibility queries such as
+ * station-wide batch operations. They must be registered on the namespace before use.
+ */
+public final class FlightSearchAttributes {
+
+    public static final SearchAttributeKey<String> DEPARTURE_STATION =
+            SearchAttributeKey.forKeyword("DepartureStation");
+
+    private FlightSearchAttributes() {
+    }
+}
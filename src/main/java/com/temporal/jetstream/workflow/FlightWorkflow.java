@@ -4,12 +4,19 @@ import com.temporal.jetstream.model.Flight;
 import com.temporal.jetstream.model.FlightState;
 import io.temporal.workflow.QueryMethod;
 import io.temporal.workflow.SignalMethod;
+import io.temporal.workflow.UpdateMethod;
+import io.temporal.workflow.UpdateValidatorMethod;
 import io.temporal.workflow.WorkflowInterface;
 import io.temporal.workflow.WorkflowMethod;
 
 @WorkflowInterface
 public interface FlightWorkflow {
 
+    /**
+     * ApplicationFailure type the update validators reject with.
+     */
+    String UPDATE_REJECTED_FAILURE_TYPE = "FlightUpdateRejected";
+
     @WorkflowMethod
     Flight executeFlight(Flight flight);
 
@@ -22,6 +29,35 @@ public interface FlightWorkflow {
     @SignalMethod
     void cancelFlight(String reason);
 
+    /**
+     * Update variant of announceDelay: validates the delay and returns the updated flight,
+     * so callers get the result in the same round trip as the change.
+     */
+    @UpdateMethod
+    Flight applyDelay(int minutes);
+
+    @UpdateValidatorMethod(updateName = "applyDelay")
+    void validateDelay(int minutes);
+
+    /**
+     * Update variant of changeGate: validates the gate and returns the updated flight.
+     */
+    @UpdateMethod
+    Flight applyGateChange(String newGate);
+
+    @UpdateValidatorMethod(updateName = "applyGateChange")
+    void validateGateChange(String newGate);
+
+    /**
+     * Update variant of cancelFlight: completes once the flight has moved to CANCELLED and
+     * returns the cancelled flight.
+     */
+    @UpdateMethod
+    Flight applyCancellation(String reason);
+
+    @UpdateValidatorMethod(updateName = "applyCancellation")
+    void validateCancellation(String reason);
+
     @QueryMethod
     FlightState getCurrentState();
 
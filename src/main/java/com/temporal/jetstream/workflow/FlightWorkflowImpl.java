@@ -5,12 +5,19 @@ import com.temporal.jetstream.activity.PersistenceActivity;
 import com.temporal.jetstream.model.Flight;
 import com.temporal.jetstream.model.FlightState;
 import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.model.FlightStatusEvent;
 import io.temporal.activity.ActivityOptions;
+import io.temporal.common.RetryOptions;
+import io.temporal.failure.ApplicationFailure;
+import io.temporal.workflow.Async;
 import io.temporal.workflow.Workflow;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
 import java.util.Random;
 
 public class FlightWorkflowImpl implements FlightWorkflow {
@@ -30,11 +37,34 @@ public class FlightWorkflowImpl implements FlightWorkflow {
     // Instance variable to track current flight state for queries
     private Flight currentFlight = null;
 
-    // Activity stub for publishing state changes to Kafka
+    // Sequence number of the next persisted transition, used to derive deterministic document IDs
+    private int transitionSequence = 0;
+
+    // Whether phase waits end early on cancellation (false when replaying runs started before that change)
+    private boolean interruptiblePhases = false;
+
+    // Version of the Kafka publication path, resolved on first use (see publishesFlightEvents)
+    private Integer flightEventsVersion = null;
+
+    // Whether transitions are persisted before they are published, resolved on first use
+    // (runs started earlier published first and keep that order on replay)
+    private Boolean persistsBeforePublishing = null;
+
+    // Sequence number of the next published FlightStatusEvent, used to derive deduplication keys
+    private int eventSequence = 0;
+
+    // Activity stub for publishing state changes to Kafka. Retries are bounded so a broker
+    // outage delays a transition by at most the schedule-to-close timeout instead of stalling the flight
     private final FlightEventActivity flightEventActivity = Workflow.newActivityStub(
         FlightEventActivity.class,
         ActivityOptions.newBuilder()
             .setStartToCloseTimeout(Duration.ofSeconds(10))
+            .setScheduleToCloseTimeout(Duration.ofSeconds(30))
+            .setRetryOptions(RetryOptions.newBuilder()
+                .setInitialInterval(Duration.ofSeconds(1))
+                .setMaximumInterval(Duration.ofSeconds(10))
+                .setMaximumAttempts(5)
+                .build())
             .build()
     );
 
@@ -51,6 +81,9 @@ public class FlightWorkflowImpl implements FlightWorkflow {
         // Track current flight for queries
         currentFlight = flight;
 
+        // Runs started before cancellations could interrupt a phase keep sleeping through it on replay
+        interruptiblePhases = Workflow.getVersion("interruptible-phase-wait", Workflow.DEFAULT_VERSION, 1) == 1;
+
         // Initialize gate if provided
         if (flight.getGate() != null) {
             currentGate = flight.getGate();
@@ -74,7 +107,7 @@ public class FlightWorkflowImpl implements FlightWorkflow {
         logger.info("Flight {} is SCHEDULED. Sleeping for {}",
             flight.getFlightNumber(), formatDuration(scheduledToBoardingDuration));
         publishStateTransition(flight, null, FlightState.SCHEDULED);
-        Workflow.sleep(scheduledToBoardingDuration);
+        waitForPhase(scheduledToBoardingDuration);
 
         // Check for cancellation
         if (cancelled) {
@@ -86,7 +119,7 @@ public class FlightWorkflowImpl implements FlightWorkflow {
         logger.info("Flight {} is BOARDING. Sleeping for {}",
             flight.getFlightNumber(), formatDuration(boardingToDepartedDuration));
         publishStateTransition(flight, FlightState.SCHEDULED, FlightState.BOARDING);
-        Workflow.sleep(boardingToDepartedDuration);
+        waitForPhase(boardingToDepartedDuration);
 
         // Check for cancellation
         if (cancelled) {
@@ -98,7 +131,7 @@ public class FlightWorkflowImpl implements FlightWorkflow {
         logger.info("Flight {} has DEPARTED. Sleeping for {}",
             flight.getFlightNumber(), formatDuration(departedToInflightDuration));
         publishStateTransition(flight, FlightState.BOARDING, FlightState.DEPARTED);
-        Workflow.sleep(departedToInflightDuration);
+        waitForPhase(departedToInflightDuration);
 
         // Check for cancellation
         if (cancelled) {
@@ -110,7 +143,7 @@ public class FlightWorkflowImpl implements FlightWorkflow {
         logger.info("Flight {} is IN_FLIGHT. Sleeping for {}",
             flight.getFlightNumber(), formatDuration(inflightToLandedDuration));
         publishStateTransition(flight, FlightState.DEPARTED, FlightState.IN_FLIGHT);
-        Workflow.sleep(inflightToLandedDuration);
+        waitForPhase(inflightToLandedDuration);
 
         // Check for cancellation
         if (cancelled) {
@@ -135,6 +168,18 @@ public class FlightWorkflowImpl implements FlightWorkflow {
         return flight;
     }
 
+    /**
+     * Waits out a flight phase. A cancellation ends the wait early, so the flight moves to
+     * CANCELLED as soon as it is requested instead of at the end of the phase.
+     */
+    private void waitForPhase(Duration duration) {
+        if (interruptiblePhases) {
+            Workflow.await(duration, () -> cancelled);
+        } else {
+            Workflow.sleep(duration);
+        }
+    }
+
     /**
      * Generates a random duration between MIN_PHASE_SECONDS and MAX_PHASE_SECONDS.
      */
@@ -173,14 +218,23 @@ public class FlightWorkflowImpl implements FlightWorkflow {
 
     @Override
     public void announceDelay(int minutes) {
+        int previousDelay = delayMinutes;
         delayMinutes = minutes;
         logger.info("Received signal: announceDelay, delay={} minutes", minutes);
+        if (minutes != previousDelay) {
+            publishSignalApplied("announceDelay",
+                String.format("Delay changed from %d to %d minutes", previousDelay, minutes));
+        }
     }
 
     @Override
     public void changeGate(String newGate) {
+        String previousGate = currentGate != null ? currentGate : (currentFlight != null ? currentFlight.getGate() : null);
         currentGate = newGate;
         logger.info("Received signal: changeGate, gate={}", newGate);
+        if (!Objects.equals(newGate, previousGate)) {
+            publishSignalApplied("changeGate", String.format("Gate changed from %s to %s", previousGate, newGate));
+        }
     }
 
     @Override
@@ -190,6 +244,77 @@ public class FlightWorkflowImpl implements FlightWorkflow {
         logger.info("Received signal: cancelFlight, reason={}", reason);
     }
 
+    @Override
+    public Flight applyDelay(int minutes) {
+        announceDelay(minutes);
+        return getFlightDetails();
+    }
+
+    @Override
+    public void validateDelay(int minutes) {
+        requireInProgress();
+        if (minutes < 0) {
+            throw rejection("Delay must not be negative: " + minutes);
+        }
+    }
+
+    @Override
+    public Flight applyGateChange(String newGate) {
+        changeGate(newGate);
+        return getFlightDetails();
+    }
+
+    @Override
+    public void validateGateChange(String newGate) {
+        requireInProgress();
+        if (newGate == null || newGate.isBlank()) {
+            throw rejection("Gate must not be blank");
+        }
+    }
+
+    @Override
+    public Flight applyCancellation(String reason) {
+        cancelFlight(reason);
+        // Runs whose phase waits cannot be interrupted only cancel at the end of the current phase,
+        // which can outlast the caller's RPC deadline; report the recorded cancellation instead
+        if (!interruptiblePhases) {
+            return getFlightDetails();
+        }
+        // The main workflow method applies the cancellation; wait for it so the caller sees CANCELLED
+        Workflow.await(() -> currentFlight.getCurrentState() == FlightState.CANCELLED);
+        return getFlightDetails();
+    }
+
+    @Override
+    public void validateCancellation(String reason) {
+        requireInProgress();
+        if (cancelled) {
+            throw rejection("Flight " + currentFlight.getFlightNumber() + " is already being cancelled");
+        }
+        // After landing there is no cancellation check left, so the flight would complete instead
+        if (currentFlight.getCurrentState() == FlightState.LANDED) {
+            throw rejection("Flight " + currentFlight.getFlightNumber() + " has already landed");
+        }
+    }
+
+    /**
+     * Thrown from the update validators; the failure type lets callers tell a rejected update
+     * apart from a handler that failed after accepting one.
+     */
+    private static ApplicationFailure rejection(String message) {
+        return ApplicationFailure.newNonRetryableFailure(message, FlightWorkflow.UPDATE_REJECTED_FAILURE_TYPE);
+    }
+
+    private void requireInProgress() {
+        if (currentFlight == null) {
+            throw rejection("Flight has not started yet");
+        }
+        FlightState state = currentFlight.getCurrentState();
+        if (state == FlightState.COMPLETED || state == FlightState.CANCELLED) {
+            throw rejection("Flight " + currentFlight.getFlightNumber() + " is already " + state);
+        }
+    }
+
     private void updateFlightWithSignalData(Flight flight) {
         if (delayMinutes > 0) {
             flight.setDelay(delayMinutes);
@@ -200,14 +325,38 @@ public class FlightWorkflowImpl implements FlightWorkflow {
     }
 
     /**
-     * Publishes a state transition event to Kafka and persists to MongoDB via activities.
+     * Persists a state transition to MongoDB and publishes it to Kafka via activities.
+     * The write comes first, so a Kafka outage cannot hold back the flight's history.
      */
     private void publishStateTransition(Flight flight, FlightState previousState, FlightState newState) {
         try {
-            String prevState = previousState != null ? previousState.toString() : null;
             String gate = currentGate != null ? currentGate : (flight.getGate() != null ? flight.getGate() : "");
+            // Reserved up front so signals applied while the write runs are sequenced after the transition
+            int sequence = eventSequence++;
+            if (persistsBeforePublishing()) {
+                persistTransition(flight, previousState, newState, gate);
+                publishTransition(flight, previousState, newState, gate, sequence);
+            } else {
+                publishTransition(flight, previousState, newState, gate, sequence);
+                persistTransition(flight, previousState, newState, gate);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to publish state transition: {}", e.getMessage());
+            // Don't fail the workflow if publishing fails
+        }
+    }
 
-            // Publish to Kafka
+    private void publishTransition(Flight flight, FlightState previousState, FlightState newState, String gate,
+                                   int sequence) {
+        String prevState = previousState != null ? previousState.toString() : null;
+        if (publishesFlightEvents()) {
+            String message = newState == FlightState.CANCELLED
+                ? "Flight cancelled: " + cancellationReason
+                : String.format("Flight transitioned from %s to %s", prevState, newState);
+            FlightStatusEvent event = newFlightEvent(sequence, FlightStatusEvent.EventType.STATE_CHANGED,
+                previousState, newState, message);
+            flightEventActivity.publishFlightEvent(event);
+        } else {
             flightEventActivity.publishStateChange(
                 flight.getFlightNumber(),
                 prevState,
@@ -215,26 +364,86 @@ public class FlightWorkflowImpl implements FlightWorkflow {
                 gate,
                 delayMinutes
             );
+        }
+    }
 
-            // Persist to MongoDB
-            FlightStateTransition transition = new FlightStateTransition(
-                flight.getFlightNumber(),
-                flight.getFlightDate(),
-                previousState,
-                newState,
-                LocalDateTime.now(),
-                gate,
-                delayMinutes,
-                flight.getAircraft(),
-                "STATE_TRANSITION",
-                String.format("Flight transitioned from %s to %s",
-                    previousState != null ? previousState : "null", newState)
-            );
-            persistenceActivity.saveStateTransition(transition);
-        } catch (Exception e) {
-            logger.warn("Failed to publish state transition: {}", e.getMessage());
-            // Don't fail the workflow if publishing fails
+    private void persistTransition(Flight flight, FlightState previousState, FlightState newState, String gate) {
+        FlightStateTransition transition = new FlightStateTransition(
+            flight.getFlightNumber(),
+            flight.getFlightDate(),
+            previousState,
+            newState,
+            LocalDateTime.now(),
+            gate,
+            delayMinutes,
+            flight.getAircraft(),
+            "STATE_TRANSITION",
+            String.format("Flight transitioned from %s to %s",
+                previousState != null ? previousState : "null", newState)
+        );
+        transition.setDepartureStation(flight.getDepartureStation());
+        transition.setArrivalStation(flight.getArrivalStation());
+        // Deterministic ID so a retried activity cannot create a duplicate row
+        transition.setId(FlightStateTransition.buildId(
+            Workflow.getInfo().getWorkflowId(),
+            Workflow.getInfo().getRunId(),
+            transitionSequence++
+        ));
+        persistenceActivity.saveStateTransition(transition);
+    }
+
+    private boolean persistsBeforePublishing() {
+        if (persistsBeforePublishing == null) {
+            persistsBeforePublishing = Workflow.getVersion("persist-before-publish", Workflow.DEFAULT_VERSION, 1) == 1;
+        }
+        return persistsBeforePublishing;
+    }
+
+    /**
+     * Publishes a SIGNAL_APPLIED event without blocking the signal or update handler.
+     * Only called when the signal actually changed the flight, so repeats publish nothing.
+     */
+    private void publishSignalApplied(String signalName, String message) {
+        // Before the workflow method has run, the SCHEDULED event will carry the new values
+        if (currentFlight == null || !publishesFlightEvents()) {
+            return;
+        }
+        FlightState state = currentFlight.getCurrentState();
+        FlightStatusEvent event = newFlightEvent(eventSequence++, FlightStatusEvent.EventType.SIGNAL_APPLIED,
+            state, state, message);
+        event.setSignalName(signalName);
+        Async.procedure(flightEventActivity::publishFlightEvent, event);
+    }
+
+    private FlightStatusEvent newFlightEvent(int sequence, FlightStatusEvent.EventType eventType,
+                                             FlightState previousState, FlightState newState, String message) {
+        FlightStatusEvent event = new FlightStatusEvent();
+        event.setEventId(Workflow.getInfo().getWorkflowId() + ":" + Workflow.getInfo().getRunId() + ":" + sequence);
+        event.setSequence(sequence);
+        event.setEventType(eventType);
+        event.setFlightNumber(currentFlight.getFlightNumber());
+        event.setFlightDate(currentFlight.getFlightDate());
+        event.setDepartureStation(currentFlight.getDepartureStation());
+        event.setArrivalStation(currentFlight.getArrivalStation());
+        event.setPreviousState(previousState);
+        event.setNewState(newState);
+        event.setGate(currentGate != null ? currentGate : currentFlight.getGate());
+        event.setDelay(delayMinutes);
+        event.setMessage(message);
+        // Workflow time, so the timestamp is identical when the event is rebuilt on replay
+        event.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(Workflow.currentTimeMillis()), ZoneId.systemDefault()));
+        return event;
+    }
+
+    /**
+     * Runs started before FlightStatusEvent keep publishing through publishStateChange on replay.
+     * Resolved lazily because a signal handler may need it before the workflow method runs.
+     */
+    private boolean publishesFlightEvents() {
+        if (flightEventsVersion == null) {
+            flightEventsVersion = Workflow.getVersion("flight-status-events", Workflow.DEFAULT_VERSION, 1);
         }
+        return flightEventsVersion == 1;
     }
 
     @Override
@@ -3,6 +3,7 @@ package com.temporal.jetstream.workflow;
 import com.temporal.jetstream.model.Flight;
 import com.temporal.jetstream.model.FlightState;
 import io.temporal.api.enums.v1.ParentClosePolicy;
+import io.temporal.common.SearchAttributes;
 import io.temporal.workflow.Async;
 import io.temporal.workflow.ChildWorkflowOptions;
 import io.temporal.workflow.Promise;
@@ -12,6 +13,7 @@ import org.slf4j.Logger;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 public class MultiLegFlightWorkflowImpl implements MultiLegFlightWorkflow {
 
@@ -55,6 +57,9 @@ public class MultiLegFlightWorkflowImpl implements MultiLegFlightWorkflow {
             ChildWorkflowOptions options = ChildWorkflowOptions.newBuilder()
                 .setWorkflowId("flight-" + currentLeg.getFlightNumber() + "-" + currentLeg.getFlightDate())
                 .setParentClosePolicy(ParentClosePolicy.PARENT_CLOSE_POLICY_ABANDON)
+                .setTypedSearchAttributes(SearchAttributes.newBuilder()
+                    .set(FlightSearchAttributes.DEPARTURE_STATION, currentLeg.getDepartureStation().toUpperCase(Locale.ROOT))
+                    .build())
                 .build();
 
             FlightWorkflow childWorkflow = Workflow.newChildWorkflowStub(FlightWorkflow.class, options);
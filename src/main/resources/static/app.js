@@ -3,14 +3,24 @@ let stompClient = null;
 let selectedFlight = null;
 let activeFlights = new Map();
 
+// Optional station view (?station=ORD): subscribe to that station's topic only, as a gate agent would
+const stationFilter = (new URLSearchParams(window.location.search).get('station') || '').toUpperCase() || null;
+
+// Deltas that arrive before the board snapshot; null once the snapshot is applied
+let pendingDeltas = null;
+
+// Flights with a resync request outstanding, so a burst of gaps only asks once
+const resyncingFlights = new Set();
+
+// How long a COMPLETED or CANCELLED flight stays on the board before it is removed
+const FINISHED_FLIGHT_LINGER_MS = 10000;
+
 // Initialize on page load
 document.addEventListener('DOMContentLoaded', function() {
     connectWebSocket();
     setupFormHandlers();
-    // Load active flights on initial page load
-    refreshActiveFlights();
-    // Refresh active flights periodically (every 5 seconds)
-    setInterval(refreshActiveFlights, 5000);
+    // Running times are computed locally, so re-render without asking the server
+    setInterval(renderFlights, 5000);
 });
 
 // WebSocket Connection
@@ -22,13 +32,41 @@ function connectWebSocket() {
         console.log('Connected: ' + frame);
         updateConnectionStatus(true);
 
-        // Subscribe to flight updates
-        stompClient.subscribe('/topic/flights', function(message) {
-            const flight = JSON.parse(message.body);
-            console.log('Received flight update:', flight);
-            handleFlightUpdate(flight);
+        // Station view: only flights departing or arriving at this station are sent to this client
+        const deltaTopic = stationFilter ? `/topic/stations/${stationFilter}` : '/topic/flights';
+        const snapshotDestination = stationFilter ? `/app/board/stations/${stationFilter}` : '/app/board';
+
+        // Subscribe to deltas before asking for the snapshot so none fall between the two;
+        // deltas that arrive first are held and applied on top of the snapshot.
+        // A new snapshot on every (re)connect picks up anything missed while disconnected.
+        pendingDeltas = [];
+        stompClient.subscribe(deltaTopic, function(message) {
+            const delta = JSON.parse(message.body);
+            console.log('Received flight delta:', delta);
+            if (pendingDeltas) {
+                pendingDeltas.push(delta);
+                return;
+            }
+            applyDelta(delta);
+            if (stationFilter && delta.currentState) {
+                addEventLog(delta.flightNumber, delta.currentState, `State: ${delta.currentState}`);
+            }
         });
 
+        requestSnapshot(snapshotDestination, function(snapshot) {
+            activeFlights.clear();
+            snapshot.flights.forEach(entry => activeFlights.set(entry.flightNumber, entry));
+            const buffered = pendingDeltas;
+            pendingDeltas = null;
+            buffered.forEach(applyDelta);
+            renderFlights();
+            console.log(`Loaded board snapshot with ${snapshot.flights.length} flights`);
+        });
+
+        if (stationFilter) {
+            return;
+        }
+
         // Subscribe to flight events
         stompClient.subscribe('/topic/flight-events', function(message) {
             const event = JSON.parse(message.body);
@@ -43,6 +81,35 @@ function connectWebSocket() {
     });
 }
 
+// Subscribing to an /app/board destination returns a single snapshot message to this client
+function requestSnapshot(destination, onSnapshot) {
+    const subscription = stompClient.subscribe(destination, function(message) {
+        subscription.unsubscribe();
+        onSnapshot(JSON.parse(message.body));
+    });
+}
+
+// Fetch a fresh copy of one flight after a missed delta. Deltas keep being applied meanwhile,
+// so the snapshot only replaces the local copy if it is not older.
+function resyncFlight(flightNumber) {
+    if (resyncingFlights.has(flightNumber)) {
+        return;
+    }
+    resyncingFlights.add(flightNumber);
+    console.warn(`Missed an update for ${flightNumber}; resyncing`);
+    requestSnapshot(`/app/board/flights/${flightNumber}`, function(snapshot) {
+        resyncingFlights.delete(flightNumber);
+        const entry = snapshot.flights[0];
+        const current = activeFlights.get(flightNumber);
+        if (!entry) {
+            activeFlights.delete(flightNumber);
+        } else if (!current || entry.seq >= current.seq) {
+            activeFlights.set(flightNumber, entry);
+        }
+        renderFlights();
+    });
+}
+
 function updateConnectionStatus(connected) {
     const badge = document.getElementById('connectionStatus');
     if (connected) {
@@ -54,18 +121,43 @@ function updateConnectionStatus(connected) {
     }
 }
 
-// Handle flight updates from WebSocket
-function handleFlightUpdate(flight) {
+// Apply a delta from the server. A delta without prevSeq introduces the flight with every
+// field; any other delta carries every field that changed after prevSeq (the server may merge
+// several changes into one delta), so it applies to any copy between prevSeq and seq.
+function applyDelta(delta) {
+    const existing = activeFlights.get(delta.flightNumber);
+    let flight;
+    if (delta.prevSeq === undefined) {
+        flight = { ...delta };
+    } else if (existing && delta.seq <= existing.seq) {
+        // Already included in the snapshot
+        return;
+    } else if (!existing || existing.seq < delta.prevSeq) {
+        resyncFlight(delta.flightNumber);
+        return;
+    } else {
+        flight = { ...existing, ...delta };
+        delete flight.prevSeq;
+    }
     activeFlights.set(flight.flightNumber, flight);
     renderFlights();
 
     // Update selected flight details if this is the selected flight
     if (selectedFlight && selectedFlight.flightNumber === flight.flightNumber) {
-        selectedFlight = flight;
-        displayFlightDetails(flight);
+        selectedFlight = { ...selectedFlight, currentState: flight.currentState, gate: flight.gate, delay: flight.delay };
+        displayFlightDetails(selectedFlight);
     }
 
-    addEventLog(flight.flightNumber, flight.currentState, `State: ${flight.currentState}`);
+    // Finished workflows drop out of the active list, so drop them from the board too
+    if (flight.currentState === 'COMPLETED' || flight.currentState === 'CANCELLED') {
+        setTimeout(() => {
+            const current = activeFlights.get(flight.flightNumber);
+            if (current && current.currentState === flight.currentState) {
+                activeFlights.delete(flight.flightNumber);
+                renderFlights();
+            }
+        }, FINISHED_FLIGHT_LINGER_MS);
+    }
 }
 
 // Form handlers
@@ -110,9 +202,7 @@ async function startFlight() {
             console.log('Flight started:', result);
             addEventLog(flightNumber, 'SCHEDULED', 'Flight started successfully');
             document.getElementById('startFlightForm').reset();
-
-            // Fetch the flight details after a short delay to let it initialize
-            setTimeout(() => fetchFlightDetails(flightNumber), 1000);
+            // The SCHEDULED update from the workflow adds the flight to the board
         } else {
             const error = await response.json();
             alert('Error starting flight: ' + error.message);
@@ -123,65 +213,12 @@ async function startFlight() {
     }
 }
 
-async function fetchFlightDetails(flightNumber) {
-    try {
-        const response = await fetch(`/api/flights/${flightNumber}/details`);
-        if (response.ok) {
-            const flight = await response.json();
-            activeFlights.set(flightNumber, flight);
-            renderFlights();
-        }
-    } catch (error) {
-        console.error('Error fetching flight details:', error);
-    }
-}
-
-// Refresh active flights from server
-async function refreshActiveFlights() {
-    try {
-        const response = await fetch('/api/flights/active');
-        if (response.ok) {
-            const flights = await response.json();
-
-            // Clear current active flights
-            activeFlights.clear();
-
-            // Add all active flights from server
-            flights.forEach(flight => {
-                // Convert ActiveFlightDTO to Flight-like object for display
-                const flightObj = {
-                    flightNumber: flight.flightNumber,
-                    currentState: flight.currentState,
-                    gate: flight.gate,
-                    delay: flight.delay,
-                    workflowId: flight.workflowId,
-                    elapsedTime: formatDuration(flight.elapsedTime)
-                };
-                activeFlights.set(flight.flightNumber, flightObj);
-            });
-
-            renderFlights();
-
-            console.log(`Refreshed ${flights.length} active flights`);
-        } else {
-            console.error('Failed to fetch active flights:', response.status);
-        }
-    } catch (error) {
-        console.error('Error refreshing active flights:', error);
-    }
-}
-
-// Format duration for display
-function formatDuration(duration) {
-    if (!duration) return '0s';
-
-    // Duration format from Java: PT#H#M#S or similar
-    const matches = duration.match(/PT(?:(\d+)H)?(?:(\d+)M)?(?:(\d+(?:\.\d+)?)S)?/);
-    if (!matches) return duration;
-
-    const hours = parseInt(matches[1] || 0);
-    const minutes = parseInt(matches[2] || 0);
-    const seconds = Math.floor(parseFloat(matches[3] || 0));
+// Format a running time in milliseconds for display
+function formatElapsed(millis) {
+    const totalSeconds = Math.max(0, Math.floor(millis / 1000));
+    const hours = Math.floor(totalSeconds / 3600);
+    const minutes = Math.floor((totalSeconds % 3600) / 60);
+    const seconds = totalSeconds % 60;
 
     if (hours > 0) {
         return `${hours}h ${minutes}m`;
@@ -240,7 +277,7 @@ function createFlightCard(flight) {
             </div>
             <div class="flight-info-item">
                 <span class="flight-info-label">Running</span>
-                <span class="flight-info-value">${flight.elapsedTime || 'N/A'}</span>
+                <span class="flight-info-value">${flight.startedAt ? formatElapsed(Date.now() - flight.startedAt) : 'N/A'}</span>
             </div>
         </div>
     `;
@@ -0,0 +1,92 @@
+// Read-only board fed by Server-Sent Events (GET /api/flights/stream); no SockJS or STOMP.
+// Open as /kiosk.html or /kiosk.html?station=ORD
+
+const params = new URLSearchParams(window.location.search);
+const station = (params.get('station') || '').toUpperCase() || null;
+const board = new Map();
+
+document.addEventListener('DOMContentLoaded', function() {
+    if (station) {
+        document.getElementById('kioskTitle').textContent = `✈️ ${station} Flight Board`;
+    }
+    connect();
+});
+
+function connect() {
+    const query = station ? `?station=${encodeURIComponent(station)}` : '';
+    // EventSource reconnects on its own and sends Last-Event-ID, so the server replays only
+    // the deltas missed while disconnected
+    const source = new EventSource(`/api/flights/stream${query}`);
+
+    source.onopen = () => setStatus(true);
+    source.onerror = () => setStatus(false);
+
+    source.addEventListener('snapshot', function(message) {
+        const snapshot = JSON.parse(message.data);
+        board.clear();
+        snapshot.flights.forEach(entry => board.set(entry.flightNumber, entry));
+        render();
+    });
+
+    source.addEventListener('delta', function(message) {
+        applyDelta(JSON.parse(message.data));
+        render();
+    });
+}
+
+// Same rules as the WebSocket board: a delta without prevSeq replaces the flight; any other
+// applies to a copy between prevSeq and seq. A gap cannot be repaired per flight here, so
+// reconnecting without an event ID fetches a new snapshot.
+function applyDelta(delta) {
+    const existing = board.get(delta.flightNumber);
+    if (delta.prevSeq === undefined) {
+        board.set(delta.flightNumber, { ...delta });
+    } else if (existing && delta.seq <= existing.seq) {
+        return;
+    } else if (!existing || existing.seq < delta.prevSeq) {
+        console.warn(`Missed an update for ${delta.flightNumber}; reloading board`);
+        window.location.reload();
+        return;
+    } else {
+        const flight = { ...existing, ...delta };
+        delete flight.prevSeq;
+        board.set(delta.flightNumber, flight);
+    }
+
+    const flight = board.get(delta.flightNumber);
+    if (flight.currentState === 'COMPLETED' || flight.currentState === 'CANCELLED') {
+        setTimeout(() => {
+            const current = board.get(flight.flightNumber);
+            if (current && current.seq === flight.seq) {
+                board.delete(flight.flightNumber);
+                render();
+            }
+        }, 10000);
+    }
+}
+
+function render() {
+    const rows = document.getElementById('boardRows');
+    if (board.size === 0) {
+        rows.innerHTML = '<tr><td colspan="6" class="text-muted text-center">No active flights</td></tr>';
+        return;
+    }
+    rows.innerHTML = [...board.values()]
+        .sort((a, b) => a.flightNumber.localeCompare(b.flightNumber))
+        .map(flight => `
+            <tr>
+                <td><strong>${flight.flightNumber}</strong></td>
+                <td>${flight.departureStation || ''}</td>
+                <td>${flight.arrivalStation || ''}</td>
+                <td>${flight.gate || 'N/A'}</td>
+                <td>${flight.delay > 0 ? flight.delay + ' min' : ''}</td>
+                <td><span class="badge state-badge ${flight.currentState}">${flight.currentState}</span></td>
+            </tr>`)
+        .join('');
+}
+
+function setStatus(connected) {
+    const badge = document.getElementById('connectionStatus');
+    badge.textContent = connected ? 'Live' : 'Reconnecting...';
+    badge.className = connected ? 'badge bg-success' : 'badge bg-danger';
+}
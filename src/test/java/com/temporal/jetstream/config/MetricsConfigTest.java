@@ -0,0 +1,45 @@
+package com.temporal.jetstream.config;
+
+import com.uber.m3.tally.Scope;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for forwarding Temporal SDK metrics to Micrometer.
+ */
+public class MetricsConfigTest {
+
+    @Test
+    public void testTemporalMetricsReachMicrometer() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MetricsConfig config = new MetricsConfig();
+        registry.config().meterFilter(config.temporalLatencyHistograms());
+
+        Scope scope = config.temporalMetricsScope(registry, 10_000);
+        scope.tagged(Map.of("task_queue", "flight-task-queue"))
+                .counter("temporal_sticky_cache_hit").inc(3);
+        scope.timer("temporal_workflow_task_schedule_to_start_latency")
+                .record(com.uber.m3.util.Duration.ofMillis(40));
+        // Closing flushes buffered values to the reporter
+        scope.close();
+
+        assertEquals(3, registry.get("temporal_sticky_cache_hit")
+                .tag("task_queue", "flight-task-queue")
+                .counter().count());
+        Timer timer = registry.get("temporal_workflow_task_schedule_to_start_latency").timer();
+        assertEquals(1, timer.count());
+        assertEquals(Duration.ofMillis(40).toNanos(), (long) timer.totalTime(TimeUnit.NANOSECONDS));
+        assertTrue(config.temporalLatencyHistograms()
+                        .configure(timer.getId(), DistributionStatisticConfig.DEFAULT)
+                        .isPercentileHistogram(),
+                "Latency timers should publish histogram buckets");
+    }
+}
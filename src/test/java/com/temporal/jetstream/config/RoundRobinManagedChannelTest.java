@@ -0,0 +1,111 @@
+package com.temporal.jetstream.config;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for spreading Temporal RPCs across several gRPC channels.
+ */
+public class RoundRobinManagedChannelTest {
+
+    @Test
+    public void testCallsAreSpreadEvenly() {
+        List<FakeChannel> channels = List.of(new FakeChannel(), new FakeChannel(), new FakeChannel());
+        RoundRobinManagedChannel pool = new RoundRobinManagedChannel(List.copyOf(channels));
+
+        for (int i = 0; i < 30; i++) {
+            pool.newCall(null, CallOptions.DEFAULT);
+        }
+
+        channels.forEach(channel -> assertEquals(10, channel.calls));
+    }
+
+    @Test
+    public void testShutdownReachesEveryChannel() throws InterruptedException {
+        List<FakeChannel> channels = List.of(new FakeChannel(), new FakeChannel());
+        RoundRobinManagedChannel pool = new RoundRobinManagedChannel(List.copyOf(channels));
+
+        assertFalse(pool.isShutdown());
+        pool.shutdown();
+
+        assertTrue(pool.isShutdown());
+        assertTrue(pool.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(pool.isTerminated());
+    }
+
+    @Test
+    public void testReadyWhenAnyChannelIsReady() {
+        FakeChannel connecting = new FakeChannel();
+        connecting.state = ConnectivityState.CONNECTING;
+        FakeChannel ready = new FakeChannel();
+        ready.state = ConnectivityState.READY;
+
+        assertEquals(ConnectivityState.READY,
+                new RoundRobinManagedChannel(List.of(connecting, ready)).getState(false));
+        assertEquals(ConnectivityState.CONNECTING,
+                new RoundRobinManagedChannel(List.of(connecting)).getState(false));
+    }
+
+    @Test
+    public void testRejectsEmptyPool() {
+        assertThrows(IllegalArgumentException.class, () -> new RoundRobinManagedChannel(List.of()));
+    }
+
+    private static class FakeChannel extends ManagedChannel {
+        private int calls;
+        private boolean shutdown;
+        private ConnectivityState state = ConnectivityState.IDLE;
+
+        @Override
+        public <RequestT, ResponseT> ClientCall<RequestT, ResponseT> newCall(
+                MethodDescriptor<RequestT, ResponseT> methodDescriptor, CallOptions callOptions) {
+            calls++;
+            return null;
+        }
+
+        @Override
+        public String authority() {
+            return "localhost:7233";
+        }
+
+        @Override
+        public ConnectivityState getState(boolean requestConnection) {
+            return state;
+        }
+
+        @Override
+        public ManagedChannel shutdown() {
+            shutdown = true;
+            return this;
+        }
+
+        @Override
+        public ManagedChannel shutdownNow() {
+            return shutdown();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return shutdown;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.temporal.jetstream.config;
+
+import io.temporal.worker.WorkerFactoryOptions;
+import io.temporal.worker.WorkerOptions;
+import io.temporal.worker.tuning.ResourceBasedTuner;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for binding temporal.worker.* to the SDK's worker options.
+ */
+public class WorkerSettingsTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(WorkerSettings.class);
+
+    @Test
+    public void testFixedSlotsFromProperties() {
+        contextRunner.withPropertyValues(
+                        "temporal.worker.max-concurrent-workflow-tasks=50",
+                        "temporal.worker.max-concurrent-activities=400",
+                        "temporal.worker.activity-task-pollers=10",
+                        "temporal.worker.max-activities-per-second=250",
+                        "temporal.worker.factory.workflow-cache-size=5000",
+                        "temporal.worker.factory.max-workflow-thread-count=6000")
+                .run(context -> {
+                    WorkerSettings settings = context.getBean(WorkerSettings.class);
+                    WorkerOptions options = settings.workerOptions();
+                    assertNull(options.getWorkerTuner());
+                    assertEquals(50, options.getMaxConcurrentWorkflowTaskExecutionSize());
+                    assertEquals(400, options.getMaxConcurrentActivityExecutionSize());
+                    assertEquals(10, options.getMaxConcurrentActivityTaskPollers());
+                    assertEquals(250, options.getMaxWorkerActivitiesPerSecond());
+
+                    WorkerFactoryOptions factoryOptions = settings.workerFactoryOptions();
+                    assertEquals(5000, factoryOptions.getWorkflowCacheSize());
+                    assertEquals(6000, factoryOptions.getMaxWorkflowThreadCount());
+                });
+    }
+
+    @Test
+    public void testPerSideOverridesApplyOnlyToTheirWorker() {
+        contextRunner.withPropertyValues(
+                        "temporal.worker.max-concurrent-activities=100",
+                        "temporal.worker.activity-task-pollers=4",
+                        "temporal.worker.activity.max-concurrent-activities=500",
+                        "temporal.worker.activity.activity-task-pollers=10",
+                        "temporal.worker.workflow.workflow-task-pollers=8")
+                .run(context -> {
+                    WorkerSettings settings = context.getBean(WorkerSettings.class);
+
+                    WorkerOptions activityOptions = settings.activityWorkerOptions();
+                    assertEquals(500, activityOptions.getMaxConcurrentActivityExecutionSize());
+                    assertEquals(10, activityOptions.getMaxConcurrentActivityTaskPollers());
+
+                    WorkerOptions workflowOptions = settings.workflowWorkerOptions();
+                    assertEquals(8, workflowOptions.getMaxConcurrentWorkflowTaskPollers());
+                    // Unset per-side values fall back to the shared ones
+                    assertEquals(200, workflowOptions.getMaxConcurrentWorkflowTaskExecutionSize());
+                    assertEquals(200, workflowOptions.getMaxConcurrentLocalActivityExecutionSize());
+                    // Activity settings are left to the SDK default on a workflow-only worker
+                    assertNotEquals(500, workflowOptions.getMaxConcurrentActivityExecutionSize());
+                });
+    }
+
+    @Test
+    public void testResourceBasedTunerReplacesFixedSlots() {
+        contextRunner.withPropertyValues("temporal.worker.tuner=RESOURCE_BASED")
+                .run(context -> {
+                    WorkerOptions options = context.getBean(WorkerSettings.class).workerOptions();
+                    assertInstanceOf(ResourceBasedTuner.class, options.getWorkerTuner());
+                    assertEquals(0, options.getMaxConcurrentActivityExecutionSize());
+                });
+    }
+}
@@ -0,0 +1,114 @@
+package com.temporal.jetstream.integration;
+
+import com.temporal.jetstream.dto.OnTimePerformance;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.repository.FlightStateTransitionRepository;
+import com.temporal.jetstream.service.AnalyticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the on-time performance aggregation pipelines.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.data.mongodb.database=temporal-jetstream-test",
+        "analytics.cache-ttl-seconds=0"
+})
+public class AnalyticsServiceTest {
+
+    private static final LocalDate FLIGHT_DATE = LocalDate.of(2026, 1, 27);
+
+    @Autowired
+    private FlightStateTransitionRepository transitionRepository;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @BeforeEach
+    public void setUp() {
+        transitionRepository.deleteAll();
+
+        // ORD: one on-time flight, one late flight; DFW: one cancelled flight, one still in the air
+        saveFlight("AN100", "ORD", "N100", 5, FlightState.SCHEDULED, FlightState.BOARDING, FlightState.COMPLETED);
+        saveFlight("AN200", "ORD", "N200", 45, FlightState.SCHEDULED, FlightState.DEPARTED, FlightState.COMPLETED);
+        saveFlight("AN300", "DFW", "N100", 0, FlightState.SCHEDULED, FlightState.CANCELLED);
+        saveFlight("AN400", "DFW", "N300", 0, FlightState.SCHEDULED, FlightState.IN_FLIGHT);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transitionRepository.deleteAll();
+    }
+
+    @Test
+    public void testSummaryCountsOnlyFinishedFlights() {
+        OnTimePerformance summary = analyticsService.getSummary(FLIGHT_DATE, FLIGHT_DATE);
+
+        assertEquals(3, summary.getFlights());
+        assertEquals(1, summary.getOnTimeFlights());
+        assertEquals(1, summary.getCancelledFlights());
+        assertEquals(33.33, summary.getOnTimePercentage(), 0.001);
+        assertEquals(33.33, summary.getCancellationRate(), 0.001);
+        // Cancelled flights are excluded from the average delay: (5 + 45) / 2
+        assertEquals(25.0, summary.getAverageDelayMinutes(), 0.001);
+    }
+
+    @Test
+    public void testPerformanceByStationAndAircraft() {
+        List<OnTimePerformance> stations = analyticsService.getByStation(FLIGHT_DATE, FLIGHT_DATE);
+        assertEquals(2, stations.size());
+        assertEquals("ORD", stations.get(0).getKey());
+        assertEquals(2, stations.get(0).getFlights());
+        assertEquals(50.0, stations.get(0).getOnTimePercentage(), 0.001);
+        assertEquals("DFW", stations.get(1).getKey());
+        assertEquals(100.0, stations.get(1).getCancellationRate(), 0.001);
+
+        List<OnTimePerformance> aircraft = analyticsService.getByAircraft(FLIGHT_DATE, FLIGHT_DATE);
+        OnTimePerformance n100 = aircraft.stream().filter(a -> a.getKey().equals("N100")).findFirst().orElseThrow();
+        assertEquals(2, n100.getFlights());
+        assertEquals(1, n100.getOnTimeFlights());
+        assertEquals(1, n100.getCancelledFlights());
+    }
+
+    @Test
+    public void testDateRangeExcludesOtherDays() {
+        OnTimePerformance summary = analyticsService.getSummary(FLIGHT_DATE.plusDays(1), FLIGHT_DATE.plusDays(7));
+        assertEquals(0, summary.getFlights());
+    }
+
+    private void saveFlight(String flightNumber, String station, String aircraft, int delay, FlightState... states) {
+        LocalDateTime timestamp = LocalDateTime.of(2026, 1, 27, 8, 0);
+        FlightState previous = null;
+        for (FlightState state : states) {
+            FlightStateTransition transition = new FlightStateTransition(
+                    flightNumber,
+                    FLIGHT_DATE,
+                    previous,
+                    state,
+                    timestamp,
+                    "A1",
+                    previous == null ? 0 : delay,
+                    aircraft,
+                    "STATE_TRANSITION",
+                    "Flight transitioned to " + state
+            );
+            transition.setDepartureStation(station);
+            transition.setArrivalStation("LAX");
+            transitionRepository.save(transition);
+            previous = state;
+            timestamp = timestamp.plusHours(1);
+        }
+    }
+}
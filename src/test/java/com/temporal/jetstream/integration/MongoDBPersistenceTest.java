@@ -12,7 +12,9 @@ import org.springframework.test.context.TestPropertySource;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -153,4 +155,126 @@ public class MongoDBPersistenceTest {
         assertEquals(1, flight2Transitions.size());
         assertEquals("AA2222", flight2Transitions.get(0).getFlightNumber());
     }
+
+    @Test
+    public void testInsertIfAbsentIgnoresRetriedTransition() {
+        String id = FlightStateTransition.buildId("flight-AA3333-2026-01-27", "run-1", 0);
+
+        FlightStateTransition first = new FlightStateTransition(
+                "AA3333",
+                LocalDate.now(),
+                null,
+                FlightState.SCHEDULED,
+                LocalDateTime.now(),
+                "C1",
+                0,
+                "N33333",
+                "STATE_TRANSITION",
+                "Flight transitioned to SCHEDULED"
+        );
+        first.setId(id);
+
+        FlightStateTransition retry = new FlightStateTransition(
+                "AA3333",
+                LocalDate.now(),
+                null,
+                FlightState.SCHEDULED,
+                LocalDateTime.now().plusSeconds(5),
+                "C1",
+                0,
+                "N33333",
+                "STATE_TRANSITION",
+                "Flight transitioned to SCHEDULED"
+        );
+        retry.setId(id);
+
+        assertTrue(transitionRepository.insertIfAbsent(first));
+        assertFalse(transitionRepository.insertIfAbsent(retry));
+
+        List<FlightStateTransition> transitions = transitionRepository.findByFlightNumberOrderByTimestampDesc("AA3333");
+        assertEquals(1, transitions.size());
+        assertEquals(id, transitions.get(0).getId());
+    }
+
+    @Test
+    public void testStreamHistoryPagesWithTimestampCursor() {
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        for (int day = 0; day < 3; day++) {
+            for (int i = 0; i < 4; i++) {
+                transitionRepository.save(new FlightStateTransition(
+                        "AA4444",
+                        LocalDate.of(2026, 1, 20).plusDays(day),
+                        null,
+                        FlightState.SCHEDULED,
+                        base.plusDays(day).plusMinutes(i),
+                        "D1",
+                        0,
+                        "N44444",
+                        "STATE_TRANSITION",
+                        "Transition " + i
+                ));
+            }
+        }
+
+        // First page: newest five across all dates
+        List<FlightStateTransition> firstPage;
+        try (Stream<FlightStateTransition> page = transitionRepository.streamHistory("AA4444", null, null, null, null, 5)) {
+            firstPage = page.toList();
+        }
+        assertEquals(5, firstPage.size());
+        assertEquals(LocalDate.of(2026, 1, 22), firstPage.get(0).getFlightDate());
+
+        // Next page continues below the last timestamp of the previous page
+        LocalDateTime cursor = firstPage.get(firstPage.size() - 1).getTimestamp();
+        List<FlightStateTransition> secondPage;
+        try (Stream<FlightStateTransition> page = transitionRepository.streamHistory("AA4444", null, null, cursor, null, 5)) {
+            secondPage = page.toList();
+        }
+        assertEquals(5, secondPage.size());
+        assertTrue(secondPage.get(0).getTimestamp().isBefore(cursor));
+
+        // Date range filter is inclusive on both ends
+        try (Stream<FlightStateTransition> page = transitionRepository.streamHistory("AA4444",
+                LocalDate.of(2026, 1, 20), LocalDate.of(2026, 1, 21), null, null, 100)) {
+            assertEquals(8, page.count());
+        }
+    }
+
+    @Test
+    public void testStreamHistoryCursorKeepsTransitionsSharingATimestamp() {
+        // Five transitions recorded in the same millisecond
+        LocalDateTime timestamp = LocalDateTime.of(2026, 1, 27, 9, 30);
+        for (int i = 0; i < 5; i++) {
+            FlightStateTransition transition = new FlightStateTransition(
+                    "AA5555", LocalDate.of(2026, 1, 27), null, FlightState.SCHEDULED, timestamp,
+                    "D1", i, "N55555", "STATE_TRANSITION", "Transition " + i);
+            transition.setId("flight-AA5555-2026-01-27:run:" + i);
+            transitionRepository.save(transition);
+        }
+
+        List<String> seen = new ArrayList<>();
+        LocalDateTime before = null;
+        String beforeId = null;
+        while (true) {
+            List<FlightStateTransition> page;
+            try (Stream<FlightStateTransition> stream = transitionRepository.streamHistory(
+                    "AA5555", null, null, before, beforeId, 2)) {
+                page = stream.toList();
+            }
+            page.forEach(transition -> seen.add(transition.getId()));
+            if (page.size() < 2) {
+                break;
+            }
+            FlightStateTransition last = page.get(page.size() - 1);
+            before = last.getTimestamp();
+            beforeId = last.getId();
+        }
+
+        assertEquals(List.of(
+                "flight-AA5555-2026-01-27:run:4",
+                "flight-AA5555-2026-01-27:run:3",
+                "flight-AA5555-2026-01-27:run:2",
+                "flight-AA5555-2026-01-27:run:1",
+                "flight-AA5555-2026-01-27:run:0"), seen);
+    }
 }
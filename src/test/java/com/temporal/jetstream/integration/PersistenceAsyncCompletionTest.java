@@ -0,0 +1,105 @@
+package com.temporal.jetstream.integration;
+
+import com.temporal.jetstream.activity.FlightEventActivity;
+import com.temporal.jetstream.activity.PersistenceActivityImpl;
+import com.temporal.jetstream.model.Flight;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import com.temporal.jetstream.repository.FlightStateTransitionRepository;
+import com.temporal.jetstream.workflow.FlightWorkflow;
+import com.temporal.jetstream.workflow.FlightWorkflowImpl;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a flight workflow against the Spring-managed PersistenceActivityImpl with manual activity
+ * completion enabled, and checks every transition is written exactly once.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.data.mongodb.database=temporal-jetstream-test",
+        "persistence.batch.enabled=true",
+        "persistence.async-completion.enabled=true"
+})
+public class PersistenceAsyncCompletionTest {
+
+    private static final String TASK_QUEUE = "async-persistence-test-queue";
+
+    @Autowired
+    private PersistenceActivityImpl persistenceActivity;
+
+    @Autowired
+    private FlightStateTransitionRepository transitionRepository;
+
+    private TestWorkflowEnvironment testEnv;
+
+    @BeforeEach
+    public void setUp() {
+        transitionRepository.deleteAll();
+        testEnv = TestWorkflowEnvironment.newInstance();
+        Worker worker = testEnv.newWorker(TASK_QUEUE);
+        worker.registerWorkflowImplementationTypes(FlightWorkflowImpl.class);
+        FlightEventActivity noOpEvents = new FlightEventActivity() {
+            @Override
+            public void publishStateChange(String flightNumber, String previousState, String newState,
+                                           String gate, int delayMinutes) {
+            }
+
+            @Override
+            public void publishFlightEvent(FlightStatusEvent event) {
+            }
+        };
+        worker.registerActivitiesImplementations(noOpEvents, persistenceActivity);
+        testEnv.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        testEnv.close();
+        transitionRepository.deleteAll();
+    }
+
+    @Test
+    public void testTransitionsPersistedWithManualCompletion() {
+        LocalDate flightDate = LocalDate.of(2026, 1, 27);
+        Flight flight = new Flight(
+                "AC1000",
+                flightDate,
+                "ORD",
+                "DFW",
+                LocalDateTime.now().plusHours(2),
+                LocalDateTime.now().plusHours(5),
+                "B12",
+                "N12345"
+        );
+
+        FlightWorkflow workflow = testEnv.getWorkflowClient().newWorkflowStub(
+                FlightWorkflow.class,
+                WorkflowOptions.newBuilder()
+                        .setTaskQueue(TASK_QUEUE)
+                        .setWorkflowId("flight-AC1000-2026-01-27")
+                        .build());
+        Flight result = workflow.executeFlight(flight);
+        assertEquals(FlightState.COMPLETED, result.getCurrentState());
+
+        List<FlightStateTransition> transitions = transitionRepository
+                .findByFlightNumberAndFlightDateOrderByTimestampDesc("AC1000", flightDate);
+        assertEquals(6, transitions.size());
+        assertEquals(FlightState.COMPLETED, transitions.get(0).getToState());
+        assertEquals("ORD", transitions.get(0).getDepartureStation());
+    }
+}
@@ -0,0 +1,134 @@
+package com.temporal.jetstream.integration;
+
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.repository.FlightStateTransitionBatchWriter;
+import com.temporal.jetstream.repository.FlightStateTransitionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput benchmark comparing one-save-per-transition against the batched bulk insert path.
+ * Both runs use the same number of concurrent writers to mimic many workflows persisting at once.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.data.mongodb.database=temporal-jetstream-test",
+        "persistence.batch.enabled=true",
+        "persistence.batch.max-size=200",
+        "persistence.batch.max-linger-ms=10"
+})
+public class TransitionBatchWriterBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransitionBatchWriterBenchmarkTest.class);
+
+    private static final int TRANSITION_COUNT = 2000;
+    private static final int CONCURRENT_WRITERS = 32;
+
+    @Autowired
+    private FlightStateTransitionRepository transitionRepository;
+
+    @Autowired
+    private FlightStateTransitionBatchWriter batchWriter;
+
+    @BeforeEach
+    public void setUp() {
+        transitionRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transitionRepository.deleteAll();
+    }
+
+    @Test
+    public void testBatchedWritesPersistEveryTransition() throws Exception {
+        List<CompletableFuture<FlightStateTransition>> futures = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            futures.add(batchWriter.submit(createTransition("BW" + (i % 25), i)));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        assertEquals(250, transitionRepository.count());
+        for (CompletableFuture<FlightStateTransition> future : futures) {
+            assertNotNull(future.get().getId());
+        }
+    }
+
+    @Test
+    public void benchmarkSingleSaveVersusBatchedInsert() throws Exception {
+        double singleSaveRate = measure("single save", transition -> transitionRepository.save(transition));
+        assertEquals(TRANSITION_COUNT, transitionRepository.count());
+        transitionRepository.deleteAll();
+
+        double batchedRate = measure("batched insert", transition -> batchWriter.submit(transition).get());
+        assertEquals(TRANSITION_COUNT, transitionRepository.count());
+
+        logger.info("Transition persistence throughput: single save = {} docs/s, batched insert = {} docs/s ({}x)",
+                String.format("%.0f", singleSaveRate),
+                String.format("%.0f", batchedRate),
+                String.format("%.1f", batchedRate / singleSaveRate));
+    }
+
+    private double measure(String label, TransitionWriter writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_WRITERS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < TRANSITION_COUNT; i++) {
+                FlightStateTransition transition = createTransition("BM" + (i % 100), i);
+                results.add(executor.submit(() -> {
+                    writer.write(transition);
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            logger.info("{}: wrote {} transitions in {} s", label, TRANSITION_COUNT, String.format("%.2f", seconds));
+            return TRANSITION_COUNT / seconds;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private FlightStateTransition createTransition(String flightNumber, int sequence) {
+        return new FlightStateTransition(
+                flightNumber,
+                LocalDate.now(),
+                FlightState.SCHEDULED,
+                FlightState.BOARDING,
+                LocalDateTime.now().plusNanos(sequence * 1000L),
+                "A1",
+                0,
+                "N" + sequence,
+                "STATE_TRANSITION",
+                "Benchmark transition " + sequence
+        );
+    }
+
+    @FunctionalInterface
+    private interface TransitionWriter {
+        void write(FlightStateTransition transition) throws Exception;
+    }
+}
@@ -0,0 +1,170 @@
+package com.temporal.jetstream.integration;
+
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.model.FlightTransitionBucket;
+import com.temporal.jetstream.repository.FlightStateTransitionRepository;
+import com.temporal.jetstream.repository.FlightTransitionBucketRepository;
+import com.temporal.jetstream.service.TransitionBucketMigrationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bucketed transition storage layout and the migration from per-document storage.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.data.mongodb.database=temporal-jetstream-test"
+})
+public class TransitionBucketStorageTest {
+
+    private static final LocalDate FLIGHT_DATE = LocalDate.of(2026, 1, 27);
+
+    @Autowired
+    private FlightTransitionBucketRepository bucketRepository;
+
+    @Autowired
+    private FlightStateTransitionRepository transitionRepository;
+
+    @Autowired
+    private TransitionBucketMigrationService migrationService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        bucketRepository.deleteAll();
+        transitionRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bucketRepository.deleteAll();
+        transitionRepository.deleteAll();
+    }
+
+    @Test
+    public void testAppendIfAbsentGroupsTransitionsByFlightDate() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 27, 8, 0);
+        assertTrue(bucketRepository.appendIfAbsent(createTransition("BK100", "t1", FlightState.BOARDING, start)));
+        assertTrue(bucketRepository.appendIfAbsent(createTransition("BK100", "t2", FlightState.DEPARTED, start.plusHours(1))));
+
+        // Retried activity attempt with the same transition ID
+        assertFalse(bucketRepository.appendIfAbsent(createTransition("BK100", "t2", FlightState.DEPARTED, start.plusHours(1))));
+
+        FlightTransitionBucket bucket = bucketRepository
+                .findById(FlightTransitionBucket.buildId("BK100", FLIGHT_DATE)).orElseThrow();
+        assertEquals(2, bucket.getTransitionCount());
+        assertEquals(2, bucket.getTransitions().size());
+        assertEquals(start, bucket.getFirstTimestamp());
+        assertEquals(start.plusHours(1), bucket.getLastTimestamp());
+        assertEquals(1, bucketRepository.count());
+    }
+
+    @Test
+    public void testStreamHistoryReturnsMostRecentFirst() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 27, 8, 0);
+        bucketRepository.appendAll(List.of(
+                createTransition("BK200", "t1", FlightState.SCHEDULED, start),
+                createTransition("BK200", "t2", FlightState.BOARDING, start.plusHours(1)),
+                createTransition("BK200", "t3", FlightState.DEPARTED, start.plusHours(2))));
+
+        try (Stream<FlightStateTransition> page = bucketRepository.streamHistory(
+                "BK200", FLIGHT_DATE, FLIGHT_DATE, null, null, 2)) {
+            List<FlightStateTransition> transitions = page.toList();
+            assertEquals(2, transitions.size());
+            assertEquals(FlightState.DEPARTED, transitions.get(0).getToState());
+            assertEquals(FlightState.BOARDING, transitions.get(1).getToState());
+        }
+
+        try (Stream<FlightStateTransition> page = bucketRepository.streamHistory(
+                "BK200", null, null, start.plusHours(1), null, 10)) {
+            List<FlightStateTransition> transitions = page.toList();
+            assertEquals(1, transitions.size());
+            assertEquals(FlightState.SCHEDULED, transitions.get(0).getToState());
+        }
+    }
+
+    @Test
+    public void testStreamHistoryCursorKeepsTransitionsSharingATimestamp() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 27, 8, 0);
+        bucketRepository.appendAll(List.of(
+                createTransition("BK250", "t1", FlightState.SCHEDULED, start),
+                createTransition("BK250", "t2", FlightState.BOARDING, start),
+                createTransition("BK250", "t3", FlightState.DEPARTED, start)));
+
+        // The first page ends inside the group of same-millisecond transitions, in both read paths
+        for (LocalDate date : Arrays.asList(FLIGHT_DATE, null)) {
+            try (Stream<FlightStateTransition> page = bucketRepository.streamHistory(
+                    "BK250", date, date, start, "BK250:t3", 10)) {
+                assertEquals(List.of("BK250:t2", "BK250:t1"),
+                        page.map(FlightStateTransition::getId).toList());
+            }
+        }
+    }
+
+    @Test
+    public void testMigrationCopiesTransitionsAndIsRepeatable() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 27, 8, 0);
+        transitionRepository.save(createTransition("BK300", "t1", FlightState.SCHEDULED, start));
+        transitionRepository.save(createTransition("BK300", "t2", FlightState.BOARDING, start.plusHours(1)));
+        transitionRepository.save(createTransition("BK301", "t3", FlightState.SCHEDULED, start));
+
+        Map<String, Object> first = migrationService.migrateToBuckets(2);
+        assertEquals(3L, first.get("transitionsRead"));
+        assertEquals(3L, first.get("transitionsMigrated"));
+        assertEquals(2L, first.get("bucketCount"));
+
+        Map<String, Object> second = migrationService.migrateToBuckets(2);
+        assertEquals(0L, second.get("transitionsMigrated"));
+        assertEquals(3L, second.get("transitionsSkipped"));
+
+        FlightTransitionBucket bucket = bucketRepository
+                .findById(FlightTransitionBucket.buildId("BK300", FLIGHT_DATE)).orElseThrow();
+        assertEquals(2, bucket.getTransitionCount());
+    }
+
+    @Test
+    public void testBucketsHaveNoEmbeddedTransitionIndexes() {
+        // Embedded entries carry no index annotations, so only bucket-level indexes exist
+        for (IndexInfo index : mongoTemplate.indexOps(FlightTransitionBucket.class).getIndexInfo()) {
+            assertTrue(index.getIndexFields().stream().noneMatch(field -> field.getKey().startsWith("transitions.")),
+                    "Unexpected index on embedded transitions: " + index.getName());
+        }
+    }
+
+    private FlightStateTransition createTransition(String flightNumber, String id, FlightState toState,
+                                                   LocalDateTime timestamp) {
+        FlightStateTransition transition = new FlightStateTransition(
+                flightNumber,
+                FLIGHT_DATE,
+                null,
+                toState,
+                timestamp,
+                "B7",
+                0,
+                "N20000",
+                "STATE_TRANSITION",
+                "Flight transitioned to " + toState
+        );
+        transition.setId(flightNumber + ":" + id);
+        return transition;
+    }
+}
@@ -0,0 +1,148 @@
+package com.temporal.jetstream.integration;
+
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.repository.FlightStateTimelineEntry;
+import com.temporal.jetstream.repository.FlightStateTransitionRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Explain-plan assertions for the transition-history queries.
+ * These fail if an index change forces MongoDB back to an in-memory sort or a collection scan.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.data.mongodb.database=temporal-jetstream-test"
+})
+public class TransitionQueryPlanTest {
+
+    private static final String COLLECTION = "flight_state_transitions";
+
+    @Autowired
+    private FlightStateTransitionRepository transitionRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        transitionRepository.deleteAll();
+        FlightState previous = null;
+        LocalDateTime timestamp = LocalDateTime.now().minusHours(3);
+        for (FlightState state : List.of(FlightState.SCHEDULED, FlightState.BOARDING, FlightState.DEPARTED)) {
+            transitionRepository.save(new FlightStateTransition(
+                    "QP100",
+                    LocalDate.of(2026, 1, 27),
+                    previous,
+                    state,
+                    timestamp,
+                    "D4",
+                    0,
+                    "N10000",
+                    "STATE_TRANSITION",
+                    "Flight transitioned to " + state
+            ));
+            previous = state;
+            timestamp = timestamp.plusHours(1);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transitionRepository.deleteAll();
+    }
+
+    @Test
+    public void testSingleFlightHistoryUsesCompoundIndexWithoutSort() {
+        Document plan = explain(
+                new Document("flightNumber", "QP100").append("flightDate", LocalDate.of(2026, 1, 27)),
+                null);
+
+        assertEquals(List.of("flight_date_timestamp_id_idx"), indexNames(plan));
+        assertFalse(stages(plan).contains("SORT"), "Query should not sort in memory: " + stages(plan));
+    }
+
+    @Test
+    public void testAllDatesHistoryUsesFlightTimestampIndexWithoutSort() {
+        Document plan = explain(new Document("flightNumber", "QP100"), null);
+
+        assertEquals(List.of("flight_timestamp_id_idx"), indexNames(plan));
+        assertFalse(stages(plan).contains("SORT"), "Query should not sort in memory: " + stages(plan));
+    }
+
+    @Test
+    public void testTimelineProjectionIsCovered() {
+        Document plan = explain(
+                new Document("flightNumber", "QP100").append("flightDate", LocalDate.of(2026, 1, 27)),
+                new Document("_id", 0).append("timestamp", 1).append("toState", 1));
+
+        List<String> stages = stages(plan);
+        assertEquals(List.of("flight_date_timestamp_id_idx"), indexNames(plan));
+        assertFalse(stages.contains("FETCH"), "Timeline query should be covered by the index: " + stages);
+        assertFalse(stages.contains("SORT"), "Query should not sort in memory: " + stages);
+
+        List<FlightStateTimelineEntry> timeline = transitionRepository
+                .findTimelineByFlightNumberAndFlightDate("QP100", LocalDate.of(2026, 1, 27));
+        assertEquals(3, timeline.size());
+        assertEquals(FlightState.DEPARTED, timeline.get(0).getToState());
+        assertEquals(FlightState.SCHEDULED, timeline.get(2).getToState());
+    }
+
+    private Document explain(Document filter, Document projection) {
+        Document find = new Document("find", COLLECTION)
+                .append("filter", filter)
+                .append("sort", new Document("timestamp", -1).append("_id", -1));
+        if (projection != null) {
+            find.append("projection", projection);
+        }
+        Document result = mongoTemplate.getDb().runCommand(
+                new Document("explain", find).append("verbosity", "queryPlanner"));
+        Document queryPlanner = result.get("queryPlanner", Document.class);
+        return queryPlanner.get("winningPlan", Document.class);
+    }
+
+    private List<String> stages(Document plan) {
+        List<String> stages = new ArrayList<>();
+        collect(plan, "stage", stages);
+        return stages;
+    }
+
+    private List<String> indexNames(Document plan) {
+        List<String> names = new ArrayList<>();
+        collect(plan, "indexName", names);
+        return names;
+    }
+
+    /**
+     * Walks the plan tree (inputStage, inputStages and the SBE queryPlan wrapper) collecting values for a key.
+     */
+    private void collect(Object node, String key, List<String> values) {
+        if (node instanceof Document document) {
+            Object value = document.get(key);
+            if (value instanceof String stringValue) {
+                values.add(stringValue);
+            }
+            for (Object child : document.values()) {
+                collect(child, key, values);
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object child : list) {
+                collect(child, key, values);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.temporal.jetstream.repository;
+
+import com.temporal.jetstream.model.FlightStateTransition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the writer's lifecycle without MongoDB: with no repositories every flush fails, which is
+ * enough to check that each submitted transition gets an outcome.
+ */
+public class FlightStateTransitionBatchWriterTest {
+
+    private static final int SUBMITTERS = 8;
+    private static final int SUBMITS_PER_THREAD = 2000;
+
+    @Test
+    public void testSubmitsRacingStopAllComplete() throws Exception {
+        FlightStateTransitionBatchWriter writer = new FlightStateTransitionBatchWriter(
+                null, null, TransitionStorageMode.DOCUMENT, true, 100, 20, 100_000);
+        writer.start();
+
+        ExecutorService submitters = Executors.newFixedThreadPool(SUBMITTERS);
+        List<CompletableFuture<FlightStateTransition>> futures = new ArrayList<>();
+        CountDownLatch started = new CountDownLatch(SUBMITTERS);
+        try {
+            List<CompletableFuture<List<CompletableFuture<FlightStateTransition>>>> batches = new ArrayList<>();
+            for (int t = 0; t < SUBMITTERS; t++) {
+                batches.add(CompletableFuture.supplyAsync(() -> {
+                    List<CompletableFuture<FlightStateTransition>> submitted = new ArrayList<>();
+                    started.countDown();
+                    for (int i = 0; i < SUBMITS_PER_THREAD; i++) {
+                        submitted.add(writer.submit(new FlightStateTransition()));
+                    }
+                    return submitted;
+                }, submitters));
+            }
+            started.await();
+            writer.stop();
+            for (CompletableFuture<List<CompletableFuture<FlightStateTransition>>> batch : batches) {
+                futures.addAll(batch.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            submitters.shutdownNow();
+        }
+
+        // Submits after stop() are rejected straight away; none may be left waiting in the queue
+        for (CompletableFuture<FlightStateTransition> future : futures) {
+            assertTrue(future.isDone(), "A transition submitted around stop() never completed");
+        }
+        assertTrue(writer.submit(new FlightStateTransition()).isCompletedExceptionally());
+    }
+}
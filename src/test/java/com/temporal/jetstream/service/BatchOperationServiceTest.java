@@ -0,0 +1,197 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.activity.FlightEventActivity;
+import com.temporal.jetstream.activity.PersistenceActivity;
+import com.temporal.jetstream.dto.BatchOperationStatus;
+import com.temporal.jetstream.dto.StartFlightRequest;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import com.temporal.jetstream.workflow.FlightSearchAttributes;
+import com.temporal.jetstream.workflow.FlightWorkflow;
+import com.temporal.jetstream.workflow.FlightWorkflowImpl;
+import io.temporal.api.workflowservice.v1.CountWorkflowExecutionsRequest;
+import io.temporal.client.WorkflowClient;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.serviceclient.WorkflowServiceStubsOptions;
+import io.temporal.testing.TestEnvironmentOptions;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class BatchOperationServiceTest {
+
+    private static final String TASK_QUEUE = "batch-operation-test-queue";
+
+    // host:port of a full Temporal server (e.g. temporal server start-dev); the in-process test
+    // server has no batch operation or visibility list APIs
+    private static final String EXTERNAL_TARGET = System.getProperty("temporal.test.target");
+
+    @Test
+    public void testStationQuerySelectsRunningFlightsAtStation() {
+        assertEquals("WorkflowType = 'FlightWorkflow' AND DepartureStation = 'MIA' AND ExecutionStatus = 'Running'",
+                BatchOperationService.runningFlightsAtStationQuery("mia"));
+    }
+
+    @Test
+    public void testStationQueryRejectsInvalidCodes() {
+        assertThrows(IllegalArgumentException.class, () -> BatchOperationService.runningFlightsAtStationQuery(null));
+        assertThrows(IllegalArgumentException.class, () -> BatchOperationService.runningFlightsAtStationQuery("MI"));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchOperationService.runningFlightsAtStationQuery("MIA' OR WorkflowType = 'MultiLegFlightWorkflow"));
+    }
+
+    @Test
+    public void testRegisteredAttributeIsSetOnStartedFlights() {
+        // Nothing registered up front: flight starts only work once registration has run
+        TestWorkflowEnvironment testEnv = TestWorkflowEnvironment.newInstance();
+        try {
+            testEnv.start();
+            BatchOperationService batchOperationService = batchOperationService(testEnv);
+            batchOperationService.registerSearchAttributes();
+            // Restarts find the attribute already registered
+            assertDoesNotThrow(batchOperationService::registerSearchAttributes);
+
+            String workflowId = startFlight(testEnv.getWorkflowClient(), "BO100", "mia");
+
+            assertEquals("MIA", testEnv.getWorkflowClient().newUntypedWorkflowStub(workflowId).describe()
+                    .getTypedSearchAttributes().get(FlightSearchAttributes.DEPARTURE_STATION));
+        } finally {
+            testEnv.close();
+        }
+    }
+
+    @Test
+    public void testFailedRegistrationFailsStartup() {
+        TestWorkflowEnvironment testEnv = TestWorkflowEnvironment.newInstance();
+        // Nothing listens on port 1
+        WorkflowServiceStubs unreachable = WorkflowServiceStubs.newServiceStubs(
+                WorkflowServiceStubsOptions.newBuilder().setTarget("localhost:1").build());
+        try {
+            BatchOperationService batchOperationService =
+                    new BatchOperationService(testEnv.getWorkflowClient(), unreachable, true, 50);
+            assertThrows(IllegalStateException.class, batchOperationService::registerSearchAttributes);
+        } finally {
+            unreachable.shutdownNow();
+            testEnv.close();
+        }
+    }
+
+    /**
+     * Runs only against a full server: mvn test -Dtest=BatchOperationServiceTest -Dtemporal.test.target=localhost:7233
+     */
+    @Test
+    public void testCancelStationCancelsFlightsDepartingStation() throws InterruptedException {
+        assumeTrue(EXTERNAL_TARGET != null, "temporal.test.target is not set");
+
+        TestWorkflowEnvironment testEnv = TestWorkflowEnvironment.newInstance(TestEnvironmentOptions.newBuilder()
+                .setUseExternalService(true)
+                .setTarget(EXTERNAL_TARGET)
+                .setUseTimeskipping(false)
+                .build());
+        try {
+            Worker worker = testEnv.newWorker(TASK_QUEUE);
+            worker.registerWorkflowImplementationTypes(FlightWorkflowImpl.class);
+            worker.registerActivitiesImplementations(new NoOpFlightEventActivity(), (PersistenceActivity) transition -> { });
+            testEnv.start();
+
+            BatchOperationService batchOperationService = batchOperationService(testEnv);
+            batchOperationService.registerSearchAttributes();
+
+            // A station and flight of its own, so earlier runs against the same server do not match
+            Random random = new Random();
+            String station = "Z" + (100 + random.nextInt(900));
+            String workflowId = startFlight(testEnv.getWorkflowClient(), "BO" + (1000 + random.nextInt(9000)), station);
+
+            // Visibility is eventually consistent; wait until the query sees the new flight
+            String query = BatchOperationService.runningFlightsAtStationQuery(station);
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (countMatches(testEnv, query) == 0) {
+                assertTrue(System.currentTimeMillis() < deadline, "Flight never became visible to " + query);
+                Thread.sleep(200);
+            }
+
+            BatchOperationStatus status = batchOperationService.cancelStation(station, "Hurricane closure");
+            assertEquals(query, status.getVisibilityQuery());
+
+            FlightWorkflow workflow = testEnv.getWorkflowClient().newWorkflowStub(FlightWorkflow.class, workflowId);
+            deadline = System.currentTimeMillis() + 30_000;
+            while (workflow.getFlightDetails().getCurrentState() != FlightState.CANCELLED) {
+                assertTrue(System.currentTimeMillis() < deadline, "Flight was not cancelled by " + status.getJobId());
+                Thread.sleep(200);
+            }
+        } finally {
+            testEnv.close();
+        }
+    }
+
+    private BatchOperationService batchOperationService(TestWorkflowEnvironment testEnv) {
+        return new BatchOperationService(testEnv.getWorkflowClient(), testEnv.getWorkflowServiceStubs(), true, 50);
+    }
+
+    private long countMatches(TestWorkflowEnvironment testEnv, String query) {
+        return testEnv.getWorkflowServiceStubs().blockingStub().countWorkflowExecutions(
+                CountWorkflowExecutionsRequest.newBuilder()
+                        .setNamespace(testEnv.getNamespace())
+                        .setQuery(query)
+                        .build())
+                .getCount();
+    }
+
+    /**
+     * Starts a flight through FlightStartService, which sets the DepartureStation attribute.
+     */
+    private String startFlight(WorkflowClient workflowClient, String flightNumber, String station) {
+        ExecutorService blockingCallExecutor = Executors.newSingleThreadExecutor();
+        String[] workflowId = new String[1];
+        try {
+            new ApplicationContextRunner()
+                    .withUserConfiguration(FlightStartService.class)
+                    .withBean(WorkflowClient.class, () -> workflowClient)
+                    .withBean(Validator.class, () -> Validation.buildDefaultValidatorFactory().getValidator())
+                    .withBean("blockingCallExecutor", ExecutorService.class, () -> blockingCallExecutor)
+                    .withPropertyValues("temporal.task-queue=" + TASK_QUEUE)
+                    .run(context -> workflowId[0] = context.getBean(FlightStartService.class)
+                            .startFlight(request(flightNumber, station)));
+        } finally {
+            blockingCallExecutor.shutdownNow();
+        }
+        return workflowId[0];
+    }
+
+    private StartFlightRequest request(String flightNumber, String station) {
+        StartFlightRequest request = new StartFlightRequest();
+        request.setFlightNumber(flightNumber);
+        request.setFlightDate(LocalDate.now());
+        request.setDepartureStation(station);
+        request.setArrivalStation("DFW");
+        request.setScheduledDeparture(LocalDateTime.now().plusHours(2));
+        request.setScheduledArrival(LocalDateTime.now().plusHours(5));
+        request.setGate("B12");
+        request.setAircraft("N12345");
+        return request;
+    }
+
+    private static class NoOpFlightEventActivity implements FlightEventActivity {
+
+        @Override
+        public void publishStateChange(String flightNumber, String previousState, String newState,
+                                       String gate, int delayMinutes) {
+        }
+
+        @Override
+        public void publishFlightEvent(FlightStatusEvent event) {
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.dto.ActiveFlightDTO;
+import com.temporal.jetstream.dto.BulkSignalProgress;
+import com.temporal.jetstream.dto.BulkSignalRequest;
+import com.temporal.jetstream.model.Flight;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.workflow.FlightWorkflow;
+import com.temporal.jetstream.workflow.FlightWorkflowImpl;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests selector validation, target resolution and the bounded signal fan-out of bulk operations.
+ */
+public class BulkSignalServiceTest {
+
+    private static final String TASK_QUEUE = "bulk-signal-test-queue";
+    private static final int FLIGHT_COUNT = 10;
+
+    private TestWorkflowEnvironment testEnv;
+    private WorkflowClient workflowClient;
+    private BulkSignalService bulkSignalService;
+    private final List<String> flightNumbers = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        testEnv = TestWorkflowEnvironment.newInstance();
+        Worker worker = testEnv.newWorker(TASK_QUEUE);
+        worker.registerWorkflowImplementationTypes(FlightWorkflowImpl.class);
+        testEnv.start();
+
+        workflowClient = testEnv.getWorkflowClient();
+        // Bulk operations only signal, so no update executor is needed
+        FlightSignalService signalService = new FlightSignalService(workflowClient, testEnv.getWorkflowServiceStubs(), 10000, null);
+        // A concurrency of 3 forces the fan-out to wait for free slots
+        bulkSignalService = new BulkSignalService(signalService, null, 3);
+
+        for (int i = 0; i < FLIGHT_COUNT; i++) {
+            String flightNumber = "BS" + (100 + i);
+            FlightWorkflow workflow = workflowClient.newWorkflowStub(FlightWorkflow.class,
+                    WorkflowOptions.newBuilder()
+                            .setTaskQueue(TASK_QUEUE)
+                            .setWorkflowId("flight-" + flightNumber + "-" + LocalDate.now())
+                            .build());
+            WorkflowClient.start(workflow::executeFlight, new Flight(
+                    flightNumber, LocalDate.now(), "ORD", "DFW",
+                    LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(5), "B12", "N12345"));
+            flightNumbers.add(flightNumber);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        testEnv.close();
+    }
+
+    @Test
+    public void testValidateRequiresExactlyOneSelector() {
+        BulkSignalRequest none = request(BulkSignalRequest.Operation.DELAY);
+        none.setMinutes(30);
+        assertThrows(IllegalArgumentException.class, () -> bulkSignalService.validate(none));
+
+        BulkSignalRequest both = request(BulkSignalRequest.Operation.DELAY);
+        both.setMinutes(30);
+        both.setFlightNumbers(List.of("BS100"));
+        both.setState(FlightState.SCHEDULED);
+        assertThrows(IllegalArgumentException.class, () -> bulkSignalService.validate(both));
+
+        BulkSignalRequest missingGate = request(BulkSignalRequest.Operation.GATE);
+        missingGate.setDepartureStation("ORD");
+        assertThrows(IllegalArgumentException.class, () -> bulkSignalService.validate(missingGate));
+
+        BulkSignalRequest valid = request(BulkSignalRequest.Operation.CANCEL);
+        valid.setDepartureStation("ORD");
+        valid.setReason("Ground stop");
+        assertDoesNotThrow(() -> bulkSignalService.validate(valid));
+    }
+
+    @Test
+    public void testDelaySignalsEveryListedFlight() throws InterruptedException {
+        BulkSignalRequest request = request(BulkSignalRequest.Operation.DELAY);
+        request.setMinutes(40);
+        List<String> listed = new ArrayList<>(flightNumbers);
+        listed.add("BS999"); // never started
+        request.setFlightNumbers(listed);
+
+        List<String> targets = bulkSignalService.resolveTargets(request);
+        assertEquals(FLIGHT_COUNT + 1, targets.size());
+
+        List<BulkSignalProgress> progress = Collections.synchronizedList(new ArrayList<>());
+        int signalled = bulkSignalService.signalAll(request, targets, progress::add);
+
+        assertEquals(FLIGHT_COUNT, signalled);
+        assertEquals(FLIGHT_COUNT + 1, progress.size());
+        assertEquals(1, progress.stream().filter(p -> p.getStatus() == BulkSignalProgress.Status.NOT_FOUND).count());
+        assertTrue(progress.stream().anyMatch(p -> p.getCompleted() == FLIGHT_COUNT + 1));
+
+        for (String flightNumber : flightNumbers) {
+            FlightWorkflow workflow = workflowClient.newWorkflowStub(FlightWorkflow.class,
+                    "flight-" + flightNumber + "-" + LocalDate.now());
+            assertEquals(40, workflow.getFlightDetails().getDelay());
+        }
+    }
+
+    @Test
+    public void testStationSelectorQueriesSearchAttribute() {
+        List<String> queries = new ArrayList<>();
+        ActiveFlightService activeFlights = new ActiveFlightService(1) {
+            @Override
+            public List<String> listRunningWorkflowIds(String query) {
+                queries.add(query);
+                return List.of("flight-BS100-" + LocalDate.now());
+            }
+        };
+        BulkSignalService service = new BulkSignalService(null, activeFlights, 3);
+
+        BulkSignalRequest request = request(BulkSignalRequest.Operation.DELAY);
+        request.setDepartureStation("ord");
+        assertEquals(List.of("flight-BS100-" + LocalDate.now()), service.resolveTargets(request));
+        assertEquals(List.of(BatchOperationService.runningFlightsAtStationQuery("ORD")), queries);
+
+        request.setDepartureStation("ORD' OR WorkflowType = 'MultiLegFlightWorkflow");
+        assertThrows(IllegalArgumentException.class, () -> service.resolveTargets(request));
+    }
+
+    @Test
+    public void testListingFailureIsNotReportedAsNoTargets() {
+        ActiveFlightService unavailable = new ActiveFlightService(1) {
+            @Override
+            public List<String> listRunningWorkflowIds(String query) {
+                throw new StatusRuntimeException(Status.UNAVAILABLE);
+            }
+
+            @Override
+            public List<ActiveFlightDTO> listActiveFlights() {
+                throw new StatusRuntimeException(Status.UNAVAILABLE);
+            }
+        };
+        BulkSignalService service = new BulkSignalService(null, unavailable, 3);
+
+        BulkSignalRequest byStation = request(BulkSignalRequest.Operation.DELAY);
+        byStation.setDepartureStation("ORD");
+        assertThrows(StatusRuntimeException.class, () -> service.resolveTargets(byStation));
+
+        BulkSignalRequest byState = request(BulkSignalRequest.Operation.DELAY);
+        byState.setState(FlightState.SCHEDULED);
+        assertThrows(StatusRuntimeException.class, () -> service.resolveTargets(byState));
+    }
+
+    private BulkSignalRequest request(BulkSignalRequest.Operation operation) {
+        BulkSignalRequest request = new BulkSignalRequest();
+        request.setOperation(operation);
+        return request;
+    }
+}
@@ -0,0 +1,218 @@
+package com.temporal.jetstream.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.temporal.jetstream.dto.FlightBoardEntry;
+import com.temporal.jetstream.dto.FlightDelta;
+import com.temporal.jetstream.model.Flight;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the delta computation behind snapshot-on-subscribe WebSocket updates.
+ */
+public class FlightBoardTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightBoardTest.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private FlightBoard board;
+
+    @BeforeEach
+    public void setUp() {
+        // Not seeded from Temporal, so no ActiveFlightService is needed
+        board = new FlightBoard(null);
+    }
+
+    @Test
+    public void testFirstEventIntroducesFlightWithEveryField() {
+        FlightDelta delta = board.apply(event("run-1", 0, "AA100", FlightState.SCHEDULED, "A1", 0));
+
+        assertNotNull(delta);
+        assertEquals(0, delta.getSeq());
+        assertNull(delta.getPrevSeq());
+        assertEquals(FlightState.SCHEDULED, delta.getCurrentState());
+        assertEquals("A1", delta.getGate());
+        assertEquals(0, delta.getDelay());
+        assertEquals("ORD", delta.getDepartureStation());
+        assertNotNull(delta.getStartedAt());
+    }
+
+    @Test
+    public void testGateChangeSendsOnlyTheGate() throws Exception {
+        board.apply(event("run-1", 0, "AA100", FlightState.SCHEDULED, "A1", 0));
+
+        FlightDelta delta = board.apply(event("run-1", 1, "AA100", FlightState.SCHEDULED, "B7", 0));
+
+        assertEquals(1, delta.getSeq());
+        assertEquals(0, delta.getPrevSeq());
+        assertEquals("B7", delta.getGate());
+        assertNull(delta.getCurrentState());
+        assertNull(delta.getDelay());
+        assertNull(delta.getDepartureStation());
+
+        Map<?, ?> json = objectMapper.readValue(objectMapper.writeValueAsString(delta), Map.class);
+        assertEquals(Map.of("flightNumber", "AA100", "seq", 1, "prevSeq", 0, "gate", "B7"), json);
+    }
+
+    @Test
+    public void testStaleAndDuplicateEventsAreDropped() {
+        board.apply(event("run-1", 0, "AA100", FlightState.SCHEDULED, "A1", 0));
+        board.apply(event("run-1", 2, "AA100", FlightState.BOARDING, "A1", 15));
+
+        assertNull(board.apply(event("run-1", 1, "AA100", FlightState.SCHEDULED, "A1", 15)));
+        assertNull(board.apply(event("run-1", 2, "AA100", FlightState.BOARDING, "A1", 15)));
+
+        FlightBoardEntry entry = board.snapshotForFlight("AA100").get(0);
+        assertEquals(2, entry.getSeq());
+        assertEquals(FlightState.BOARDING, entry.getCurrentState());
+    }
+
+    @Test
+    public void testNewRunRestartsSequence() {
+        board.apply(event("run-1", 0, "AA100", FlightState.SCHEDULED, "A1", 0));
+        board.apply(event("run-1", 1, "AA100", FlightState.BOARDING, "A1", 0));
+
+        FlightDelta delta = board.apply(event("run-2", 0, "AA100", FlightState.SCHEDULED, "C3", 0));
+
+        assertNotNull(delta);
+        assertNull(delta.getPrevSeq(), "A new run should be sent as a full delta");
+        assertEquals("C3", delta.getGate());
+    }
+
+    @Test
+    public void testFinishedFlightsLeaveTheBoard() {
+        board.apply(event("run-1", 0, "AA100", FlightState.SCHEDULED, "A1", 0));
+
+        FlightDelta delta = board.apply(event("run-1", 1, "AA100", FlightState.CANCELLED, "A1", 0));
+
+        assertEquals(FlightState.CANCELLED, delta.getCurrentState());
+        assertEquals(0, board.size());
+        assertTrue(board.snapshotForFlight("AA100").isEmpty());
+    }
+
+    @Test
+    public void testLateEventsFromFinishedRunAreDropped() {
+        board.apply(event("run-1", 0, "AA100", FlightState.SCHEDULED, "A1", 0));
+        board.apply(event("run-1", 2, "AA100", FlightState.CANCELLED, "A1", 0));
+
+        // A SIGNAL_APPLIED published alongside the cancellation, arriving after it, and a redelivery
+        assertNull(board.apply(event("run-1", 1, "AA100", FlightState.SCHEDULED, "B7", 0)));
+        assertNull(board.apply(event("run-1", 2, "AA100", FlightState.CANCELLED, "A1", 0)));
+        assertEquals(0, board.size());
+
+        // The next run of the same flight number is a new flight
+        FlightDelta delta = board.apply(event("run-2", 0, "AA100", FlightState.SCHEDULED, "C3", 0));
+        assertNotNull(delta);
+        assertEquals(1, board.size());
+    }
+
+    @Test
+    public void testStationSnapshot() {
+        board.apply(event("run-1", 0, "AA100", FlightState.SCHEDULED, "A1", 0, "ORD", "DFW"));
+        board.apply(event("run-2", 0, "UA200", FlightState.SCHEDULED, "B2", 0, "SFO", "ORD"));
+        board.apply(event("run-3", 0, "DL300", FlightState.SCHEDULED, "C3", 0, "ATL", "JFK"));
+
+        List<FlightBoardEntry> ord = board.snapshotForStation("ord");
+
+        assertEquals(List.of("AA100", "UA200"), ord.stream().map(FlightBoardEntry::getFlightNumber).toList());
+        assertEquals(3, board.snapshot().size());
+    }
+
+    @Test
+    public void testLegacyEventsAreOrderedByArrival() {
+        FlightStatusEvent first = event(null, 0, "AA100", FlightState.SCHEDULED, "A1", 0);
+        FlightStatusEvent second = event(null, 0, "AA100", FlightState.BOARDING, "A1", 0);
+
+        assertEquals(0, board.apply(first).getSeq());
+        FlightDelta delta = board.apply(second);
+        assertEquals(1, delta.getSeq());
+        assertEquals(0, delta.getPrevSeq());
+    }
+
+    @Test
+    public void benchmarkFullFlightVersusDeltaBytes() throws Exception {
+        List<FlightState> lifecycle = List.of(FlightState.SCHEDULED, FlightState.BOARDING,
+                FlightState.DEPARTED, FlightState.IN_FLIGHT, FlightState.LANDED);
+        long fullBytes = 0;
+        long deltaBytes = 0;
+        int messages = 0;
+
+        for (int f = 0; f < 200; f++) {
+            String flightNumber = "BM" + f;
+            int sequence = 0;
+            String gate = "A" + (f % 20);
+            int delay = 0;
+            for (FlightState state : lifecycle) {
+                // A state change followed by a gate change and a delay, as operations would send
+                for (int change = 0; change < 3; change++) {
+                    if (change == 1) {
+                        gate = "B" + ((f + sequence) % 20);
+                    } else if (change == 2) {
+                        delay += 5;
+                    }
+                    FlightStatusEvent event = event("run-" + f, sequence++, flightNumber, state, gate, delay);
+                    FlightDelta delta = board.apply(event);
+                    fullBytes += objectMapper.writeValueAsBytes(toFlight(event)).length;
+                    deltaBytes += objectMapper.writeValueAsBytes(delta).length;
+                    messages++;
+                }
+            }
+        }
+
+        logger.info("Board updates: {} messages, full flight = {} KB, deltas = {} KB ({}% of full)",
+                messages, fullBytes / 1024, deltaBytes / 1024,
+                String.format("%.1f", 100.0 * deltaBytes / fullBytes));
+
+        assertTrue(deltaBytes * 2 < fullBytes, "Deltas should be under half the size of full flight payloads");
+    }
+
+    private Flight toFlight(FlightStatusEvent event) {
+        Flight flight = new Flight();
+        flight.setFlightNumber(event.getFlightNumber());
+        flight.setFlightDate(event.getFlightDate());
+        flight.setDepartureStation(event.getDepartureStation());
+        flight.setArrivalStation(event.getArrivalStation());
+        flight.setCurrentState(event.getNewState());
+        flight.setGate(event.getGate());
+        flight.setDelay(event.getDelay());
+        return flight;
+    }
+
+    private FlightStatusEvent event(String run, int sequence, String flightNumber, FlightState state,
+                                    String gate, int delay) {
+        return event(run, sequence, flightNumber, state, gate, delay, "ORD", "DFW");
+    }
+
+    private FlightStatusEvent event(String run, int sequence, String flightNumber, FlightState state,
+                                    String gate, int delay, String departure, String arrival) {
+        FlightStatusEvent event = new FlightStatusEvent();
+        if (run != null) {
+            event.setEventId("flight-" + flightNumber + "-2026-01-27:" + run + ":" + sequence);
+            event.setSequence(sequence);
+        }
+        event.setEventType(FlightStatusEvent.EventType.STATE_CHANGED);
+        event.setFlightNumber(flightNumber);
+        event.setFlightDate(LocalDate.of(2026, 1, 27));
+        event.setDepartureStation(departure);
+        event.setArrivalStation(arrival);
+        event.setNewState(state);
+        event.setGate(gate);
+        event.setDelay(delay);
+        return event;
+    }
+}
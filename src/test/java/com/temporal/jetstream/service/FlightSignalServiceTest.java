@@ -0,0 +1,249 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.activity.FlightEventActivity;
+import com.temporal.jetstream.activity.PersistenceActivity;
+import com.temporal.jetstream.model.Flight;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import com.temporal.jetstream.workflow.FlightWorkflow;
+import com.temporal.jetstream.workflow.FlightWorkflowImpl;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the non-blocking signal and update paths, plus a load comparison against blocking
+ * update stubs. Both load runs use the same fixed number of request threads, standing in for
+ * Tomcat's pool.
+ */
+public class FlightSignalServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightSignalServiceTest.class);
+
+    private static final String TASK_QUEUE = "signal-test-queue";
+    private static final int FLIGHT_COUNT = 20;
+    private static final int REQUEST_COUNT = 2000;
+    private static final int REQUEST_THREADS = 8;
+    private static final int MAX_IN_FLIGHT = 256;
+
+    private TestWorkflowEnvironment testEnv;
+    private WorkflowClient workflowClient;
+    private ExecutorService blockingCallExecutor;
+    private FlightSignalService signalService;
+    private final List<String> workflowIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        testEnv = TestWorkflowEnvironment.newInstance();
+        Worker worker = testEnv.newWorker(TASK_QUEUE);
+        worker.registerWorkflowImplementationTypes(FlightWorkflowImpl.class);
+        // The workflow persists and publishes each transition before it waits for the next phase
+        worker.registerActivitiesImplementations(new NoOpFlightEventActivity(), (PersistenceActivity) transition -> { });
+        testEnv.start();
+
+        workflowClient = testEnv.getWorkflowClient();
+        blockingCallExecutor = Executors.newFixedThreadPool(REQUEST_THREADS);
+        signalService = new FlightSignalService(workflowClient, testEnv.getWorkflowServiceStubs(), 10000,
+                blockingCallExecutor);
+
+        for (int i = 0; i < FLIGHT_COUNT; i++) {
+            String flightNumber = "SG" + (100 + i);
+            String workflowId = "flight-" + flightNumber + "-" + LocalDate.now();
+            FlightWorkflow workflow = workflowClient.newWorkflowStub(FlightWorkflow.class,
+                    WorkflowOptions.newBuilder().setTaskQueue(TASK_QUEUE).setWorkflowId(workflowId).build());
+            WorkflowClient.start(workflow::executeFlight, new Flight(
+                    flightNumber, LocalDate.now(), "ORD", "DFW",
+                    LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(5), "B12", "N12345"));
+            workflowIds.add(workflowId);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        blockingCallExecutor.shutdownNow();
+        testEnv.close();
+    }
+
+    @Test
+    public void testSignalIsVisibleToLaterQuery() {
+        signalService.signal(workflowIds.get(0), "announceDelay", 45).join();
+        assertEquals(45, flightDetails(workflowIds.get(0)).getDelay());
+
+        signalService.signal(workflowIds.get(0), "changeGate", "C7").join();
+        assertEquals("C7", flightDetails(workflowIds.get(0)).getGate());
+    }
+
+    @Test
+    public void testUpdatesReturnUpdatedFlightInOneCall() {
+        Flight delayed = signalService.updateDelay(workflowIds.get(1), 30).join();
+        assertEquals(30, delayed.getDelay());
+
+        Flight gateChanged = signalService.updateGate(workflowIds.get(1), "D4").join();
+        assertEquals("D4", gateChanged.getGate());
+        assertEquals(30, gateChanged.getDelay());
+
+        Flight cancelled = signalService.updateCancellation(workflowIds.get(1), "Weather").join();
+        assertEquals(FlightState.CANCELLED, cancelled.getCurrentState());
+    }
+
+    @Test
+    public void testInvalidUpdateIsRejected() {
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> signalService.updateDelay(workflowIds.get(2), -5).join());
+        assertInstanceOf(FlightUpdateRejectedException.class, error.getCause());
+
+        CompletionException blankGate = assertThrows(CompletionException.class,
+                () -> signalService.updateGate(workflowIds.get(2), " ").join());
+        assertInstanceOf(FlightUpdateRejectedException.class, blankGate.getCause());
+
+        CompletionException unknownUpdate = assertThrows(CompletionException.class,
+                () -> signalService.update(workflowIds.get(2), "noSuchUpdate").join());
+        assertFalse(unknownUpdate.getCause() instanceof FlightUpdateRejectedException,
+                "Only validator rejections should map to a 400");
+
+        // Rejected updates leave the workflow untouched
+        assertEquals(0, flightDetails(workflowIds.get(2)).getDelay());
+    }
+
+    @Test
+    public void testUnknownWorkflowIsReportedAsNotFound() {
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> signalService.signal("flight-NOPE-2026-01-01", "announceDelay", 10).join());
+        assertTrue(FlightSignalService.isNotFound(error), "Expected NOT_FOUND but got " + error.getCause());
+    }
+
+    /**
+     * Compares the update path the controller uses with blocking typed update stubs. Excluded
+     * from the default build; run it with mvn test -Pbenchmark.
+     */
+    @Test
+    @Tag("benchmark")
+    public void benchmarkBlockingVersusAsyncUpdates() throws Exception {
+        List<String> mismatches = new ArrayList<>();
+
+        double blockingRate = measure("blocking", REQUEST_THREADS, (workflowId, minutes) -> {
+            FlightWorkflow workflow = workflowClient.newWorkflowStub(FlightWorkflow.class, workflowId);
+            checkDelay(workflow.applyDelay(minutes), minutes, mismatches);
+        });
+
+        // Request threads only hand the update off, as the controller does; the stub calls wait on
+        // virtual threads, as blockingCallExecutor does with virtual threads enabled
+        ExecutorService updateExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        FlightSignalService asyncService = new FlightSignalService(workflowClient, testEnv.getWorkflowServiceStubs(),
+                10000, updateExecutor);
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        List<CompletableFuture<Flight>> pending = new ArrayList<>();
+        double asyncRate;
+        try {
+            asyncRate = measure("async", REQUEST_THREADS, (workflowId, minutes) -> {
+                inFlight.acquire();
+                CompletableFuture<Flight> request = asyncService.updateDelay(workflowId, minutes)
+                        .whenComplete((flight, error) -> {
+                            inFlight.release();
+                            if (flight != null) {
+                                checkDelay(flight, minutes, mismatches);
+                            }
+                        });
+                synchronized (pending) {
+                    pending.add(request);
+                }
+            }, () -> CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).get(120, TimeUnit.SECONDS));
+        } finally {
+            updateExecutor.shutdownNow();
+        }
+
+        logger.info("Update throughput with {} request threads: blocking = {} req/s, async = {} req/s",
+                REQUEST_THREADS, String.format("%.0f", blockingRate), String.format("%.0f", asyncRate));
+
+        assertEquals(REQUEST_COUNT, pending.size());
+        for (CompletableFuture<Flight> request : pending) {
+            assertFalse(request.isCompletedExceptionally());
+        }
+        // Each update returns the flight as that update left it
+        assertTrue(mismatches.isEmpty(), "Updates returned another request's delay: " + mismatches);
+    }
+
+    private static void checkDelay(Flight flight, int minutes, List<String> mismatches) {
+        if (flight.getDelay() != minutes) {
+            synchronized (mismatches) {
+                mismatches.add(flight.getFlightNumber() + ": expected " + minutes + " but got " + flight.getDelay());
+            }
+        }
+    }
+
+    private Flight flightDetails(String workflowId) {
+        return workflowClient.newWorkflowStub(FlightWorkflow.class, workflowId).getFlightDetails();
+    }
+
+    private double measure(String label, int threads, UpdateRequest request) throws Exception {
+        return measure(label, threads, request, () -> { });
+    }
+
+    private double measure(String label, int threads, UpdateRequest request, Barrier awaitCompletion) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> submitted = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUEST_COUNT; i++) {
+                String workflowId = workflowIds.get(i % FLIGHT_COUNT);
+                int minutes = i % 60;
+                submitted.add(executor.submit(() -> {
+                    request.send(workflowId, minutes);
+                    return null;
+                }));
+            }
+            for (Future<?> result : submitted) {
+                result.get(120, TimeUnit.SECONDS);
+            }
+            awaitCompletion.await();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            logger.info("{}: {} update requests in {} s", label, REQUEST_COUNT, String.format("%.2f", seconds));
+            return REQUEST_COUNT / seconds;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class NoOpFlightEventActivity implements FlightEventActivity {
+
+        @Override
+        public void publishStateChange(String flightNumber, String previousState, String newState,
+                                       String gate, int delayMinutes) {
+        }
+
+        @Override
+        public void publishFlightEvent(FlightStatusEvent event) {
+        }
+    }
+
+    @FunctionalInterface
+    private interface UpdateRequest {
+        void send(String workflowId, int minutes) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface Barrier {
+        void await() throws Exception;
+    }
+}
@@ -0,0 +1,113 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.dto.BulkStartResult;
+import com.temporal.jetstream.dto.StartFlightRequest;
+import com.temporal.jetstream.workflow.FlightSearchAttributes;
+import io.temporal.api.enums.v1.IndexedValueType;
+import io.temporal.client.WorkflowClient;
+import io.temporal.testing.TestWorkflowEnvironment;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for bulk flight starts: every input item gets exactly one result, and all results are
+ * written before startAll returns (the controller closes the NDJSON stream right after).
+ */
+public class FlightStartServiceTest {
+
+    private static final int FLIGHT_COUNT = 12;
+
+    private TestWorkflowEnvironment testEnv;
+    private ExecutorService blockingCallExecutor;
+
+    @BeforeEach
+    public void setUp() {
+        testEnv = TestWorkflowEnvironment.newInstance();
+        testEnv.registerSearchAttribute(FlightSearchAttributes.DEPARTURE_STATION.getName(),
+                IndexedValueType.INDEXED_VALUE_TYPE_KEYWORD);
+        testEnv.start();
+        blockingCallExecutor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        blockingCallExecutor.shutdownNow();
+        testEnv.close();
+    }
+
+    @Test
+    public void testStartAllReportsOneResultPerItem() {
+        List<StartFlightRequest> requests = new ArrayList<>();
+        for (int i = 0; i < FLIGHT_COUNT; i++) {
+            requests.add(request("SB" + (100 + i)));
+        }
+        StartFlightRequest invalid = request("SB999");
+        invalid.setGate(null);
+        requests.add(invalid);
+
+        new ApplicationContextRunner()
+                .withUserConfiguration(FlightStartService.class)
+                .withBean(WorkflowClient.class, testEnv::getWorkflowClient)
+                .withBean(Validator.class, () -> Validation.buildDefaultValidatorFactory().getValidator())
+                .withBean("blockingCallExecutor", ExecutorService.class, () -> blockingCallExecutor)
+                // A concurrency of 3 makes most starts wait for a slot held by a slow writer
+                .withPropertyValues("temporal.task-queue=flight-task-queue",
+                        "flights.bulk-start.max-concurrency=3")
+                .run(context -> {
+                    FlightStartService service = context.getBean(FlightStartService.class);
+                    List<BulkStartResult> results = Collections.synchronizedList(new ArrayList<>());
+
+                    int processed = service.startAll(requests.iterator(), result -> {
+                        // A slow client connection: the write finishes well after the start itself
+                        try {
+                            Thread.sleep(50);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        results.add(result);
+                    });
+
+                    // Read straight away, as the controller does before closing its generator
+                    List<BulkStartResult> written = new ArrayList<>(results);
+                    assertEquals(requests.size(), processed);
+                    assertEquals(requests.size(), written.size());
+                    assertEquals(requests.size(), written.stream().mapToInt(BulkStartResult::getIndex).distinct().count());
+                    assertEquals(FLIGHT_COUNT, written.stream()
+                            .filter(r -> r.getStatus() == BulkStartResult.Status.STARTED).count());
+
+                    BulkStartResult rejected = written.stream()
+                            .filter(r -> r.getStatus() == BulkStartResult.Status.INVALID)
+                            .findFirst()
+                            .orElseThrow();
+                    assertEquals(FLIGHT_COUNT, rejected.getIndex());
+                    assertEquals("Gate is required", rejected.getMessage());
+                });
+    }
+
+    private StartFlightRequest request(String flightNumber) {
+        StartFlightRequest request = new StartFlightRequest();
+        request.setFlightNumber(flightNumber);
+        request.setFlightDate(LocalDate.now());
+        request.setDepartureStation("ORD");
+        request.setArrivalStation("DFW");
+        request.setScheduledDeparture(LocalDateTime.now().plusHours(2));
+        request.setScheduledArrival(LocalDateTime.now().plusHours(5));
+        request.setGate("B12");
+        request.setAircraft("N12345");
+        return request;
+    }
+}
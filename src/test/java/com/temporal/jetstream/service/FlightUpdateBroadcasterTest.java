@@ -0,0 +1,134 @@
+package com.temporal.jetstream.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.temporal.jetstream.dto.FlightDelta;
+import com.temporal.jetstream.model.FlightState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for per-flight coalescing of WebSocket deltas.
+ */
+public class FlightUpdateBroadcasterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<String> fleetPayloads = new ArrayList<>();
+    private SimpMessagingTemplate template;
+    private FlightUpdateBroadcaster broadcaster;
+
+    @BeforeEach
+    public void setUp() {
+        template = new SimpMessagingTemplate(new MessageChannel() {
+            @Override
+            public boolean send(Message<?> message, long timeout) {
+                if (FlightEventService.FLIGHTS_DESTINATION.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                    fleetPayloads.add(new String((byte[]) message.getPayload()));
+                }
+                return true;
+            }
+        });
+        template.setMessageConverter(InProcessBroker.messageConverter());
+        // Long frame so that only explicit flush() calls send
+        broadcaster = new FlightUpdateBroadcaster(template, null, null, 60_000);
+        broadcaster.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        broadcaster.stop();
+    }
+
+    @Test
+    public void testDeltasWithinOneFrameAreMergedPerFlight() throws Exception {
+        broadcaster.submit(delta("AA100", 1, 0, FlightState.BOARDING, null, null));
+        broadcaster.submit(delta("AA100", 2, 1, null, "B7", null));
+        broadcaster.submit(delta("AA100", 3, 2, null, "B9", 15));
+        broadcaster.submit(delta("UA200", 5, 4, null, null, 30));
+
+        assertEquals(2, broadcaster.getStats().getPendingFlights());
+        assertTrue(fleetPayloads.isEmpty());
+
+        broadcaster.flush();
+
+        assertEquals(2, fleetPayloads.size());
+        Map<?, ?> merged = fleetPayloads.stream()
+                .map(this::parse)
+                .filter(json -> "AA100".equals(json.get("flightNumber")))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(Map.of("flightNumber", "AA100", "seq", 3, "prevSeq", 0,
+                "currentState", "BOARDING", "gate", "B9", "delay", 15), merged);
+
+        assertEquals(4, broadcaster.getStats().getSubmittedDeltas());
+        assertEquals(2, broadcaster.getStats().getCoalescedDeltas());
+        assertEquals(2, broadcaster.getStats().getSentDeltas());
+        assertEquals(0, broadcaster.getStats().getPendingFlights());
+    }
+
+    @Test
+    public void testFullDeltaReplacesPendingDelta() {
+        FlightDelta partial = delta("AA100", 4, 3, null, "B7", null);
+        FlightDelta full = delta("AA100", 0, null, FlightState.SCHEDULED, "C1", 0);
+
+        assertSame(full, FlightUpdateBroadcaster.merge(partial, full));
+    }
+
+    @Test
+    public void testMergeIntoFullDeltaStaysFull() {
+        FlightDelta full = delta("AA100", 0, null, FlightState.SCHEDULED, "C1", 0);
+        FlightDelta partial = delta("AA100", 1, 0, null, "D2", null);
+
+        FlightDelta merged = FlightUpdateBroadcaster.merge(full, partial);
+
+        assertNull(merged.getPrevSeq());
+        assertEquals(1, merged.getSeq());
+        assertEquals(FlightState.SCHEDULED, merged.getCurrentState());
+        assertEquals("D2", merged.getGate());
+        assertEquals(0, merged.getDelay());
+    }
+
+    @Test
+    public void testZeroFrameIntervalSendsImmediately() throws InterruptedException {
+        FlightUpdateBroadcaster immediate = new FlightUpdateBroadcaster(template, null, null, 0);
+        immediate.start();
+
+        immediate.submit(delta("AA100", 1, 0, null, "B7", null));
+        immediate.submit(delta("AA100", 2, 1, null, "B9", null));
+
+        assertEquals(2, fleetPayloads.size());
+        immediate.stop();
+    }
+
+    private FlightDelta delta(String flightNumber, int seq, Integer prevSeq, FlightState state, String gate, Integer delay) {
+        FlightDelta delta = new FlightDelta();
+        delta.setFlightNumber(flightNumber);
+        delta.setSeq(seq);
+        delta.setPrevSeq(prevSeq);
+        delta.setCurrentState(state);
+        delta.setGate(gate);
+        delta.setDelay(delay);
+        delta.setRouteDeparture("ORD");
+        delta.setRouteArrival("DFW");
+        return delta;
+    }
+
+    private Map<?, ?> parse(String json) {
+        try {
+            return objectMapper.readValue(json, Map.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
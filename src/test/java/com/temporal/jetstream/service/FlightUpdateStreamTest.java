@@ -0,0 +1,222 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.dto.FlightDelta;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the SSE stream's ring buffer, resume, filters and per-subscriber queues.
+ */
+public class FlightUpdateStreamTest {
+
+    private static final FlightUpdateStream.StreamFilter ALL = new FlightUpdateStream.StreamFilter(Set.of(), null);
+
+    private FlightBoard board;
+    private FlightUpdateStream stream;
+
+    @BeforeEach
+    public void setUp() {
+        board = new FlightBoard(null);
+        // Small buffer so eviction is easy to reach; no heartbeats
+        stream = new FlightUpdateStream(board, 5, 2, 60_000, 0, 100);
+        stream.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        stream.stop();
+    }
+
+    @Test
+    public void testBoardDeltasAreBuffered() {
+        board.apply(event("AA100", 0, "ORD", "DFW", "A1"));
+        board.apply(event("AA100", 1, "ORD", "DFW", "A2"));
+
+        String firstId = eventIdOf(1);
+        List<FlightUpdateStream.StreamEvent> missed = stream.replaySince(firstId, ALL);
+
+        assertNotNull(missed);
+        assertEquals(1, missed.size());
+        assertEquals("A2", missed.get(0).delta().getGate());
+    }
+
+    @Test
+    public void testResumeFromLatestIdReplaysNothing() {
+        board.apply(event("AA100", 0, "ORD", "DFW", "A1"));
+
+        List<FlightUpdateStream.StreamEvent> missed = stream.replaySince(eventIdOf(1), ALL);
+
+        assertNotNull(missed);
+        assertTrue(missed.isEmpty());
+    }
+
+    @Test
+    public void testEvictedOrForeignIdsNeedSnapshot() {
+        for (int i = 0; i < 8; i++) {
+            board.apply(event("AA100", i, "ORD", "DFW", "A" + i));
+        }
+
+        // Buffer holds 4..8; resuming after 3 is still complete, after 2 is not
+        assertNotNull(stream.replaySince(eventIdOf(3), ALL));
+        assertNull(stream.replaySince(eventIdOf(2), ALL));
+        assertNull(stream.replaySince(eventIdOf(99), ALL));
+        assertNull(stream.replaySince("otherprocess-3", ALL));
+        assertNull(stream.replaySince(null, ALL));
+    }
+
+    @Test
+    public void testReplayAppliesFilter() {
+        board.apply(event("AA100", 0, "ORD", "DFW", "A1"));
+        board.apply(event("UA200", 0, "SFO", "DEN", "B1"));
+        board.apply(event("DL300", 0, "ATL", "ORD", "C1"));
+
+        FlightUpdateStream.StreamFilter ord = new FlightUpdateStream.StreamFilter(Set.of(), "ORD");
+        FlightUpdateStream.StreamFilter ua = new FlightUpdateStream.StreamFilter(Set.of("UA200"), null);
+
+        assertEquals(List.of("AA100", "DL300"), flightNumbers(stream.replaySince(eventIdOf(0), ord)));
+        assertEquals(List.of("UA200"), flightNumbers(stream.replaySince(eventIdOf(0), ua)));
+    }
+
+    @Test
+    public void testConnectionLimit() {
+        assertNotNull(stream.subscribe(ALL, null));
+        assertNotNull(stream.subscribe(ALL, null));
+        assertNull(stream.subscribe(ALL, null));
+        assertEquals(2, stream.getConnectionCount());
+    }
+
+    @Test
+    public void testConnectionLimitHoldsUnderConcurrentSubscribes() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<SseEmitter>> attempts = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                attempts.add(pool.submit(() -> {
+                    go.await();
+                    return stream.subscribe(ALL, null);
+                }));
+            }
+            go.countDown();
+
+            int accepted = 0;
+            for (Future<SseEmitter> attempt : attempts) {
+                if (attempt.get(5, TimeUnit.SECONDS) != null) {
+                    accepted++;
+                }
+            }
+            assertEquals(2, accepted);
+            assertEquals(2, stream.getConnectionCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSlowSubscriberIsClosedWithoutDelayingOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch slowCompleted = new CountDownLatch(1);
+        List<SseEmitter.SseEventBuilder> fastEvents = new CopyOnWriteArrayList<>();
+        Deque<SseEmitter> emitters = new ArrayDeque<>(List.of(
+                // A kiosk on a stalled connection: its first write never returns until released
+                new SseEmitter(60_000L) {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+
+                    @Override
+                    public void complete() {
+                        slowCompleted.countDown();
+                    }
+                },
+                new SseEmitter(60_000L) {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        fastEvents.add(builder);
+                    }
+                }));
+        FlightUpdateStream queued = new FlightUpdateStream(board, 100, 2, 60_000, 0, 3) {
+            @Override
+            SseEmitter newEmitter(long timeoutMs) {
+                return emitters.removeFirst();
+            }
+        };
+        queued.start();
+        try {
+            queued.subscribe(ALL, null);
+            queued.subscribe(ALL, null);
+
+            // Snapshot plus every delta, while the slow writer is still stuck on its snapshot. Each
+            // delta waits for the fast client's write, so its small queue cannot fill on a single core
+            awaitSize(fastEvents, 1);
+            for (int i = 0; i < 10; i++) {
+                board.apply(event("AA100", i, "ORD", "DFW", "A" + i));
+                awaitSize(fastEvents, i + 2);
+            }
+            assertEquals(11, fastEvents.size());
+            assertEquals(1, queued.getLaggingClosed());
+            assertEquals(1, queued.getConnectionCount());
+            assertEquals(1, slowCompleted.getCount(), "Closing must wait for the write in progress");
+
+            release.countDown();
+            assertTrue(slowCompleted.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            queued.stop();
+        }
+    }
+
+    private void awaitSize(List<?> list, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (list.size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, list.size());
+    }
+
+    private String eventIdOf(long sequence) {
+        return stream.eventId(sequence);
+    }
+
+    private List<String> flightNumbers(List<FlightUpdateStream.StreamEvent> events) {
+        return events.stream().map(FlightUpdateStream.StreamEvent::delta).map(FlightDelta::getFlightNumber).toList();
+    }
+
+    private FlightStatusEvent event(String flightNumber, int sequence, String departure, String arrival, String gate) {
+        FlightStatusEvent event = new FlightStatusEvent();
+        event.setEventId("flight-" + flightNumber + "-2026-01-27:run:" + sequence);
+        event.setSequence(sequence);
+        event.setEventType(FlightStatusEvent.EventType.STATE_CHANGED);
+        event.setFlightNumber(flightNumber);
+        event.setFlightDate(LocalDate.of(2026, 1, 27));
+        event.setDepartureStation(departure);
+        event.setArrivalStation(arrival);
+        event.setNewState(FlightState.BOARDING);
+        event.setGate(gate);
+        return event;
+    }
+}
@@ -0,0 +1,76 @@
+package com.temporal.jetstream.service;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.JacksonJsonMessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+
+/**
+ * Spring's simple STOMP broker run in-process for tests, with simulated client sessions.
+ * Messages the broker sends to clients go to the given outbound channel.
+ */
+final class InProcessBroker {
+
+    private final SimpleBrokerMessageHandler broker;
+    private final SimpMessagingTemplate template;
+
+    InProcessBroker(MessageChannel clientOutbound) {
+        broker = new SimpleBrokerMessageHandler(new ExecutorSubscribableChannel(), clientOutbound,
+                new ExecutorSubscribableChannel(), List.of("/topic"));
+        broker.start();
+        template = new SimpMessagingTemplate(new MessageChannel() {
+            @Override
+            public boolean send(Message<?> message, long timeout) {
+                broker.handleMessage(message);
+                return true;
+            }
+        });
+        template.setMessageConverter(messageConverter());
+    }
+
+    /**
+     * The JSON converter the application's broker registers by default.
+     */
+    static MessageConverter messageConverter() {
+        return new JacksonJsonMessageConverter();
+    }
+
+    /**
+     * Publishes to the broker, as the application's SimpMessagingTemplate does.
+     */
+    SimpMessagingTemplate template() {
+        return template;
+    }
+
+    void subscribe(String sessionId, String destination) {
+        // The broker only delivers to connected sessions
+        SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+        connect.setSessionId(sessionId);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    void unsubscribe(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    void stop() {
+        broker.stop();
+    }
+}
@@ -0,0 +1,73 @@
+package com.temporal.jetstream.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void testBurstIsServedImmediately() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 20);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 200, "Burst of 20 should not wait, took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void testSustainedRateIsLimited() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(50, 1);
+
+        long start = System.nanoTime();
+        // First permit comes from the bucket, the next 25 are paced at 20 ms each
+        for (int i = 0; i < 26; i++) {
+            limiter.acquire();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs >= 450, "25 paced permits at 50/s should take ~500 ms, took " + elapsedMs + " ms");
+        assertTrue(elapsedMs < 1500, "Limiter waited far longer than the configured rate, took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void testConcurrentCallersShareTheRate() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 51; i++) {
+                results.add(executor.submit(() -> {
+                    limiter.acquire();
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertTrue(elapsedMs >= 450, "50 paced permits at 100/s should take ~500 ms, took " + elapsedMs + " ms");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(10, 0));
+    }
+}
@@ -0,0 +1,137 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.config.WebSocketBrokerMode;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures WebSocket outbound bytes for 1,000 simulated clients, comparing every client on the
+ * fleet-wide /topic/flights against each client on its own station topic.
+ * Runs the real simple broker in-process and counts the MESSAGE payloads it sends to clients.
+ */
+public class WebSocketFanoutBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketFanoutBenchmarkTest.class);
+
+    private static final int CLIENT_COUNT = 1000;
+    private static final int EVENT_COUNT = 2000;
+    private static final List<String> STATIONS = List.of(
+            "ATL", "DFW", "DEN", "ORD", "LAX", "JFK", "LAS", "MCO", "MIA", "CLT",
+            "SEA", "PHX", "EWR", "SFO", "IAH", "BOS", "FLL", "MSP", "LGA", "DTW",
+            "PHL", "SLC", "BWI", "DCA", "SAN", "IAD", "TPA", "BNA", "AUS", "MDW");
+
+    private InProcessBroker broker;
+    private FlightEventService flightEventService;
+    private final AtomicLong outboundBytes = new AtomicLong();
+    private final AtomicLong outboundMessages = new AtomicLong();
+
+    @BeforeEach
+    public void setUp() {
+        MessageChannel clientOutbound = new MessageChannel() {
+            @Override
+            public boolean send(Message<?> message, long timeout) {
+                if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+                    outboundBytes.addAndGet(((byte[]) message.getPayload()).length);
+                    outboundMessages.incrementAndGet();
+                }
+                return true;
+            }
+        };
+        broker = new InProcessBroker(clientOutbound);
+        flightEventService = newFlightEventService();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        broker.stop();
+    }
+
+    @Test
+    public void testUpdatesReachOnlyMatchingStationSubscribers() {
+        broker.subscribe("agent-ord", "/topic/stations/ORD");
+        broker.subscribe("agent-sfo", "/topic/stations/SFO");
+        broker.subscribe("tracker", "/topic/flights/AA100");
+
+        flightEventService.publishStatusEvent(event(0, "AA100", "ORD", "DFW"));
+
+        // agent-ord and tracker; nothing for SFO
+        assertEquals(2, outboundMessages.get());
+    }
+
+    @Test
+    public void benchmarkFleetTopicVersusStationTopics() {
+        for (int i = 0; i < CLIENT_COUNT; i++) {
+            broker.subscribe("fleet-" + i, FlightEventService.FLIGHTS_DESTINATION);
+        }
+        long fleetBytes = publishEvents();
+        long fleetMessages = outboundMessages.getAndSet(0);
+        outboundBytes.set(0);
+
+        for (int i = 0; i < CLIENT_COUNT; i++) {
+            broker.unsubscribe("fleet-" + i);
+            broker.subscribe("station-" + i, FlightEventService.STATIONS_DESTINATION + "/" + STATIONS.get(i % STATIONS.size()));
+        }
+        long stationBytes = publishEvents();
+        long stationMessages = outboundMessages.get();
+
+        logger.info("WebSocket fan-out to {} clients, {} updates: fleet topic = {} messages / {} KB, "
+                        + "station topics = {} messages / {} KB ({}% of fleet bytes)",
+                CLIENT_COUNT, EVENT_COUNT, fleetMessages, fleetBytes / 1024, stationMessages, stationBytes / 1024,
+                String.format("%.1f", 100.0 * stationBytes / fleetBytes));
+
+        assertEquals((long) CLIENT_COUNT * EVENT_COUNT, fleetMessages);
+        // Each update touches two of the stations, so roughly 2/30 of the fleet traffic is expected
+        assertTrue(stationBytes * 10 < fleetBytes, "Station routing should cut outbound bytes by over 90%");
+    }
+
+    private long publishEvents() {
+        // A fresh board per run, so both runs send the same deltas
+        flightEventService = newFlightEventService();
+        Random random = new Random(42);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            String departure = STATIONS.get(random.nextInt(STATIONS.size()));
+            String arrival = STATIONS.get((STATIONS.indexOf(departure) + 1 + random.nextInt(STATIONS.size() - 1)) % STATIONS.size());
+            flightEventService.publishStatusEvent(event(i, "BM" + (i % 400), departure, arrival));
+        }
+        return outboundBytes.get();
+    }
+
+    private FlightEventService newFlightEventService() {
+        // Not seeded from Temporal, so no ActiveFlightService is needed. Without start() the
+        // broadcaster sends every delta immediately, so each update is counted
+        return new FlightEventService(broker.template(), new FlightBoard(null),
+                new FlightUpdateBroadcaster(broker.template(), null, null, 0), WebSocketBrokerMode.SIMPLE);
+    }
+
+    private FlightStatusEvent event(int sequence, String flightNumber, String departure, String arrival) {
+        FlightStatusEvent event = new FlightStatusEvent();
+        event.setEventId("flight-" + flightNumber + ":run:" + sequence);
+        event.setSequence(sequence);
+        event.setEventType(FlightStatusEvent.EventType.STATE_CHANGED);
+        event.setFlightNumber(flightNumber);
+        event.setFlightDate(LocalDate.of(2026, 1, 27));
+        event.setDepartureStation(departure);
+        event.setArrivalStation(arrival);
+        event.setPreviousState(FlightState.SCHEDULED);
+        event.setNewState(FlightState.BOARDING);
+        event.setGate("B" + (sequence % 40));
+        event.setDelay(sequence % 3 == 0 ? 15 : 0);
+        return event;
+    }
+}
@@ -0,0 +1,147 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.config.WebSocketBrokerMode;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RELAY mode with two application nodes sharing one broker. An in-process simple broker stands
+ * in for the external STOMP broker, and Kafka partition ownership is simulated by routing each
+ * flight's events to one node's publisher, as the shared relay consumer group would.
+ */
+public class WebSocketRelayModeTest {
+
+    private InProcessBroker sharedBroker;
+    private final Map<String, AtomicInteger> receivedBySession = new ConcurrentHashMap<>();
+    private final Map<String, String> lastPayloadBySession = new ConcurrentHashMap<>();
+
+    private FlightBoard boardA;
+    private FlightBoard boardB;
+    private FlightEventService nodeA;
+    private FlightEventService nodeB;
+
+    @BeforeEach
+    public void setUp() {
+        MessageChannel clientOutbound = new MessageChannel() {
+            @Override
+            public boolean send(Message<?> message, long timeout) {
+                if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+                    String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                    receivedBySession.computeIfAbsent(sessionId, id -> new AtomicInteger()).incrementAndGet();
+                    lastPayloadBySession.put(sessionId, new String((byte[]) message.getPayload(), StandardCharsets.UTF_8));
+                }
+                return true;
+            }
+        };
+        sharedBroker = new InProcessBroker(clientOutbound);
+
+        boardA = new FlightBoard(null);
+        boardB = new FlightBoard(null);
+        nodeA = newNode(boardA);
+        nodeB = newNode(boardB);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sharedBroker.stop();
+    }
+
+    @Test
+    public void testEachEventReachesEveryClientOnce() {
+        // Clients connected to different nodes; their subscriptions are relayed to the shared broker
+        sharedBroker.subscribe("client-on-a", FlightEventService.FLIGHTS_DESTINATION);
+        sharedBroker.subscribe("client-on-b", FlightEventService.FLIGHTS_DESTINATION);
+
+        List<String> flights = List.of("AA100", "UA200", "DL300", "WN400");
+        for (int sequence = 0; sequence < 3; sequence++) {
+            for (String flightNumber : flights) {
+                consume(event(flightNumber, sequence));
+            }
+        }
+
+        assertEquals(12, receivedBySession.get("client-on-a").get());
+        assertEquals(12, receivedBySession.get("client-on-b").get());
+
+        // Every node keeps the full board for snapshots, not just the flights it publishes
+        assertEquals(4, boardA.size());
+        assertEquals(4, boardB.size());
+    }
+
+    @Test
+    public void testPublisherOnlySendsOnceWhenAllNodesConsume() {
+        sharedBroker.subscribe("client", FlightEventService.FLIGHTS_DESTINATION);
+
+        FlightStatusEvent event = event("AA100", 0);
+        nodeA.updateBoard(event);
+        nodeB.updateBoard(event);
+
+        assertNull(receivedBySession.get("client"), "Board updates alone must not publish in RELAY mode");
+
+        nodeA.publishStatusEvent(event);
+        assertEquals(1, receivedBySession.get("client").get());
+    }
+
+    @Test
+    public void testPartitionRevokedAndReassignedSendsFullDelta() {
+        sharedBroker.subscribe("client", FlightEventService.FLIGHTS_DESTINATION);
+
+        nodeA.publishStatusEvent(event("AA100", 0), 0);
+        // Rebalance: partition 0 moves to node B, which publishes the next event...
+        nodeA.forgetPartitions(List.of(0));
+        nodeB.publishStatusEvent(event("AA100", 1), 0);
+        // ...then back to node A, whose last delta for the flight was seq 0
+        nodeB.forgetPartitions(List.of(0));
+        nodeA.publishStatusEvent(event("AA100", 2), 0);
+
+        String last = lastPayloadBySession.get("client");
+        assertTrue(last.contains("\"seq\":2"), last);
+        assertFalse(last.contains("prevSeq"), "Expected a full delta after reassignment: " + last);
+    }
+
+    private FlightEventService newNode(FlightBoard board) {
+        // Every node's template publishes to the shared broker
+        return new FlightEventService(sharedBroker.template(), board,
+                new FlightUpdateBroadcaster(sharedBroker.template(), null, null, 0), WebSocketBrokerMode.RELAY);
+    }
+
+    /**
+     * What the two listeners do on each node: every node updates its board; only the node
+     * owning the flight's partition in the relay group publishes.
+     */
+    private void consume(FlightStatusEvent event) {
+        nodeA.updateBoard(event);
+        nodeB.updateBoard(event);
+        FlightEventService owner = Math.floorMod(event.getFlightNumber().hashCode(), 2) == 0 ? nodeA : nodeB;
+        owner.publishStatusEvent(event);
+    }
+
+    private FlightStatusEvent event(String flightNumber, int sequence) {
+        FlightStatusEvent event = new FlightStatusEvent();
+        event.setEventId("flight-" + flightNumber + "-2026-01-27:run:" + sequence);
+        event.setSequence(sequence);
+        event.setEventType(FlightStatusEvent.EventType.STATE_CHANGED);
+        event.setFlightNumber(flightNumber);
+        event.setFlightDate(LocalDate.of(2026, 1, 27));
+        event.setDepartureStation("ORD");
+        event.setArrivalStation("DFW");
+        event.setNewState(FlightState.SCHEDULED);
+        event.setGate("A" + sequence);
+        return event;
+    }
+}
@@ -0,0 +1,146 @@
+package com.temporal.jetstream.service;
+
+import com.temporal.jetstream.activity.FlightEventActivity;
+import com.temporal.jetstream.activity.PersistenceActivity;
+import com.temporal.jetstream.config.WorkerRole;
+import com.temporal.jetstream.config.WorkerSettings;
+import com.temporal.jetstream.dto.WorkerRestartResult;
+import com.temporal.jetstream.model.Flight;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import com.temporal.jetstream.workflow.FlightWorkflow;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.client.WorkflowStub;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.WorkerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for draining and replacing the Temporal workers.
+ */
+public class WorkerManagementServiceTest {
+
+    private static final String TASK_QUEUE = "flight-task-queue";
+
+    private TestWorkflowEnvironment testEnv;
+    private WorkerSettings workerSettings;
+    private RecordingPersistenceActivity persistenceActivity;
+    private WorkerManagementService service;
+
+    @BeforeEach
+    public void setUp() {
+        testEnv = TestWorkflowEnvironment.newInstance();
+        testEnv.start();
+        // Default temporal.worker.* settings
+        new ApplicationContextRunner()
+                .withUserConfiguration(WorkerSettings.class)
+                .run(context -> workerSettings = context.getBean(WorkerSettings.class));
+        persistenceActivity = new RecordingPersistenceActivity();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        service.stop();
+        testEnv.close();
+    }
+
+    @Test
+    public void testRestartDrainsOldFactoryAndKeepsActivitiesRegistered() throws Exception {
+        service = newService("");
+        service.start();
+        WorkerFactory original = service.getWorkerFactory();
+
+        WorkerRestartResult result = service.restartWorker();
+
+        assertTrue(result.isDrained());
+        assertTrue(original.isTerminated(), "Old factory should be fully stopped");
+        assertNotSame(original, service.getWorkerFactory());
+        assertTrue(service.getWorkerFactory().isStarted());
+        assertEquals(List.of(TASK_QUEUE), result.getTaskQueues());
+
+        // Only completes if the new factory runs the activities too
+        Flight completed = runFlight("RS100");
+        assertEquals(FlightState.COMPLETED, completed.getCurrentState());
+        assertTrue(persistenceActivity.saved.get() > 0);
+    }
+
+    @Test
+    public void testSeparateActivityTaskQueue() throws Exception {
+        service = newService("flight-activity-task-queue");
+        service.start();
+
+        Flight completed = runFlight("RS200");
+
+        assertEquals(FlightState.COMPLETED, completed.getCurrentState());
+        assertTrue(persistenceActivity.saved.get() > 0);
+    }
+
+    @Test
+    public void testRestartAfterStopIsRejected() throws Exception {
+        service = newService("");
+        service.start();
+        service.stop();
+
+        assertNull(service.getWorkerFactory());
+        assertThrows(IllegalStateException.class, () -> service.restartWorker());
+    }
+
+    private WorkerManagementService newService(String activityTaskQueue) {
+        return new WorkerManagementService(testEnv.getWorkflowClient(), workerSettings,
+                new NoOpFlightEventActivity(), persistenceActivity,
+                TASK_QUEUE, activityTaskQueue, WorkerRole.ALL, 5000);
+    }
+
+    private Flight runFlight(String flightNumber) throws Exception {
+        FlightWorkflow workflow = testEnv.getWorkflowClient().newWorkflowStub(FlightWorkflow.class,
+                WorkflowOptions.newBuilder()
+                        .setTaskQueue(TASK_QUEUE)
+                        .setWorkflowId("flight-" + flightNumber + "-" + LocalDate.now())
+                        .build());
+        WorkflowClient.start(workflow::executeFlight, new Flight(
+                flightNumber,
+                LocalDate.now(),
+                "ORD",
+                "DFW",
+                LocalDateTime.now().plusHours(2),
+                LocalDateTime.now().plusHours(5),
+                "B12",
+                "N12345"
+        ));
+        return WorkflowStub.fromTyped(workflow).getResult(60, TimeUnit.SECONDS, Flight.class);
+    }
+
+    private static class RecordingPersistenceActivity implements PersistenceActivity {
+        private final AtomicInteger saved = new AtomicInteger();
+
+        @Override
+        public void saveStateTransition(FlightStateTransition transition) {
+            saved.incrementAndGet();
+        }
+    }
+
+    private static class NoOpFlightEventActivity implements FlightEventActivity {
+
+        @Override
+        public void publishStateChange(String flightNumber, String previousState, String newState,
+                                       String gate, int delayMinutes) {
+        }
+
+        @Override
+        public void publishFlightEvent(FlightStatusEvent event) {
+        }
+    }
+}
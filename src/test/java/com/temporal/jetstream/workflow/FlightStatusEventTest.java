@@ -0,0 +1,121 @@
+package com.temporal.jetstream.workflow;
+
+import com.temporal.jetstream.activity.FlightEventActivity;
+import com.temporal.jetstream.activity.PersistenceActivity;
+import com.temporal.jetstream.model.Flight;
+import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.client.WorkflowStub;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the workflow is the single Kafka publisher for signals: one SIGNAL_APPLIED event
+ * per actual change, none for repeats, and no separate event for the cancel signal itself.
+ */
+class FlightStatusEventTest {
+
+    private static final String TASK_QUEUE = "status-event-test-queue";
+
+    private TestWorkflowEnvironment testEnv;
+    private WorkflowClient workflowClient;
+    private final List<FlightStatusEvent> published = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        testEnv = TestWorkflowEnvironment.newInstance();
+        Worker worker = testEnv.newWorker(TASK_QUEUE);
+        worker.registerWorkflowImplementationTypes(FlightWorkflowImpl.class);
+
+        FlightEventActivity recordingEvents = new FlightEventActivity() {
+            @Override
+            public void publishStateChange(String flightNumber, String previousState, String newState,
+                                           String gate, int delayMinutes) {
+                fail("New runs must publish through publishFlightEvent");
+            }
+
+            @Override
+            public void publishFlightEvent(FlightStatusEvent event) {
+                published.add(event);
+            }
+        };
+        PersistenceActivity noOpPersistence = transition -> { };
+        worker.registerActivitiesImplementations(recordingEvents, noOpPersistence);
+        testEnv.start();
+        workflowClient = testEnv.getWorkflowClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        testEnv.close();
+    }
+
+    @Test
+    void testSignalsPublishOneEventPerChange() throws InterruptedException {
+        String workflowId = "flight-SE100-" + LocalDate.now();
+        FlightWorkflow workflow = workflowClient.newWorkflowStub(FlightWorkflow.class,
+                WorkflowOptions.newBuilder().setTaskQueue(TASK_QUEUE).setWorkflowId(workflowId).build());
+        WorkflowClient.start(workflow::executeFlight, new Flight(
+                "SE100", LocalDate.now(), "ORD", "DFW",
+                LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(5), "B12", "N12345"));
+
+        // Let the first workflow task run so the signals reach a started flight
+        while (currentState(workflow) == null) {
+            Thread.sleep(50);
+        }
+
+        workflow.announceDelay(30);
+        workflow.announceDelay(30); // Unchanged: no event
+        workflow.changeGate("B12"); // Same as the scheduled gate: no event
+        workflow.changeGate("C3");
+        workflow.cancelFlight("Weather");
+
+        Flight result = WorkflowStub.fromTyped(workflow).getResult(Flight.class);
+        assertEquals(FlightState.CANCELLED, result.getCurrentState());
+
+        List<FlightStatusEvent> events = new ArrayList<>(published);
+        events.sort(Comparator.comparingInt(FlightStatusEvent::getSequence));
+        List<String> summary = events.stream()
+                .map(event -> event.getEventType() + ":" + (event.getSignalName() != null ? event.getSignalName() : event.getNewState()))
+                .collect(Collectors.toList());
+        assertEquals(List.of(
+                "STATE_CHANGED:SCHEDULED",
+                "SIGNAL_APPLIED:announceDelay",
+                "SIGNAL_APPLIED:changeGate",
+                "STATE_CHANGED:CANCELLED"), summary);
+
+        // Contiguous sequences and stable, unique deduplication keys
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i, events.get(i).getSequence());
+            assertTrue(events.get(i).getEventId().startsWith(workflowId + ":"));
+            assertTrue(events.get(i).getEventId().endsWith(":" + i));
+        }
+        FlightStatusEvent cancelled = events.get(3);
+        assertEquals("C3", cancelled.getGate());
+        assertEquals(30, cancelled.getDelay());
+        assertEquals("Flight cancelled: Weather", cancelled.getMessage());
+    }
+
+    private FlightState currentState(FlightWorkflow workflow) {
+        try {
+            return workflow.getCurrentState();
+        } catch (RuntimeException e) {
+            return null; // Not queryable until the first workflow task completes
+        }
+    }
+}
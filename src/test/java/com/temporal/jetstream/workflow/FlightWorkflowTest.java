@@ -1,7 +1,11 @@
 package com.temporal.jetstream.workflow;
 
+import com.temporal.jetstream.activity.FlightEventActivity;
+import com.temporal.jetstream.activity.PersistenceActivity;
 import com.temporal.jetstream.model.Flight;
 import com.temporal.jetstream.model.FlightState;
+import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.model.FlightStatusEvent;
 import io.temporal.client.WorkflowOptions;
 import io.temporal.client.WorkflowStub;
 import io.temporal.testing.TestWorkflowEnvironment;
@@ -12,8 +16,13 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -519,4 +528,57 @@ class FlightWorkflowTest {
             testEnv.close();
         }
     }
+
+    @Test
+    void testKafkaOutageDoesNotBlockPersistence() {
+        TestWorkflowEnvironment testEnv = TestWorkflowEnvironment.newInstance();
+        Worker worker = testEnv.newWorker("flight-task-queue");
+        worker.registerWorkflowImplementationTypes(FlightWorkflowImpl.class);
+
+        AtomicInteger publishAttempts = new AtomicInteger();
+        FlightEventActivity brokerDown = new FlightEventActivity() {
+            @Override
+            public void publishStateChange(String flightNumber, String previousState, String newState,
+                                           String gate, int delayMinutes) {
+                throw new IllegalStateException("Broker unavailable");
+            }
+
+            @Override
+            public void publishFlightEvent(FlightStatusEvent event) {
+                publishAttempts.incrementAndGet();
+                throw new IllegalStateException("Broker unavailable");
+            }
+        };
+        List<FlightStateTransition> saved = Collections.synchronizedList(new ArrayList<>());
+        worker.registerActivitiesImplementations(brokerDown, (PersistenceActivity) saved::add);
+        testEnv.start();
+
+        try {
+            FlightWorkflow workflow = testEnv.getWorkflowClient().newWorkflowStub(FlightWorkflow.class,
+                    WorkflowOptions.newBuilder()
+                            .setTaskQueue("flight-task-queue")
+                            .setWorkflowId("flight-KO100-" + LocalDate.now())
+                            .build());
+
+            // Publishing gives up after its bounded retries instead of stalling the flight
+            Flight result = workflow.executeFlight(new Flight(
+                    "KO100",
+                    LocalDate.now(),
+                    "ORD",
+                    "DFW",
+                    LocalDateTime.now().plusHours(2),
+                    LocalDateTime.now().plusHours(5),
+                    "B12",
+                    "N12345"
+            ));
+
+            assertEquals(FlightState.COMPLETED, result.getCurrentState());
+            assertTrue(publishAttempts.get() > 0);
+            // Every transition was still written, in order, ending with the arrival
+            assertFalse(saved.isEmpty());
+            assertEquals(FlightState.COMPLETED, saved.get(saved.size() - 1).getToState());
+        } finally {
+            testEnv.close();
+        }
+    }
 }
@@ -2,6 +2,7 @@ package com.temporal.jetstream.workflow;
 
 import com.temporal.jetstream.model.Flight;
 import com.temporal.jetstream.model.FlightState;
+import io.temporal.api.enums.v1.IndexedValueType;
 import io.temporal.client.WorkflowOptions;
 import io.temporal.client.WorkflowStub;
 import io.temporal.testing.TestWorkflowEnvironment;
@@ -23,6 +24,8 @@ class MultiLegFlightWorkflowTest {
     public static final TestWorkflowExtension testWorkflowExtension =
             TestWorkflowExtension.newBuilder()
                     .setWorkflowTypes(MultiLegFlightWorkflowImpl.class, FlightWorkflowImpl.class)
+                    .registerSearchAttribute(FlightSearchAttributes.DEPARTURE_STATION.getName(),
+                            IndexedValueType.INDEXED_VALUE_TYPE_KEYWORD)
                     .setDoNotStart(false)
                     .build();
 
@@ -0,0 +1,152 @@
+package com.temporal.jetstream.workflow;
+
+import com.temporal.jetstream.activity.FlightEventActivity;
+import com.temporal.jetstream.activity.PersistenceActivity;
+import com.temporal.jetstream.model.Flight;
+import com.temporal.jetstream.model.FlightStateTransition;
+import com.temporal.jetstream.model.FlightStatusEvent;
+import com.temporal.jetstream.service.WorkerManagementService;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.testing.TestEnvironmentOptions;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import io.temporal.worker.WorkerOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test for separate workflow and activity task queues: while a slow MongoDB keeps every
+ * activity slot busy and a backlog of writes builds up on the activity queue, workflow tasks
+ * (measured as Update round trips) are still processed promptly by the workflow worker.
+ */
+public class TaskQueueIsolationLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskQueueIsolationLoadTest.class);
+
+    private static final String WORKFLOW_TASK_QUEUE = "isolation-workflow-queue";
+    private static final String ACTIVITY_TASK_QUEUE = "isolation-activity-queue";
+
+    private static final int FLIGHTS = 40;
+    private static final int ACTIVITY_SLOTS = 2;
+    private static final long SLOW_WRITE_MS = 500;
+
+    private TestWorkflowEnvironment testEnv;
+    private SlowPersistenceActivity persistenceActivity;
+
+    @BeforeEach
+    public void setUp() {
+        // Real time, so the flights stay in their first phase for the whole test
+        testEnv = TestWorkflowEnvironment.newInstance(TestEnvironmentOptions.newBuilder()
+                .setUseTimeskipping(false)
+                .build());
+
+        Worker workflowWorker = testEnv.newWorker(WORKFLOW_TASK_QUEUE);
+        workflowWorker.registerWorkflowImplementationTypes(
+                WorkerManagementService.workflowImplementationOptions(ACTIVITY_TASK_QUEUE), FlightWorkflowImpl.class);
+
+        Worker activityWorker = testEnv.newWorker(ACTIVITY_TASK_QUEUE, WorkerOptions.newBuilder()
+                .setMaxConcurrentActivityExecutionSize(ACTIVITY_SLOTS)
+                .build());
+        persistenceActivity = new SlowPersistenceActivity();
+        activityWorker.registerActivitiesImplementations(new NoOpFlightEventActivity(), persistenceActivity);
+
+        testEnv.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        testEnv.close();
+    }
+
+    @Test
+    public void benchmarkWorkflowLatencyUnderActivityBackpressure() {
+        WorkflowClient client = testEnv.getWorkflowClient();
+        List<FlightWorkflow> flights = new ArrayList<>();
+        for (int i = 0; i < FLIGHTS; i++) {
+            String flightNumber = "ISO" + i;
+            FlightWorkflow workflow = client.newWorkflowStub(FlightWorkflow.class, WorkflowOptions.newBuilder()
+                    .setTaskQueue(WORKFLOW_TASK_QUEUE)
+                    .setWorkflowId("flight-" + flightNumber + "-" + LocalDate.now())
+                    .build());
+            WorkflowClient.start(workflow::executeFlight, createFlight(flightNumber));
+            flights.add(workflow);
+        }
+
+        // Every flight's first transition now waits for one of the two slow activity slots
+        List<Long> latenciesMs = new ArrayList<>();
+        for (FlightWorkflow workflow : flights) {
+            long start = System.nanoTime();
+            Flight updated = workflow.applyDelay(15);
+            latenciesMs.add((System.nanoTime() - start) / 1_000_000);
+            assertEquals(15, updated.getDelay());
+        }
+        int writesCompleted = persistenceActivity.completed.get();
+
+        Collections.sort(latenciesMs);
+        long p50 = latenciesMs.get(latenciesMs.size() / 2);
+        long p99 = latenciesMs.get((int) Math.ceil(latenciesMs.size() * 0.99) - 1);
+        logger.info("Update latency for {} flights with {} activity slots and {}ms writes: p50={}ms p99={}ms, "
+                        + "{} of {} first writes done when the updates finished",
+                FLIGHTS, ACTIVITY_SLOTS, SLOW_WRITE_MS, p50, p99, writesCompleted, FLIGHTS);
+
+        // The activity queue was still backed up while the updates ran...
+        assertTrue(writesCompleted < FLIGHTS, "Activity backlog should outlast the updates");
+        // ...yet workflow tasks did not wait behind it (draining the backlog takes ~10s)
+        assertTrue(p99 < 2000, "Workflow task latency should not follow activity backpressure, p99=" + p99 + "ms");
+    }
+
+    private Flight createFlight(String flightNumber) {
+        return new Flight(
+                flightNumber,
+                LocalDate.now(),
+                "ORD",
+                "DFW",
+                LocalDateTime.now().plusHours(2),
+                LocalDateTime.now().plusHours(5),
+                "B12",
+                "N12345"
+        );
+    }
+
+    /**
+     * Stands in for MongoDB under load: each write holds its activity slot.
+     */
+    private static class SlowPersistenceActivity implements PersistenceActivity {
+        private final AtomicInteger completed = new AtomicInteger();
+
+        @Override
+        public void saveStateTransition(FlightStateTransition transition) {
+            try {
+                Thread.sleep(SLOW_WRITE_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            completed.incrementAndGet();
+        }
+    }
+
+    private static class NoOpFlightEventActivity implements FlightEventActivity {
+
+        @Override
+        public void publishStateChange(String flightNumber, String previousState, String newState,
+                                       String gate, int delayMinutes) {
+        }
+
+        @Override
+        public void publishFlightEvent(FlightStatusEvent event) {
+        }
+    }
+}